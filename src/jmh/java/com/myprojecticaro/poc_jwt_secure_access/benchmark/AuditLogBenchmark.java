@@ -0,0 +1,69 @@
+package com.myprojecticaro.poc_jwt_secure_access.benchmark;
+
+import com.myprojecticaro.poc_jwt_secure_access.config.AuditProperties;
+import com.myprojecticaro.poc_jwt_secure_access.service.AuditEventType;
+import com.myprojecticaro.poc_jwt_secure_access.service.AuditLog;
+import com.myprojecticaro.poc_jwt_secure_access.util.TokenStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * <p>
+ * Measures the cost an audited event adds to the request thread: claiming a ring slot and copying
+ * the fixed-size record, with the writer thread draining to memory-mapped segments in the background.
+ * </p>
+ *
+ * <p>
+ * {@code gc.alloc.rate.norm} should be zero. {@code recordContended} runs four producers on one
+ * ring. When producers outpace the writer, events are dropped; the share of dropped events is
+ * printed at the end of each trial and should be read alongside the timings.
+ * </p>
+ */
+@State(Scope.Benchmark)
+public class AuditLogBenchmark {
+
+    private static final int REASON = TokenStatus.EXPIRED.code();
+
+    private Path dir;
+    private SimpleMeterRegistry registry;
+    private AuditLog auditLog;
+
+    @Setup
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("audit-benchmark");
+        registry = new SimpleMeterRegistry();
+        AuditProperties properties = new AuditProperties();
+        properties.setDir(dir.toString());
+        auditLog = new AuditLog(properties, registry);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        double written = registry.get("auth.audit.written").functionCounter().count();
+        double dropped = registry.get("auth.audit.dropped").functionCounter().count();
+        System.out.printf("%nAudit events written: %.0f, dropped: %.2f%%%n",
+                written, 100 * dropped / Math.max(1, written + dropped));
+        FileSystemUtils.deleteRecursively(dir);
+    }
+
+    @Benchmark
+    public void record() {
+        auditLog.record(AuditEventType.TOKEN_REJECTED, REASON, BenchmarkFixtures.USERNAME, "192.168.100.200");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordContended() {
+        auditLog.record(AuditEventType.TOKEN_REJECTED, REASON, BenchmarkFixtures.USERNAME, "192.168.100.200");
+    }
+}
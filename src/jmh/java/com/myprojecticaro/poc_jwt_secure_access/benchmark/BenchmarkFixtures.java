@@ -0,0 +1,84 @@
+package com.myprojecticaro.poc_jwt_secure_access.benchmark;
+
+import com.myprojecticaro.poc_jwt_secure_access.config.AuditProperties;
+import com.myprojecticaro.poc_jwt_secure_access.config.JwtProperties;
+import com.myprojecticaro.poc_jwt_secure_access.config.UserStoreProperties;
+import com.myprojecticaro.poc_jwt_secure_access.repository.InMemoryUserRepository;
+import com.myprojecticaro.poc_jwt_secure_access.service.AuditLog;
+import com.myprojecticaro.poc_jwt_secure_access.service.UserService;
+import com.myprojecticaro.poc_jwt_secure_access.util.AuthMetrics;
+import com.myprojecticaro.poc_jwt_secure_access.util.CwtUtil;
+import com.myprojecticaro.poc_jwt_secure_access.util.JwtUtil;
+import com.myprojecticaro.poc_jwt_secure_access.util.KeyRing;
+import com.myprojecticaro.poc_jwt_secure_access.util.RevocationList;
+import com.myprojecticaro.poc_jwt_secure_access.util.TokenPrecheck;
+import com.myprojecticaro.poc_jwt_secure_access.util.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Builds the application components used by the benchmarks without starting Spring,
+ * so each benchmark measures only the code under test.
+ */
+final class BenchmarkFixtures {
+
+    static final String SECRET = "IDQ/aKyAjBvf+alrmfgqJ35MiAKZuNam+U3tk+ykRBcV3fJuwSq0E1DQ9jHGwtek";
+    static final String USERNAME = "admin";
+    static final List<GrantedAuthority> AUTHORITIES = AuthorityUtils.createAuthorityList("ROLE_ADMIN");
+
+    private BenchmarkFixtures() {
+    }
+
+    static JwtProperties properties(boolean cacheEnabled) {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.getCache().setEnabled(cacheEnabled);
+        return properties;
+    }
+
+    /** Metrics recorded into an in-memory registry, so benchmarks include the recording cost. */
+    static AuthMetrics metrics() {
+        return new AuthMetrics(new SimpleMeterRegistry(), new JwtProperties());
+    }
+
+    /** Disabled audit trail; its own cost is measured by {@code AuditLogBenchmark}. */
+    static AuditLog auditLog() {
+        AuditProperties properties = new AuditProperties();
+        properties.setEnabled(false);
+        return new AuditLog(properties, new SimpleMeterRegistry());
+    }
+
+    static UserService userService() {
+        return new UserService(new InMemoryUserRepository(), new UserStoreProperties(), metrics());
+    }
+
+    static JwtUtil jwtUtil(JwtProperties properties) {
+        return new JwtUtil(properties, new KeyRing(properties), new VerifiedTokenCache(properties),
+                new TokenPrecheck(properties), new RevocationList(properties), metrics());
+    }
+
+    static CwtUtil cwtUtil(JwtProperties properties) {
+        return new CwtUtil(properties, new KeyRing(properties), new VerifiedTokenCache(properties),
+                new RevocationList(properties), metrics());
+    }
+
+    /** Token signed with the benchmark secret whose {@code exp} is already in the past. */
+    static String expiredToken() {
+        JwtProperties properties = properties(false);
+        properties.setExpiration(Duration.ofMinutes(-5));
+        return jwtUtil(properties).generateToken(USERNAME);
+    }
+
+    /** Valid token whose signature has been replaced, so only signature verification can reject it. */
+    static String tamperedToken(JwtUtil jwtUtil) {
+        String token = jwtUtil.generateToken(USERNAME);
+        String signature = token.substring(token.lastIndexOf('.') + 1);
+        String forged = new StringBuilder(signature).reverse().toString();
+        return token.substring(0, token.lastIndexOf('.') + 1) + forged;
+    }
+}
@@ -0,0 +1,98 @@
+package com.myprojecticaro.poc_jwt_secure_access.benchmark;
+
+import com.myprojecticaro.poc_jwt_secure_access.config.JwtAuthenticationEntryPoint;
+import com.myprojecticaro.poc_jwt_secure_access.config.JwtAuthenticationFilter;
+import com.myprojecticaro.poc_jwt_secure_access.config.JwtProperties;
+import com.myprojecticaro.poc_jwt_secure_access.util.CwtUtil;
+import com.myprojecticaro.poc_jwt_secure_access.util.JwtUtil;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+
+/**
+ * <p>
+ * Benchmarks a full {@link JwtAuthenticationFilter} pass over mock servlet objects:
+ * header inspection, token validation, user lookup and security-context population
+ * (or the rejection of expired and tampered tokens). The {@code cwt} kind sends a valid
+ * CBOR Web Token instead of a JWS.
+ * </p>
+ *
+ * <p>
+ * The filter only installs a deferred context, so {@code doFilter} reads the authentication
+ * afterwards, as the authorization decision does for a secured path. {@code doFilterPublicPath}
+ * sends the same header to {@code /auth/login}, which the filter skips.
+ * </p>
+ *
+ * <p>
+ * The mock request and response are reused across invocations so that the allocation
+ * rate reported by the GC profiler reflects the filter itself.
+ * </p>
+ */
+@State(Scope.Thread)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"valid", "expired", "tampered", "cwt"})
+    public String tokenKind;
+
+    @Param({"false", "true"})
+    public boolean cacheEnabled;
+
+    @Param({"LOOKUP", "STATELESS"})
+    public JwtProperties.PrincipalMode principalMode;
+
+    private JwtAuthenticationFilter filter;
+
+    private MockHttpServletRequest request;
+    private MockHttpServletRequest publicRequest;
+    private MockHttpServletResponse response;
+    private final FilterChain chain = (req, res) -> { };
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = BenchmarkFixtures.properties(cacheEnabled);
+        properties.setPrincipalMode(principalMode);
+        JwtUtil jwtUtil = BenchmarkFixtures.jwtUtil(properties);
+        CwtUtil cwtUtil = BenchmarkFixtures.cwtUtil(properties);
+        filter = new JwtAuthenticationFilter(jwtUtil, cwtUtil, BenchmarkFixtures.userService(),
+                properties, BenchmarkFixtures.metrics(), BenchmarkFixtures.auditLog());
+        String token = switch (tokenKind) {
+            case "expired" -> BenchmarkFixtures.expiredToken();
+            case "tampered" -> BenchmarkFixtures.tamperedToken(jwtUtil);
+            case "cwt" -> cwtUtil.generateToken(BenchmarkFixtures.USERNAME, BenchmarkFixtures.AUTHORITIES);
+            default -> jwtUtil.generateToken(BenchmarkFixtures.USERNAME, BenchmarkFixtures.AUTHORITIES);
+        };
+        request = new MockHttpServletRequest("GET", "/api/secure-data");
+        request.addHeader("Authorization", "Bearer " + token);
+        publicRequest = new MockHttpServletRequest("POST", "/auth/login");
+        publicRequest.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Authentication doFilter() throws ServletException, IOException {
+        return filter(request);
+    }
+
+    @Benchmark
+    public Authentication doFilterPublicPath() throws ServletException, IOException {
+        return filter(publicRequest);
+    }
+
+    private Authentication filter(MockHttpServletRequest request) throws ServletException, IOException {
+        SecurityContextHolder.clearContext();
+        request.removeAttribute(JwtAuthenticationEntryPoint.REJECTED_TOKEN_STATUS);
+        response.reset();
+        filter.doFilter(request, response, chain);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,107 @@
+package com.myprojecticaro.poc_jwt_secure_access.benchmark;
+
+import com.myprojecticaro.poc_jwt_secure_access.util.JwtUtil;
+import com.myprojecticaro.poc_jwt_secure_access.util.TokenValidation;
+import io.jsonwebtoken.JwtException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * <p>
+ * Benchmarks token issuance and validation in {@link JwtUtil}.
+ * </p>
+ *
+ * <p>
+ * The legacy {@code extractUsername}/{@code isTokenValid} methods throw on expired and tampered
+ * tokens, so those benchmarks include the exception path; {@code validate*} measures the
+ * exception-free API used by the filter. {@code cacheEnabled} toggles the verified-token cache.
+ * </p>
+ */
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+
+    @Param({"false", "true"})
+    public boolean cacheEnabled;
+
+    private JwtUtil jwtUtil;
+    private String validToken;
+    private String expiredToken;
+    private String tamperedToken;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = BenchmarkFixtures.jwtUtil(BenchmarkFixtures.properties(cacheEnabled));
+        validToken = jwtUtil.generateToken(BenchmarkFixtures.USERNAME);
+        expiredToken = BenchmarkFixtures.expiredToken();
+        tamperedToken = BenchmarkFixtures.tamperedToken(jwtUtil);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(BenchmarkFixtures.USERNAME);
+    }
+
+    @Benchmark
+    public String extractUsernameValid() {
+        return jwtUtil.extractUsername(validToken);
+    }
+
+    @Benchmark
+    public Object extractUsernameExpired() {
+        try {
+            return jwtUtil.extractUsername(expiredToken);
+        } catch (JwtException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object extractUsernameTampered() {
+        try {
+            return jwtUtil.extractUsername(tamperedToken);
+        } catch (JwtException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public boolean isTokenValidValid() {
+        return jwtUtil.isTokenValid(validToken, BenchmarkFixtures.USERNAME);
+    }
+
+    @Benchmark
+    public Object isTokenValidExpired() {
+        try {
+            return jwtUtil.isTokenValid(expiredToken, BenchmarkFixtures.USERNAME);
+        } catch (JwtException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object isTokenValidTampered() {
+        try {
+            return jwtUtil.isTokenValid(tamperedToken, BenchmarkFixtures.USERNAME);
+        } catch (JwtException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public TokenValidation validateValid() {
+        return jwtUtil.validate(validToken);
+    }
+
+    @Benchmark
+    public TokenValidation validateExpired() {
+        return jwtUtil.validate(expiredToken);
+    }
+
+    @Benchmark
+    public TokenValidation validateTampered() {
+        return jwtUtil.validate(tamperedToken);
+    }
+}
@@ -0,0 +1,52 @@
+package com.myprojecticaro.poc_jwt_secure_access.benchmark;
+
+import com.myprojecticaro.poc_jwt_secure_access.util.RevocationList;
+import com.myprojecticaro.poc_jwt_secure_access.util.VerifiedToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the per-request revocation check for a token that is not revoked,
+ * with an empty denylist and with {@code revokedCount} revoked tokens.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RevocationListBenchmark {
+
+    @Param({"0", "10000"})
+    public int revokedCount;
+
+    private RevocationList revocationList;
+    private VerifiedToken activeToken;
+
+    @Setup
+    public void setUp() {
+        revocationList = new RevocationList(BenchmarkFixtures.properties(true));
+        Instant expiration = Instant.now().plusSeconds(3600);
+        for (int i = 0; i < revokedCount; i++) {
+            revocationList.revoke(token("revoked-" + i, expiration));
+        }
+        activeToken = token("TZ1mBvKx0c3eWq4pR7sY9A", expiration);
+    }
+
+    private static VerifiedToken token(String id, Instant expiration) {
+        return new VerifiedToken(BenchmarkFixtures.USERNAME, id, Instant.now(), expiration, List.of(), Map.of());
+    }
+
+    @Benchmark
+    public boolean isRevoked() {
+        return revocationList.isRevoked(activeToken);
+    }
+}
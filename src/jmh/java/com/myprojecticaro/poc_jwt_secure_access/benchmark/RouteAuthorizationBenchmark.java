@@ -0,0 +1,81 @@
+package com.myprojecticaro.poc_jwt_secure_access.benchmark;
+
+import com.myprojecticaro.poc_jwt_secure_access.config.AuthorizationProperties;
+import com.myprojecticaro.poc_jwt_secure_access.config.RouteAuthorizationManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.access.intercept.RequestMatcherDelegatingAuthorizationManager;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.AnyRequestMatcher;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Measures one authorization decision with {@code routes} configured rules, through the compiled
+ * route trie ({@code trie}) and through Spring Security's chain of request matchers evaluated in
+ * order ({@code matchers}), as {@code authorizeHttpRequests().requestMatchers(...)} builds it.
+ * </p>
+ *
+ * <p>
+ * The request hits the last declared rule, the worst case for the chain. The trie should stay flat
+ * as {@code routes} grows while the chain grows linearly.
+ * </p>
+ */
+@State(Scope.Benchmark)
+public class RouteAuthorizationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int routes;
+
+    private RouteAuthorizationManager trie;
+    private RequestMatcherDelegatingAuthorizationManager matchers;
+    private RequestAuthorizationContext context;
+    private final Authentication caller = UsernamePasswordAuthenticationToken.authenticated(
+            BenchmarkFixtures.USERNAME, null, AuthorityUtils.createAuthorityList("ROLE_SERVICE_1", "ROLE_USER"));
+    private final Supplier<Authentication> authentication = () -> caller;
+
+    @Setup
+    public void setUp() {
+        AuthorizationProperties properties = new AuthorizationProperties();
+        RequestMatcherDelegatingAuthorizationManager.Builder builder = RequestMatcherDelegatingAuthorizationManager.builder();
+        for (int i = 0; i < routes; i++) {
+            String pattern = "/api/service-" + i + "/{id}/**";
+            String authority = "ROLE_SERVICE_" + (i % 60);
+            AuthorizationProperties.Route route = new AuthorizationProperties.Route();
+            route.setPattern(pattern);
+            route.setAuthorities(List.of(authority));
+            properties.getRoutes().add(route);
+            builder.add(PathPatternRequestMatcher.withDefaults().matcher(pattern),
+                    AuthorityAuthorizationManager.hasAnyAuthority(authority));
+        }
+        trie = new RouteAuthorizationManager(properties);
+        matchers = builder.add(AnyRequestMatcher.INSTANCE, AuthenticatedAuthorizationManager.authenticated()).build();
+
+        int last = routes - 1;
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/service-" + last + "/42/items");
+        context = new RequestAuthorizationContext(request);
+    }
+
+    @Benchmark
+    public AuthorizationResult trie() {
+        return trie.authorize(authentication, context);
+    }
+
+    @Benchmark
+    public AuthorizationResult matchers() {
+        return matchers.authorize(authentication, context.getRequest());
+    }
+}
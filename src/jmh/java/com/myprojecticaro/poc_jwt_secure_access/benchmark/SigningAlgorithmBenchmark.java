@@ -0,0 +1,48 @@
+package com.myprojecticaro.poc_jwt_secure_access.benchmark;
+
+import com.myprojecticaro.poc_jwt_secure_access.config.JwtProperties;
+import com.myprojecticaro.poc_jwt_secure_access.util.JwtUtil;
+import com.myprojecticaro.poc_jwt_secure_access.util.KeyRing;
+import com.myprojecticaro.poc_jwt_secure_access.util.RevocationList;
+import com.myprojecticaro.poc_jwt_secure_access.util.TokenPrecheck;
+import com.myprojecticaro.poc_jwt_secure_access.util.TokenValidation;
+import com.myprojecticaro.poc_jwt_secure_access.util.VerifiedTokenCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares issuance and verification cost across the key ring's signing algorithms,
+ * with the verified-token cache disabled so every validation checks the signature.
+ */
+@State(Scope.Benchmark)
+public class SigningAlgorithmBenchmark {
+
+    @Param({"HS256", "RS256", "ES256", "EdDSA"})
+    public String algorithm;
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = BenchmarkFixtures.properties(false);
+        properties.getSigning().setAlgorithm(algorithm);
+        jwtUtil = new JwtUtil(properties, new KeyRing(properties),
+                new VerifiedTokenCache(properties), new TokenPrecheck(properties),
+                new RevocationList(properties), BenchmarkFixtures.metrics());
+        token = jwtUtil.generateToken(BenchmarkFixtures.USERNAME);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(BenchmarkFixtures.USERNAME);
+    }
+
+    @Benchmark
+    public TokenValidation validate() {
+        return jwtUtil.validate(token);
+    }
+}
@@ -0,0 +1,73 @@
+package com.myprojecticaro.poc_jwt_secure_access.benchmark;
+
+import com.myprojecticaro.poc_jwt_secure_access.config.JwtProperties;
+import com.myprojecticaro.poc_jwt_secure_access.util.CwtUtil;
+import com.myprojecticaro.poc_jwt_secure_access.util.JwtUtil;
+import com.myprojecticaro.poc_jwt_secure_access.util.KeyRing;
+import com.myprojecticaro.poc_jwt_secure_access.util.RevocationList;
+import com.myprojecticaro.poc_jwt_secure_access.util.TokenPrecheck;
+import com.myprojecticaro.poc_jwt_secure_access.util.TokenValidation;
+import com.myprojecticaro.poc_jwt_secure_access.util.VerifiedTokenCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * <p>
+ * Compares the compact JWS produced by {@link JwtUtil} with the COSE-protected CWT produced by
+ * {@link CwtUtil}: issuance and verification time for each signing algorithm, with the
+ * verified-token cache disabled so every validation checks the signature.
+ * </p>
+ *
+ * <p>
+ * Both formats carry the same claims and are signed with the same key. The encoded size of each
+ * token is printed once per trial, since it does not vary between invocations.
+ * </p>
+ */
+@State(Scope.Benchmark)
+public class TokenFormatBenchmark {
+
+    @Param({"HS256", "ES256"})
+    public String algorithm;
+
+    private JwtUtil jwtUtil;
+    private CwtUtil cwtUtil;
+    private String jws;
+    private String cwt;
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = BenchmarkFixtures.properties(false);
+        properties.getSigning().setAlgorithm(algorithm);
+        KeyRing keyRing = new KeyRing(properties);
+        jwtUtil = new JwtUtil(properties, keyRing, new VerifiedTokenCache(properties),
+                new TokenPrecheck(properties), new RevocationList(properties), BenchmarkFixtures.metrics());
+        cwtUtil = new CwtUtil(properties, keyRing, new VerifiedTokenCache(properties),
+                new RevocationList(properties), BenchmarkFixtures.metrics());
+        jws = jwtUtil.generateToken(BenchmarkFixtures.USERNAME, BenchmarkFixtures.AUTHORITIES);
+        cwt = cwtUtil.generateToken(BenchmarkFixtures.USERNAME, BenchmarkFixtures.AUTHORITIES);
+        System.out.printf("%n%s token size: jws=%d chars, cwt=%d chars%n", algorithm, jws.length(), cwt.length());
+    }
+
+    @Benchmark
+    public String generateJws() {
+        return jwtUtil.generateToken(BenchmarkFixtures.USERNAME, BenchmarkFixtures.AUTHORITIES);
+    }
+
+    @Benchmark
+    public String generateCwt() {
+        return cwtUtil.generateToken(BenchmarkFixtures.USERNAME, BenchmarkFixtures.AUTHORITIES);
+    }
+
+    @Benchmark
+    public TokenValidation validateJws() {
+        return jwtUtil.validate(jws);
+    }
+
+    @Benchmark
+    public TokenValidation validateCwt() {
+        return cwtUtil.validate(cwt);
+    }
+}
@@ -0,0 +1,49 @@
+package com.myprojecticaro.poc_jwt_secure_access.benchmark;
+
+import com.myprojecticaro.poc_jwt_secure_access.config.JwtProperties;
+import com.myprojecticaro.poc_jwt_secure_access.util.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * <p>
+ * Measures HS256 access token issuance as done at login, through the JJWT builder
+ * ({@code directEncoding=false}) and through the specialized encoder ({@code directEncoding=true}).
+ * </p>
+ *
+ * <p>
+ * Compare {@code gc.alloc.rate.norm} as well as throughput: the encoder is meant to cut the
+ * per-token allocation down to the token string itself. {@code generateTokenContended} runs the
+ * same work on four threads, as during a login burst.
+ * </p>
+ */
+@State(Scope.Benchmark)
+public class TokenIssuanceBenchmark {
+
+    @Param({"false", "true"})
+    public boolean directEncoding;
+
+    private JwtUtil jwtUtil;
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = BenchmarkFixtures.properties(false);
+        properties.getSigning().setDirectEncoding(directEncoding);
+        jwtUtil = BenchmarkFixtures.jwtUtil(properties);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(BenchmarkFixtures.USERNAME, BenchmarkFixtures.AUTHORITIES);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String generateTokenContended() {
+        return jwtUtil.generateToken(BenchmarkFixtures.USERNAME, BenchmarkFixtures.AUTHORITIES);
+    }
+}
@@ -0,0 +1,65 @@
+package com.myprojecticaro.poc_jwt_secure_access.benchmark;
+
+import com.myprojecticaro.poc_jwt_secure_access.config.JwtProperties;
+import com.myprojecticaro.poc_jwt_secure_access.config.LoginProperties;
+import com.myprojecticaro.poc_jwt_secure_access.config.SecurityConfig;
+import com.myprojecticaro.poc_jwt_secure_access.config.UserStoreProperties;
+import com.myprojecticaro.poc_jwt_secure_access.dto.AuthResponse;
+import com.myprojecticaro.poc_jwt_secure_access.repository.InMemoryUserRepository;
+import com.myprojecticaro.poc_jwt_secure_access.repository.UserAccount;
+import com.myprojecticaro.poc_jwt_secure_access.service.JwtService;
+import com.myprojecticaro.poc_jwt_secure_access.service.LoginExecutor;
+import com.myprojecticaro.poc_jwt_secure_access.service.UserService;
+import com.myprojecticaro.poc_jwt_secure_access.util.RefreshTokenStore;
+import com.myprojecticaro.poc_jwt_secure_access.util.RevocationList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Compares renewing an access token with a full login: a login verifies a BCrypt hash
+ * (default strength), a refresh rotates an opaque token and signs a new JWT.
+ */
+@State(Scope.Thread)
+public class TokenRenewalBenchmark {
+
+    private JwtService jwtService;
+    private String refreshToken;
+
+    @Setup
+    public void setUp() {
+        UserStoreProperties userStoreProperties = new UserStoreProperties();
+        InMemoryUserRepository repository = new InMemoryUserRepository();
+        UserService userService = new UserService(repository, userStoreProperties, BenchmarkFixtures.metrics());
+        SecurityConfig securityConfig = new SecurityConfig(null, null, userService);
+        PasswordEncoder passwordEncoder = securityConfig.passwordEncoder(userStoreProperties);
+        repository.save(UserAccount.withRoles(BenchmarkFixtures.USERNAME, passwordEncoder.encode("1234"), "ADMIN"));
+
+        JwtProperties properties = BenchmarkFixtures.properties(true);
+        jwtService = new JwtService(
+                securityConfig.authenticationManager(passwordEncoder),
+                BenchmarkFixtures.jwtUtil(properties),
+                BenchmarkFixtures.cwtUtil(properties),
+                new LoginExecutor(new LoginProperties()),
+                new RefreshTokenStore(properties),
+                userService,
+                new RevocationList(properties),
+                BenchmarkFixtures.metrics(),
+                BenchmarkFixtures.auditLog());
+        refreshToken = jwtService.authenticate(BenchmarkFixtures.USERNAME, "1234").getRefreshToken();
+    }
+
+    @Benchmark
+    public AuthResponse login() {
+        return jwtService.authenticate(BenchmarkFixtures.USERNAME, "1234");
+    }
+
+    @Benchmark
+    public AuthResponse refresh() {
+        AuthResponse response = jwtService.refresh(refreshToken);
+        refreshToken = response.getRefreshToken();
+        return response;
+    }
+}
@@ -0,0 +1,27 @@
+package com.myprojecticaro.poc_jwt_secure_access.benchmark;
+
+import com.myprojecticaro.poc_jwt_secure_access.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * Benchmarks the per-request user lookup performed by the authentication filter.
+ */
+@State(Scope.Benchmark)
+public class UserServiceBenchmark {
+
+    private UserService userService;
+
+    @Setup
+    public void setUp() {
+        userService = BenchmarkFixtures.userService();
+    }
+
+    @Benchmark
+    public UserDetails loadUserByUsername() {
+        return userService.loadUserByUsername(BenchmarkFixtures.USERNAME);
+    }
+}
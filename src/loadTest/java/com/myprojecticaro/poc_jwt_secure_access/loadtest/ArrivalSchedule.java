@@ -0,0 +1,78 @@
+package com.myprojecticaro.poc_jwt_secure_access.loadtest;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+/**
+ * <p>
+ * Arrival times of an open workload model: requests arrive at a configured rate whether or not
+ * earlier ones have completed, as independent users would.
+ * </p>
+ *
+ * <p>
+ * Gaps between arrivals are either constant ({@code 1 / rate}) or exponentially distributed around
+ * that mean (a Poisson process). Optionally, every {@code burstEvery} the rate switches to
+ * {@code burstRate} for {@code burstLength}.
+ * </p>
+ *
+ * <p>
+ * Not thread-safe; one dispatcher thread draws the arrivals.
+ * </p>
+ */
+final class ArrivalSchedule {
+
+    private final double rate;
+    private final boolean poisson;
+    private final double burstRate;
+    private final long burstEvery;
+    private final long burstLength;
+    private final SplittableRandom random;
+    private long next;
+
+    /**
+     * @param rate        Arrivals per second outside bursts.
+     * @param poisson     Whether gaps are exponentially distributed rather than constant.
+     * @param burstRate   Arrivals per second during bursts; 0 disables bursts.
+     * @param burstEvery  Period of the bursts.
+     * @param burstLength Length of each burst, at the start of every period.
+     * @param seed        Seed of the gap and operation draws, so runs are repeatable.
+     */
+    ArrivalSchedule(double rate, boolean poisson, double burstRate, Duration burstEvery, Duration burstLength,
+                    long seed) {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("The arrival rate must be positive: " + rate);
+        }
+        if (burstRate > 0 && !burstEvery.isPositive()) {
+            throw new IllegalArgumentException("The burst period must be positive: " + burstEvery);
+        }
+        this.rate = rate;
+        this.poisson = poisson;
+        this.burstRate = burstRate;
+        this.burstEvery = burstEvery.toNanos();
+        this.burstLength = burstLength.toNanos();
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * @return The intended time of the next arrival, in nanoseconds since the start of the schedule.
+     */
+    long next() {
+        double mean = 1e9 / rateAt(next);
+        next += (long) (poisson ? -Math.log(1 - random.nextDouble()) * mean : mean);
+        return next;
+    }
+
+    /**
+     * @return A uniformly distributed value in {@code [0, bound)}, from the schedule's random source.
+     */
+    int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    /**
+     * @return The arrival rate in effect at the given offset, in arrivals per second.
+     */
+    double rateAt(long offset) {
+        return burstRate > 0 && offset % burstEvery < burstLength ? burstRate : rate;
+    }
+}
@@ -0,0 +1,61 @@
+package com.myprojecticaro.poc_jwt_secure_access.loadtest;
+
+import com.myprojecticaro.poc_jwt_secure_access.repository.InMemoryUserRepository;
+import com.myprojecticaro.poc_jwt_secure_access.repository.UserAccount;
+import com.myprojecticaro.poc_jwt_secure_access.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * <p>
+ * Extra beans started alongside the application under load:
+ * </p>
+ * <ul>
+ *     <li>{@code GET /api/ping}, a minimal authenticated endpoint that echoes the principal name.</li>
+ *     <li>A user repository that blocks for {@code loadtest.store-latency} on every lookup, standing
+ *         in for a slow remote user store. With {@code users.cache.max-size=0} every authenticated
+ *         request pays this latency on its request thread.</li>
+ * </ul>
+ */
+@Configuration
+public class LoadTestConfig {
+
+    @Bean
+    @Primary
+    UserRepository slowUserRepository(@Value("${loadtest.store-latency:20ms}") Duration latency) {
+        InMemoryUserRepository delegate = new InMemoryUserRepository();
+        return new UserRepository() {
+            @Override
+            public Optional<UserAccount> findByUsername(String username) {
+                try {
+                    Thread.sleep(latency);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return delegate.findByUsername(username);
+            }
+
+            @Override
+            public void save(UserAccount account) {
+                delegate.save(account);
+            }
+        };
+    }
+
+    @RestController
+    static class PingController {
+
+        @GetMapping("/api/ping")
+        String ping(Authentication authentication) {
+            return authentication.getName();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.myprojecticaro.poc_jwt_secure_access.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * Outcomes and latencies of one operation during one phase of a {@link TrafficLoadTest}, recorded
+ * concurrently by the request threads.
+ * </p>
+ *
+ * <p>
+ * Two latencies are recorded per answered request, in microseconds:
+ * </p>
+ * <ul>
+ *     <li>{@link #latency()} — from the <em>intended</em> send time given by the arrival schedule to
+ *         the response. When the generator or the server falls behind, the time a request spent
+ *         waiting to be sent counts too, which corrects for coordinated omission.</li>
+ *     <li>{@link #serviceTime()} — from the actual send to the response; what a closed-loop client
+ *         would report, kept for comparison.</li>
+ * </ul>
+ *
+ * <p>
+ * Requests answered with an unexpected status are recorded in both histograms and also counted as
+ * errors, keyed by status. Requests that timed out or failed are counted as errors, keyed by cause,
+ * and recorded in {@link #latency()} at the time from their intended send to the failure: a lower
+ * bound of what the client waited, so the tail is not flattered by dropping the slowest requests.
+ * </p>
+ */
+final class OperationStats {
+
+    private final String name;
+    private final Histogram latency = new ConcurrentHistogram(3);
+    private final Histogram serviceTime = new ConcurrentHistogram(3);
+    private final LongAdder scheduled = new LongAdder();
+    private final LongAdder answered = new LongAdder();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    OperationStats(String name) {
+        this.name = name;
+    }
+
+    String name() {
+        return name;
+    }
+
+    void scheduled() {
+        scheduled.increment();
+    }
+
+    /**
+     * Records an answered request.
+     *
+     * @param intended When the request should have been sent, from {@link System#nanoTime()}.
+     * @param sent     When it was actually sent.
+     * @param answered When the response arrived.
+     */
+    void answered(long intended, long sent, long answered) {
+        latency.recordValue(TimeUnit.NANOSECONDS.toMicros(answered - intended));
+        serviceTime.recordValue(TimeUnit.NANOSECONDS.toMicros(answered - sent));
+        this.answered.increment();
+    }
+
+    /**
+     * Records a request that got no answer.
+     *
+     * @param intended When the request should have been sent, from {@link System#nanoTime()}.
+     * @param failed   When the timeout or error was reported.
+     * @param cause    The error key, for example {@code timeout}.
+     */
+    void failed(long intended, long failed, String cause) {
+        latency.recordValue(TimeUnit.NANOSECONDS.toMicros(failed - intended));
+        error(cause);
+    }
+
+    void error(String cause) {
+        errors.computeIfAbsent(cause, key -> new LongAdder()).increment();
+    }
+
+    long scheduledCount() {
+        return scheduled.sum();
+    }
+
+    long answeredCount() {
+        return answered.sum();
+    }
+
+    Histogram latency() {
+        return latency;
+    }
+
+    Histogram serviceTime() {
+        return serviceTime;
+    }
+
+    /**
+     * @return The error counts by cause, sorted by cause.
+     */
+    Map<String, Long> errors() {
+        Map<String, Long> counts = new TreeMap<>();
+        errors.forEach((cause, count) -> counts.put(cause, count.sum()));
+        return counts;
+    }
+
+    /**
+     * Adds the outcomes of another operation, for the totals.
+     */
+    void add(OperationStats other) {
+        latency.add(other.latency);
+        serviceTime.add(other.serviceTime);
+        scheduled.add(other.scheduled.sum());
+        answered.add(other.answered.sum());
+        other.errors.forEach((cause, count) ->
+                errors.computeIfAbsent(cause, key -> new LongAdder()).add(count.sum()));
+    }
+}
@@ -0,0 +1,179 @@
+package com.myprojecticaro.poc_jwt_secure_access.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * <p>
+ * Measures how long a freshly launched application takes to serve its first authenticated request,
+ * which is what bounds how fast a new pod can take traffic.
+ * </p>
+ *
+ * <p>
+ * Each run launches the extracted boot jar in a new JVM, then polls {@code POST /auth/login} until it
+ * answers with a token and immediately calls {@code GET /actuator/metrics} with that token. The time
+ * from process launch to the {@code 200} of that call is recorded. Modes:
+ * </p>
+ * <ul>
+ *     <li>{@code jar} — plain startup.</li>
+ *     <li>{@code aot} — with the AOT-generated bean definitions ({@code -Dspring.aot.enabled=true}).</li>
+ *     <li>{@code aot-cds} — AOT plus the class data sharing archive from {@code ./gradlew cdsArchive}.</li>
+ * </ul>
+ *
+ * <p><b>Usage:</b></p>
+ * <pre>
+ * ./gradlew startupBenchmark
+ * ./gradlew startupBenchmark -PstartupArgs="--runs=10 --modes=jar,aot-cds"
+ * </pre>
+ *
+ * <p>
+ * Options: {@code --modes} (default {@code jar,aot,aot-cds}), {@code --runs} (5), {@code --timeout} (60s).
+ * {@code --dir} and {@code --jar} locate the extracted application and are set by the Gradle task.
+ * </p>
+ */
+public final class StartupBenchmark {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\":\"([^\"]+)\"");
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        Path dir = Path.of(options.get("dir"));
+        String jar = options.get("jar");
+        List<String> modes = Arrays.asList(options.getOrDefault("modes", "jar,aot,aot-cds").split(","));
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        Duration timeout = Duration.parse("PT" + options.getOrDefault("timeout", "60s").toUpperCase(Locale.ROOT));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(1))
+                .build();
+
+        Map<String, long[]> results = new HashMap<>();
+        for (String mode : modes) {
+            long[] millis = new long[runs];
+            for (int run = 0; run < runs; run++) {
+                millis[run] = launch(mode.strip(), dir, jar, client, timeout);
+                System.out.printf(Locale.ROOT, "[%s] run %d: %d ms%n", mode, run + 1, millis[run]);
+            }
+            Arrays.sort(millis);
+            results.put(mode, millis);
+        }
+
+        System.out.printf(Locale.ROOT, "%ntime to first authenticated request, %d runs per mode%n", runs);
+        System.out.printf(Locale.ROOT, "%-9s %9s %9s %9s%n", "mode", "min ms", "median ms", "max ms");
+        for (String mode : modes) {
+            long[] millis = results.get(mode);
+            System.out.printf(Locale.ROOT, "%-9s %9d %9d %9d%n",
+                    mode, millis[0], millis[millis.length / 2], millis[millis.length - 1]);
+        }
+    }
+
+    private static long launch(String mode, Path dir, String jar, HttpClient client, Duration timeout)
+            throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        switch (mode) {
+            case "jar" -> { }
+            case "aot" -> command.add("-Dspring.aot.enabled=true");
+            case "aot-cds" -> {
+                if (!Files.exists(dir.resolve("application.jsa"))) {
+                    throw new IllegalStateException("No CDS archive in " + dir + "; run ./gradlew cdsArchive");
+                }
+                command.add("-Dspring.aot.enabled=true");
+                command.add("-XX:SharedArchiveFile=application.jsa");
+            }
+            default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+        }
+        int port = freePort();
+        command.addAll(List.of("-jar", jar, "--server.port=" + port, "--logging.level.root=WARN",
+                "--spring.main.banner-mode=off", "--spring.profiles.active=dev"));
+
+        String baseUrl = "http://localhost:" + port;
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(dir.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(new File(dir.toFile(), "startup-benchmark.log")))
+                .start();
+        try {
+            String token = awaitLogin(client, baseUrl, process, start + timeout.toNanos());
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/metrics"))
+                    .header("Authorization", "Bearer " + token)
+                    .GET()
+                    .build();
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            long elapsed = System.nanoTime() - start;
+            if (status != 200) {
+                throw new IllegalStateException("Authenticated request failed with " + status);
+            }
+            return TimeUnit.NANOSECONDS.toMillis(elapsed);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static String awaitLogin(HttpClient client, String baseUrl, Process process, long deadline)
+            throws Exception {
+        HttpRequest login = HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"admin\",\"password\":\"1234\"}"))
+                .build();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue());
+            }
+            try {
+                HttpResponse<String> response = client.send(login, HttpResponse.BodyHandlers.ofString());
+                Matcher matcher = TOKEN.matcher(response.body());
+                if (response.statusCode() == 200 && matcher.find()) {
+                    return matcher.group(1);
+                }
+            } catch (IOException e) {
+                // Not listening yet.
+            }
+            Thread.sleep(POLL_INTERVAL.toMillis());
+        }
+        throw new IllegalStateException("Application did not answer a login in time");
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int separator = arg.indexOf('=');
+                options.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+        return options;
+    }
+}
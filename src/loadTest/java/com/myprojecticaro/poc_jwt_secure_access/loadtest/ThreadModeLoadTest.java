@@ -0,0 +1,231 @@
+package com.myprojecticaro.poc_jwt_secure_access.loadtest;
+
+import com.myprojecticaro.poc_jwt_secure_access.PocJwtSecureAccessApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * <p>
+ * Compares the platform-thread and virtual-thread servlet modes under high concurrency.
+ * </p>
+ *
+ * <p>
+ * For each mode the application is started in-process on a random port with
+ * {@code spring.threads.virtual.enabled} set accordingly, the user cache disabled and a user store
+ * that blocks on every lookup (see {@link LoadTestConfig}). A fixed number of clients, each on its
+ * own virtual thread, then call {@code GET /api/ping} with a valid token back-to-back (a closed
+ * model) for a warm-up period and a measured period. Throughput and latency percentiles of the
+ * measured period are printed as a table.
+ * </p>
+ *
+ * <p><b>Usage:</b></p>
+ * <pre>
+ * ./gradlew loadTest
+ * ./gradlew loadTest -PloadTestArgs="--concurrency=2000 --duration=30s --store-latency=50ms"
+ * </pre>
+ *
+ * <p>
+ * Options: {@code --modes} (default {@code platform,virtual}), {@code --concurrency} (1000),
+ * {@code --warmup} (5s), {@code --duration} (20s), {@code --store-latency} (20ms).
+ * </p>
+ *
+ * <p>
+ * The load generator shares the JVM and the CPU with the server, so absolute numbers are lower
+ * than on separate hosts; the comparison between modes is what matters.
+ * </p>
+ */
+public final class ThreadModeLoadTest {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\":\"([^\"]+)\"");
+
+    private ThreadModeLoadTest() {
+    }
+
+    /**
+     * Measured outcome of one mode.
+     *
+     * @param mode       {@code platform} or {@code virtual}.
+     * @param requests   Successful requests in the measured period.
+     * @param errors     Failed or non-200 requests in the measured period.
+     * @param elapsed    Length of the measured period.
+     * @param latencies  Sorted latencies of the successful requests, in nanoseconds.
+     */
+    record Result(String mode, long requests, long errors, Duration elapsed, long[] latencies) {
+
+        double throughput() {
+            return requests / (elapsed.toNanos() / 1e9);
+        }
+
+        double percentileMillis(double percentile) {
+            if (latencies.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * latencies.length) - 1;
+            return latencies[Math.max(0, Math.min(index, latencies.length - 1))] / 1e6;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        List<String> modes = Arrays.asList(options.getOrDefault("modes", "platform,virtual").split(","));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "1000"));
+        Duration warmup = DurationStyle.detectAndParse(options.getOrDefault("warmup", "5s"));
+        Duration duration = DurationStyle.detectAndParse(options.getOrDefault("duration", "20s"));
+        String storeLatency = options.getOrDefault("store-latency", "20ms");
+
+        List<Result> results = new ArrayList<>();
+        for (String mode : modes) {
+            results.add(run(mode.strip(), concurrency, warmup, duration, storeLatency));
+        }
+
+        System.out.printf(Locale.ROOT, "%nconcurrency=%d, store latency=%s, measured %s per mode%n",
+                concurrency, storeLatency, duration);
+        System.out.printf(Locale.ROOT, "%-9s %10s %8s %12s %9s %9s %9s%n",
+                "mode", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+        for (Result result : results) {
+            System.out.printf(Locale.ROOT, "%-9s %10d %8d %12.1f %9.2f %9.2f %9.2f%n",
+                    result.mode(), result.requests(), result.errors(), result.throughput(),
+                    result.percentileMillis(50), result.percentileMillis(99), result.percentileMillis(100));
+        }
+    }
+
+    private static Result run(String mode, int concurrency, Duration warmup, Duration duration, String storeLatency)
+            throws Exception {
+        boolean virtual = switch (mode) {
+            case "platform" -> false;
+            case "virtual" -> true;
+            default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+        };
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                PocJwtSecureAccessApplication.class, LoadTestConfig.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.profiles.active=dev",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--spring.threads.virtual.enabled=" + virtual,
+                        "--users.cache.max-size=0",
+                        "--warmup.enabled=false",
+                        "--loadtest.store-latency=" + storeLatency)) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+            HttpRequest ping = HttpRequest.newBuilder(URI.create(baseUrl + "/api/ping"))
+                    .header("Authorization", "Bearer " + login(client, baseUrl))
+                    .GET()
+                    .build();
+
+            System.out.printf(Locale.ROOT, "[%s] warming up for %s with %d clients%n", mode, warmup, concurrency);
+            drive(mode, client, ping, concurrency, warmup);
+            System.out.printf(Locale.ROOT, "[%s] measuring for %s%n", mode, duration);
+            return drive(mode, client, ping, concurrency, duration);
+        }
+    }
+
+    private static String login(HttpClient client, String baseUrl) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"admin\",\"password\":\"1234\"}"))
+                .build();
+        String body = client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        Matcher matcher = TOKEN.matcher(body);
+        if (!matcher.find()) {
+            throw new IllegalStateException("Login failed: " + body);
+        }
+        return matcher.group(1);
+    }
+
+    private static Result drive(String mode, HttpClient client, HttpRequest ping, int concurrency, Duration duration)
+            throws Exception {
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        List<Future<Worker>> futures = new ArrayList<>(concurrency);
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(clients.submit(() -> new Worker().run(client, ping, deadline)));
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        long requests = 0;
+        long errors = 0;
+        for (Future<Worker> future : futures) {
+            Worker worker = future.get();
+            requests += worker.count;
+            errors += worker.errors;
+        }
+        long[] latencies = new long[(int) requests];
+        int offset = 0;
+        for (Future<Worker> future : futures) {
+            Worker worker = future.get();
+            System.arraycopy(worker.latencies, 0, latencies, offset, worker.count);
+            offset += worker.count;
+        }
+        Arrays.sort(latencies);
+        return new Result(mode, requests, errors, Duration.ofNanos(elapsed), latencies);
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int separator = arg.indexOf('=');
+                options.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+        return options;
+    }
+
+    /** One closed-loop client; records the latency of each successful request. */
+    private static final class Worker {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        Worker run(HttpClient client, HttpRequest request, long deadline) {
+            while (System.nanoTime() < deadline) {
+                long sent = System.nanoTime();
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() != 200) {
+                        errors++;
+                        continue;
+                    }
+                } catch (Exception e) {
+                    if (e instanceof InterruptedException) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                    errors++;
+                    continue;
+                }
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = System.nanoTime() - sent;
+            }
+            return this;
+        }
+    }
+}
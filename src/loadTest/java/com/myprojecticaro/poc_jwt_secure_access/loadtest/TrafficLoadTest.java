@@ -0,0 +1,362 @@
+package com.myprojecticaro.poc_jwt_secure_access.loadtest;
+
+import com.myprojecticaro.poc_jwt_secure_access.PocJwtSecureAccessApplication;
+import com.myprojecticaro.poc_jwt_secure_access.service.UserService;
+import com.myprojecticaro.poc_jwt_secure_access.util.JwtUtil;
+import com.myprojecticaro.poc_jwt_secure_access.util.KeyRing;
+import io.jsonwebtoken.Jwts;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <p>
+ * Drives the whole application with a realistic traffic mix and reports latency percentiles,
+ * throughput and error rates in a form that can be compared between releases.
+ * </p>
+ *
+ * <p>
+ * The application is started in-process on a random port (with {@link LoadTestConfig}'s
+ * {@code GET /api/ping}, login rate limiting and its own warm-up disabled). Requests then
+ * arrive following an open model ({@link ArrivalSchedule}): each one is sent at its scheduled time
+ * on its own virtual thread, however many are still in flight, so a slow server faces a growing
+ * queue rather than a slowed-down client. Each request is one of these operations, drawn by weight:
+ * </p>
+ * <ul>
+ *     <li>{@code login} — {@code POST /auth/login} with valid credentials; expects {@code 200}.</li>
+ *     <li>{@code valid} — {@code GET /api/ping} with one of {@code --tokens} valid tokens; expects {@code 200}.</li>
+ *     <li>{@code expired} — the same with a correctly signed but expired token; expects {@code 401}.</li>
+ *     <li>{@code invalid} — the same with a tampered signature; expects {@code 401}.</li>
+ * </ul>
+ *
+ * <p>
+ * Latencies are recorded in HdrHistograms from each request's intended send time, correcting for
+ * coordinated omission (see {@link OperationStats}). After a warm-up phase whose results are
+ * discarded, the measured phase is summarized as a table and written to {@code --report} as JSON
+ * ({@link TrafficReport}), with the full latency distribution of each operation next to it in
+ * {@code .hgrm} files. With {@code --baseline} the run is also compared with an earlier report.
+ * </p>
+ *
+ * <p><b>Usage:</b></p>
+ * <pre>
+ * ./gradlew trafficLoadTest
+ * ./gradlew trafficLoadTest -PtrafficArgs="--rate=500 --burst-rate=2000 --duration=60s"
+ * ./gradlew trafficLoadTest -PtrafficArgs="--baseline=reports/traffic-1.0.json"
+ * </pre>
+ *
+ * <p>
+ * Options: {@code --rate} (default 200 requests/s), {@code --arrival} ({@code poisson} or {@code constant}),
+ * {@code --burst-rate} (0, no bursts), {@code --burst-every} (10s), {@code --burst-length} (1s),
+ * {@code --mix} ({@code login:2,valid:88,expired:5,invalid:5}), {@code --tokens} (100), {@code --warmup} (10s),
+ * {@code --duration} (30s), {@code --timeout} (5s), {@code --seed} (42), {@code --report} and {@code --baseline}.
+ * </p>
+ *
+ * <p>
+ * As with {@link ThreadModeLoadTest}, the generator shares the JVM and CPUs with the server; compare
+ * reports taken on the same machine with the same options.
+ * </p>
+ */
+public final class TrafficLoadTest {
+
+    private static final String USERNAME = "admin";
+    private static final String LOGIN_BODY = "{\"username\":\"admin\",\"password\":\"1234\"}";
+
+    /**
+     * The operations of the traffic mix and the status each one expects.
+     */
+    enum Operation {
+        LOGIN(200), VALID(200), EXPIRED(401), INVALID(401);
+
+        private final int expectedStatus;
+
+        Operation(int expectedStatus) {
+            this.expectedStatus = expectedStatus;
+        }
+
+        String label() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private TrafficLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        double rate = Double.parseDouble(options.getOrDefault("rate", "200"));
+        String arrival = options.getOrDefault("arrival", "poisson");
+        double burstRate = Double.parseDouble(options.getOrDefault("burst-rate", "0"));
+        Duration burstEvery = DurationStyle.detectAndParse(options.getOrDefault("burst-every", "10s"));
+        Duration burstLength = DurationStyle.detectAndParse(options.getOrDefault("burst-length", "1s"));
+        String mix = options.getOrDefault("mix", "login:2,valid:88,expired:5,invalid:5");
+        int tokens = Integer.parseInt(options.getOrDefault("tokens", "100"));
+        Duration warmup = DurationStyle.detectAndParse(options.getOrDefault("warmup", "10s"));
+        Duration duration = DurationStyle.detectAndParse(options.getOrDefault("duration", "30s"));
+        Duration timeout = DurationStyle.detectAndParse(options.getOrDefault("timeout", "5s"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        Path reportFile = Path.of(options.getOrDefault("report", "build/reports/traffic/report.json"));
+        TrafficReport baseline = options.containsKey("baseline")
+                ? TrafficReport.read(Path.of(options.get("baseline"))) : null;
+
+        boolean poisson = switch (arrival) {
+            case "poisson" -> true;
+            case "constant" -> false;
+            default -> throw new IllegalArgumentException("Unknown arrival process: " + arrival);
+        };
+        Operation[] weighted = weights(mix);
+        ArrivalSchedule schedule = new ArrivalSchedule(rate, poisson, burstRate, burstEvery, burstLength, seed);
+
+        Map<String, String> settings = new LinkedHashMap<>();
+        settings.put("rate", options.getOrDefault("rate", "200"));
+        settings.put("arrival", arrival);
+        settings.put("bursts", burstRate > 0 ? burstRate + "/s for " + burstLength + " every " + burstEvery : "none");
+        settings.put("mix", mix);
+        settings.put("tokens", String.valueOf(tokens));
+        settings.put("warmup", warmup.toString());
+        settings.put("duration", duration.toString());
+        settings.put("seed", String.valueOf(seed));
+
+        // Issued tokens must outlive the run.
+        Duration expiration = warmup.plus(duration).plus(timeout).plusMinutes(5);
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                PocJwtSecureAccessApplication.class, LoadTestConfig.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.profiles.active=dev",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--warmup.enabled=false",
+                        "--audit.dir=build/traffic-audit",
+                        "--jwt.expiration=" + expiration.toSeconds() + "s",
+                        "--login.rate-limit.enabled=false",
+                        "--loadtest.store-latency=0ms")) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(timeout)
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+            Map<Operation, List<HttpRequest>> templates = templates(context, baseUrl, tokens, timeout);
+
+            Map<Operation, OperationStats> warmupStats = stats();
+            Map<Operation, OperationStats> measuredStats = stats();
+            long start = System.nanoTime();
+            long measureFrom = start + warmup.toNanos();
+            long end = measureFrom + duration.toNanos();
+            long maxLag = 0;
+            System.out.printf(Locale.ROOT, "[traffic] warming up for %s at %s/s (%s), then measuring for %s%n",
+                    warmup, settings.get("rate"), arrival, duration);
+            String startedAt = null;
+            // Closing waits for the requests still in flight, so they are all recorded before the report.
+            try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+                while (true) {
+                    long intended = start + schedule.next();
+                    if (intended - end >= 0) {
+                        break;
+                    }
+                    long wait;
+                    while ((wait = intended - System.nanoTime()) > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    boolean measured = intended - measureFrom >= 0;
+                    if (measured) {
+                        if (startedAt == null) {
+                            startedAt = Instant.now().toString();
+                        }
+                        maxLag = Math.max(maxLag, -wait);
+                    }
+                    Operation operation = weighted[schedule.nextInt(weighted.length)];
+                    List<HttpRequest> candidates = templates.get(operation);
+                    HttpRequest request = candidates.get(schedule.nextInt(candidates.size()));
+                    OperationStats stats = (measured ? measuredStats : warmupStats).get(operation);
+                    stats.scheduled();
+                    requests.execute(() -> send(client, request, operation, intended, stats));
+                }
+            }
+            if (maxLag > 10_000_000L) {
+                System.out.printf(Locale.ROOT, "[traffic] the generator fell up to %d ms behind its schedule; "
+                        + "latencies include that delay%n", maxLag / 1_000_000L);
+            }
+
+            report(startedAt, settings, duration, measuredStats, reportFile, baseline);
+        }
+    }
+
+    private static void send(HttpClient client, HttpRequest request, Operation operation, long intended,
+                             OperationStats stats) {
+        long sent = System.nanoTime();
+        try {
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            stats.answered(intended, sent, System.nanoTime());
+            if (status != operation.expectedStatus) {
+                stats.error(String.valueOf(status));
+            }
+        } catch (HttpTimeoutException e) {
+            stats.failed(intended, System.nanoTime(), "timeout");
+        } catch (IOException e) {
+            stats.failed(intended, System.nanoTime(), e.getClass().getSimpleName());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stats.error("interrupted");
+        }
+    }
+
+    private static void report(String startedAt, Map<String, String> settings, Duration duration,
+                               Map<Operation, OperationStats> measured, Path reportFile, TrafficReport baseline)
+            throws IOException {
+        double seconds = duration.toNanos() / 1e9;
+        OperationStats total = new OperationStats("total");
+        List<OperationStats> all = new ArrayList<>();
+        for (OperationStats stats : measured.values()) {
+            if (stats.scheduledCount() > 0) {
+                all.add(stats);
+                total.add(stats);
+            }
+        }
+        all.add(total);
+
+        Map<String, String> environment = new LinkedHashMap<>();
+        environment.put("java", System.getProperty("java.vm.name") + " " + System.getProperty("java.version"));
+        environment.put("os", System.getProperty("os.name") + " " + System.getProperty("os.arch"));
+        environment.put("processors", String.valueOf(Runtime.getRuntime().availableProcessors()));
+
+        List<TrafficReport.Operation> operations = new ArrayList<>();
+        Files.createDirectories(reportFile.toAbsolutePath().getParent());
+        for (OperationStats stats : all) {
+            operations.add(TrafficReport.Operation.of(stats, seconds));
+            Path distribution = reportFile.resolveSibling(stats.name() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(distribution))) {
+                stats.latency().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        TrafficReport report = new TrafficReport(startedAt, settings, environment, seconds, operations);
+        report.write(reportFile);
+
+        report.print(System.out);
+        if (baseline != null) {
+            report.printComparison(baseline, System.out);
+        }
+        System.out.printf(Locale.ROOT, "%nreport written to %s%n", reportFile.toAbsolutePath());
+    }
+
+    /**
+     * Builds the requests of each operation: one for {@code login}, {@code expired} and
+     * {@code invalid}, one per token for {@code valid}.
+     */
+    private static Map<Operation, List<HttpRequest>> templates(ConfigurableApplicationContext context, String baseUrl,
+                                                              int tokens, Duration timeout) {
+        JwtUtil jwtUtil = context.getBean(JwtUtil.class);
+        KeyRing keyRing = context.getBean(KeyRing.class);
+        Collection<? extends GrantedAuthority> authorities = context.getBean(UserService.class)
+                .findByUsername(USERNAME)
+                .map(UserDetails::getAuthorities)
+                .orElseThrow(() -> new IllegalStateException("No user " + USERNAME));
+        URI ping = URI.create(baseUrl + "/api/ping");
+
+        List<HttpRequest> valid = new ArrayList<>(tokens);
+        for (int i = 0; i < tokens; i++) {
+            valid.add(bearer(ping, jwtUtil.generateToken(USERNAME, authorities), timeout));
+        }
+
+        long now = System.currentTimeMillis();
+        KeyRing.RingKey key = keyRing.active();
+        String expired = Jwts.builder()
+                .header().keyId(key.kid()).and()
+                .id(UUID.randomUUID().toString())
+                .subject(USERNAME)
+                .issuedAt(new Date(now - 7_200_000L))
+                .expiration(new Date(now - 3_600_000L))
+                .signWith(key.signingKey(), keyRing.algorithm())
+                .compact();
+
+        String token = jwtUtil.generateToken(USERNAME, authorities);
+        int signature = token.lastIndexOf('.') + 2;
+        char replacement = token.charAt(signature) == 'A' ? 'B' : 'A';
+        String tampered = token.substring(0, signature) + replacement + token.substring(signature + 1);
+
+        Map<Operation, List<HttpRequest>> templates = new EnumMap<>(Operation.class);
+        templates.put(Operation.LOGIN, List.of(HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(LOGIN_BODY))
+                .timeout(timeout)
+                .build()));
+        templates.put(Operation.VALID, valid);
+        templates.put(Operation.EXPIRED, List.of(bearer(ping, expired, timeout)));
+        templates.put(Operation.INVALID, List.of(bearer(ping, tampered, timeout)));
+        return templates;
+    }
+
+    private static HttpRequest bearer(URI uri, String token, Duration timeout) {
+        return HttpRequest.newBuilder(uri)
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .timeout(timeout)
+                .build();
+    }
+
+    private static Map<Operation, OperationStats> stats() {
+        Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats(operation.label()));
+        }
+        return stats;
+    }
+
+    /**
+     * Parses {@code --mix} ({@code name:weight,...}) into a table with each operation repeated by its
+     * weight, so drawing a uniform index picks operations in proportion.
+     */
+    private static Operation[] weights(String mix) {
+        List<Operation> table = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.strip().split(":");
+            Operation operation = Operation.valueOf(parts[0].toUpperCase(Locale.ROOT));
+            int weight = Integer.parseInt(parts[1]);
+            for (int i = 0; i < weight; i++) {
+                table.add(operation);
+            }
+        }
+        if (table.isEmpty()) {
+            throw new IllegalArgumentException("The mix has no weight: " + mix);
+        }
+        return table.toArray(new Operation[0]);
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int separator = arg.indexOf('=');
+                options.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+        return options;
+    }
+}
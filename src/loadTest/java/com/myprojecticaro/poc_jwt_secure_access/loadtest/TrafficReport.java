@@ -0,0 +1,146 @@
+package com.myprojecticaro.poc_jwt_secure_access.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * <p>
+ * The result of one {@link TrafficLoadTest} run, written as JSON so runs of different releases can
+ * be diffed or compared with {@code --baseline}.
+ * </p>
+ *
+ * <p>
+ * Latencies are in milliseconds and corrected for coordinated omission (see {@link OperationStats});
+ * {@code serviceTime} holds the uncorrected values. {@code latency} includes timed-out and failed
+ * requests, {@code serviceTime} only answered ones. The last operation is the total over all of them.
+ * </p>
+ *
+ * @param startedAt   When the measured phase started (ISO-8601).
+ * @param settings    The options of the run: rate, arrival process, mix, durations.
+ * @param environment The JVM and the number of processors the run had.
+ * @param seconds     Length of the measured phase.
+ * @param operations  One entry per operation, then the total.
+ */
+record TrafficReport(String startedAt,
+                     Map<String, String> settings,
+                     Map<String, String> environment,
+                     double seconds,
+                     List<Operation> operations) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * @param name        The operation, or {@code total}.
+     * @param scheduled   Requests the arrival schedule sent.
+     * @param answered    Requests that got a response, whatever its status.
+     * @param errors      Requests with an unexpected status or no response.
+     * @param errorCauses Errors by status code or exception.
+     * @param throughput  Answered requests per second.
+     * @param errorRate   {@code errors / scheduled}.
+     * @param latency     Latency from the intended send time, including requests that got no answer.
+     * @param serviceTime Latency from the actual send time.
+     */
+    record Operation(String name,
+                     long scheduled,
+                     long answered,
+                     long errors,
+                     Map<String, Long> errorCauses,
+                     double throughput,
+                     double errorRate,
+                     Latency latency,
+                     Latency serviceTime) {
+
+        static Operation of(OperationStats stats, double seconds) {
+            Map<String, Long> causes = stats.errors();
+            long errors = causes.values().stream().mapToLong(Long::longValue).sum();
+            long answered = stats.answeredCount();
+            long scheduled = stats.scheduledCount();
+            return new Operation(stats.name(), scheduled, answered, errors, causes,
+                    round(answered / seconds), scheduled == 0 ? 0 : round((double) errors / scheduled),
+                    Latency.of(stats.latency()), Latency.of(stats.serviceTime()));
+        }
+    }
+
+    /**
+     * Percentiles of one latency histogram, in milliseconds.
+     */
+    record Latency(double mean, double p50, double p90, double p99, double p999, double max) {
+
+        static Latency of(Histogram histogram) {
+            return new Latency(round(histogram.getMean() / 1000),
+                    millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                    round(histogram.getMaxValue() / 1000.0));
+        }
+
+        private static double millis(Histogram histogram, double percentile) {
+            return round(histogram.getValueAtPercentile(percentile) / 1000.0);
+        }
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    void write(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        MAPPER.writeValue(file.toFile(), this);
+    }
+
+    static TrafficReport read(Path file) throws IOException {
+        return MAPPER.readValue(file.toFile(), TrafficReport.class);
+    }
+
+    void print(PrintStream out) {
+        out.printf(Locale.ROOT, "%n%s, measured %.0f s%n", settings, seconds);
+        out.printf(Locale.ROOT, "%-8s %9s %7s %8s %9s %9s %9s %9s %9s %11s%n",
+                "op", "answered", "errors", "err %", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "p99 svc ms");
+        for (Operation operation : operations) {
+            Latency latency = operation.latency();
+            out.printf(Locale.ROOT, "%-8s %9d %7d %8.2f %9.1f %9.2f %9.2f %9.2f %9.2f %11.2f%n",
+                    operation.name(), operation.answered(), operation.errors(), operation.errorRate() * 100,
+                    operation.throughput(), latency.p50(), latency.p99(), latency.p999(), latency.max(),
+                    operation.serviceTime().p99());
+            if (!operation.errorCauses().isEmpty()) {
+                out.printf(Locale.ROOT, "%8s errors: %s%n", "", operation.errorCauses());
+            }
+        }
+    }
+
+    /**
+     * Prints the relative change of throughput, error rate and latency percentiles against an
+     * earlier report, for the operations both reports have.
+     */
+    void printComparison(TrafficReport baseline, PrintStream out) {
+        out.printf(Locale.ROOT, "%nchange against the baseline of %s%n", baseline.startedAt());
+        if (!baseline.settings().equals(settings) || !baseline.environment().equals(environment)) {
+            out.printf(Locale.ROOT, "the baseline ran with different settings or on a different machine: %s %s%n",
+                    baseline.settings(), baseline.environment());
+        }
+        out.printf(Locale.ROOT, "%-8s %9s %9s %9s %9s %9s%n", "op", "req/s", "err %", "p50", "p99", "p99.9");
+        for (Operation operation : operations) {
+            for (Operation before : baseline.operations()) {
+                if (before.name().equals(operation.name())) {
+                    out.printf(Locale.ROOT, "%-8s %9s %+9.2f %9s %9s %9s%n", operation.name(),
+                            change(before.throughput(), operation.throughput()),
+                            (operation.errorRate() - before.errorRate()) * 100,
+                            change(before.latency().p50(), operation.latency().p50()),
+                            change(before.latency().p99(), operation.latency().p99()),
+                            change(before.latency().p999(), operation.latency().p999()));
+                }
+            }
+        }
+    }
+
+    private static String change(double before, double after) {
+        return before == 0 ? "n/a" : String.format(Locale.ROOT, "%+.1f%%", (after - before) / before * 100);
+    }
+}
@@ -1,9 +1,16 @@
 package com.myprojecticaro.poc_jwt_secure_access;
 
+import com.myprojecticaro.poc_jwt_secure_access.config.AuthRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
+@EnableScheduling
+@ImportRuntimeHints(AuthRuntimeHints.class)
 public class PocJwtSecureAccessApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,88 @@
+package com.myprojecticaro.poc_jwt_secure_access.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * <p>
+ * Externalized configuration for the audit trail of authentication events, bound from the
+ * {@code audit.*} properties.
+ * </p>
+ *
+ * <p>
+ * Events are buffered in memory and appended to size-rotated segment files under {@code audit.dir}
+ * by a single background writer. When the buffer is full, new events are dropped and counted rather
+ * than slowing requests down, so the buffer should hold a few seconds of peak traffic.
+ * </p>
+ *
+ * <p><b>Example:</b></p>
+ * <pre>
+ * audit.enabled=true
+ * audit.dir=/var/log/auth-audit
+ * audit.buffer-size=65536
+ * audit.segment-size=64MB
+ * audit.flush-interval=1s
+ * </pre>
+ *
+ * @see com.myprojecticaro.poc_jwt_secure_access.service.AuditLog
+ */
+@ConfigurationProperties(prefix = "audit")
+public class AuditProperties {
+
+    /** Whether authentication events are recorded. */
+    private boolean enabled = true;
+
+    /** Directory the segment files are written to; created if missing. */
+    private String dir = "audit";
+
+    /** Events buffered between request threads and the writer; rounded up to a power of two. */
+    private int bufferSize = 65_536;
+
+    /** Size of each segment file; a new segment is started when the current one is full. */
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    /** How often written events are forced to disk. */
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDir() {
+        return dir;
+    }
+
+    public void setDir(String dir) {
+        this.dir = dir;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public DataSize getSegmentSize() {
+        return segmentSize;
+    }
+
+    public void setSegmentSize(DataSize segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+}
@@ -0,0 +1,76 @@
+package com.myprojecticaro.poc_jwt_secure_access.config;
+
+import com.myprojecticaro.poc_jwt_secure_access.dto.AuthRequest;
+import com.myprojecticaro.poc_jwt_secure_access.dto.AuthResponse;
+import com.myprojecticaro.poc_jwt_secure_access.dto.IntrospectionRequest;
+import com.myprojecticaro.poc_jwt_secure_access.dto.RefreshRequest;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.util.List;
+
+/**
+ * <p>
+ * Ahead-of-time hints for the parts of the application that are reached through reflection or
+ * resource lookups the AOT engine cannot see, registered on
+ * {@link com.myprojecticaro.poc_jwt_secure_access.PocJwtSecureAccessApplication}.
+ * </p>
+ *
+ * <ul>
+ *     <li><b>JJWT:</b> the API module instantiates its implementation classes by name, and finds the
+ *         Jackson serializer through {@link java.util.ServiceLoader}.</li>
+ *     <li><b>Authentication DTOs:</b> the login response travels inside a {@code CompletableFuture}, so it
+ *         is not discovered from the controller signature; all request and response bodies are
+ *         registered for JSON binding.</li>
+ * </ul>
+ *
+ * <p>
+ * The hints matter for a native image; on the JVM, AOT processing only uses them for validation.
+ * </p>
+ */
+public class AuthRuntimeHints implements RuntimeHintsRegistrar {
+
+    /** Classes the JJWT API loads with {@code Class.forName} and instantiates or calls static methods on. */
+    static final List<String> JJWT_IMPLEMENTATION_TYPES = List.of(
+            "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+            "io.jsonwebtoken.impl.security.DefaultDynamicJwkBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkParserBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkSetBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkSetParserBuilder",
+            "io.jsonwebtoken.impl.security.DefaultKeyOperationBuilder",
+            "io.jsonwebtoken.impl.security.DefaultKeyOperationPolicyBuilder",
+            "io.jsonwebtoken.impl.security.JwksBridge",
+            "io.jsonwebtoken.impl.security.KeysBridge",
+            "io.jsonwebtoken.impl.security.StandardCurves",
+            "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyOperations",
+            "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer");
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (String type : JJWT_IMPLEMENTATION_TYPES) {
+            hints.reflection().registerTypeIfPresent(classLoader, type,
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        hints.resources()
+                .registerPattern("META-INF/services/io.jsonwebtoken.io.Serializer")
+                .registerPattern("META-INF/services/io.jsonwebtoken.io.Deserializer");
+
+        bindingRegistrar.registerReflectionHints(hints.reflection(),
+                AuthRequest.class, AuthResponse.class, RefreshRequest.class, IntrospectionRequest.class);
+    }
+}
@@ -0,0 +1,84 @@
+package com.myprojecticaro.poc_jwt_secure_access.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Externalized configuration for the route authorization table, bound from the
+ * {@code authorization.*} properties.
+ * </p>
+ *
+ * <p>
+ * Each route names a path pattern, optionally the HTTP methods it applies to, and the authorities
+ * accepted on it. The routes are compiled once at startup into a
+ * {@link com.myprojecticaro.poc_jwt_secure_access.util.RouteTable}; paths no route matches only
+ * require a valid token, and the public paths of {@link SecurityConfig} are never checked.
+ * </p>
+ *
+ * <p><b>Example:</b></p>
+ * <pre>
+ * authorization.routes[0].pattern=/actuator/**
+ * authorization.routes[0].authorities=ROLE_ADMIN
+ * authorization.routes[1].pattern=/api/reports/{id}
+ * authorization.routes[1].methods=PUT,DELETE
+ * authorization.routes[1].authorities=ROLE_ADMIN,ROLE_EDITOR
+ * </pre>
+ *
+ * @see RouteAuthorizationManager
+ */
+@ConfigurationProperties(prefix = "authorization")
+public class AuthorizationProperties {
+
+    /** Routes and the authorities they require, in declaration order. */
+    private List<Route> routes = new ArrayList<>();
+
+    public List<Route> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(List<Route> routes) {
+        this.routes = routes;
+    }
+
+    /**
+     * One route of the table.
+     */
+    public static class Route {
+
+        /** Path pattern: literal segments, '*' or '{name}' for one segment, and a trailing '**'. */
+        private String pattern;
+
+        /** HTTP methods the route applies to; all methods if empty. */
+        private List<String> methods = new ArrayList<>();
+
+        /** Authorities accepted on the route, any one of which grants access; any authenticated caller if empty. */
+        private List<String> authorities = new ArrayList<>();
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public void setPattern(String pattern) {
+            this.pattern = pattern;
+        }
+
+        public List<String> getMethods() {
+            return methods;
+        }
+
+        public void setMethods(List<String> methods) {
+            this.methods = methods;
+        }
+
+        public List<String> getAuthorities() {
+            return authorities;
+        }
+
+        public void setAuthorities(List<String> authorities) {
+            this.authorities = authorities;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.myprojecticaro.poc_jwt_secure_access.config;
+
+import com.myprojecticaro.poc_jwt_secure_access.util.VerifiedToken;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.util.Collection;
+
+/**
+ * <p>
+ * {@code Authentication} built directly from a verified token, used when
+ * {@code jwt.principal-mode=stateless}.
+ * </p>
+ *
+ * <p>
+ * The principal is the token subject and the authorities are the interned instances decoded
+ * from the token's roles claim, so creating it involves no user lookup and no authority
+ * allocation. The verified claims remain available through {@link #getToken()}.
+ * </p>
+ *
+ * @see JwtAuthenticationFilter
+ * @see VerifiedToken
+ */
+public class JwtAuthentication extends AbstractAuthenticationToken {
+
+    private final VerifiedToken token;
+
+    /**
+     * Creates an authenticated token for the given verified claims.
+     *
+     * @param token The verified token the authentication is derived from.
+     */
+    public JwtAuthentication(VerifiedToken token) {
+        // Authorities are served from the token's shared list instead of a per-request copy.
+        super(AuthorityUtils.NO_AUTHORITIES);
+        this.token = token;
+        setAuthenticated(true);
+    }
+
+    /**
+     * @return The verified token this authentication was built from.
+     */
+    public VerifiedToken getToken() {
+        return token;
+    }
+
+    /**
+     * @return The interned authorities carried in the token.
+     */
+    @Override
+    public Collection<GrantedAuthority> getAuthorities() {
+        return token.authorities();
+    }
+
+    /**
+     * @return The username carried in the token subject.
+     */
+    @Override
+    public String getPrincipal() {
+        return token.subject();
+    }
+
+    /**
+     * @return Always {@code null}; the bearer token is not kept as a credential.
+     */
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+}
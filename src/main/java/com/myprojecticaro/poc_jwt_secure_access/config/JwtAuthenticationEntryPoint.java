@@ -0,0 +1,136 @@
+package com.myprojecticaro.poc_jwt_secure_access.config;
+
+import com.myprojecticaro.poc_jwt_secure_access.util.TokenStatus;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.AuthenticationEntryPoint;
+import org.springframework.security.web.access.AccessDeniedHandler;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * <p>
+ * Writes compact {@code 401 Unauthorized} responses for rejected or missing bearer tokens, and
+ * {@code 403 Forbidden} responses for valid tokens lacking an authority the route requires.
+ * </p>
+ *
+ * <p>
+ * Every response body and {@code WWW-Authenticate} header value (RFC 6750) is serialized once at
+ * startup, so rejecting a request is a couple of header writes and a single byte-array copy,
+ * with no JSON serialization and no trip through Spring's error handling.
+ * </p>
+ *
+ * <p><b>Example Response:</b></p>
+ * <pre>
+ * HTTP/1.1 401
+ * WWW-Authenticate: Bearer error="invalid_token", error_description="The access token expired"
+ *
+ * {"error":"invalid_token","error_description":"The access token expired"}
+ * </pre>
+ *
+ * @see JwtAuthenticationFilter
+ * @see TokenStatus
+ */
+@Component
+public class JwtAuthenticationEntryPoint implements AuthenticationEntryPoint, AccessDeniedHandler {
+
+    /**
+     * Request attribute holding the {@link TokenStatus} of a bearer token that was rejected while the
+     * authentication was being resolved, so {@link #commence} can answer with the precise reason.
+     */
+    public static final String REJECTED_TOKEN_STATUS =
+            JwtAuthenticationEntryPoint.class.getName() + ".REJECTED_TOKEN_STATUS";
+
+    private static final String MISSING_TOKEN_CHALLENGE = "Bearer";
+    private static final byte[] MISSING_TOKEN_BODY =
+            "{\"error\":\"unauthorized\",\"error_description\":\"Full authentication is required\"}"
+                    .getBytes(StandardCharsets.UTF_8);
+
+    private static final String INSUFFICIENT_SCOPE_CHALLENGE =
+            "Bearer error=\"insufficient_scope\", error_description=\"The access token lacks a required authority\"";
+    private static final byte[] INSUFFICIENT_SCOPE_BODY =
+            "{\"error\":\"insufficient_scope\",\"error_description\":\"The access token lacks a required authority\"}"
+                    .getBytes(StandardCharsets.UTF_8);
+
+    private final Map<TokenStatus, String> challenges = new EnumMap<>(TokenStatus.class);
+    private final Map<TokenStatus, byte[]> bodies = new EnumMap<>(TokenStatus.class);
+
+    public JwtAuthenticationEntryPoint() {
+        for (TokenStatus status : TokenStatus.values()) {
+            if (status == TokenStatus.VALID) {
+                continue;
+            }
+            String description = status.getDescription();
+            challenges.put(status,
+                    "Bearer error=\"invalid_token\", error_description=\"" + description + "\"");
+            bodies.put(status,
+                    ("{\"error\":\"invalid_token\",\"error_description\":\"" + description + "\"}")
+                            .getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Handles requests that reach a secured endpoint without any usable authentication.
+     * <p>
+     * If a bearer token was presented and rejected, the response names the reason as {@link #reject} does.
+     * </p>
+     *
+     * @param request       The request that resulted in an {@link AuthenticationException}.
+     * @param response      The response to write the 401 to.
+     * @param authException The exception raised by Spring Security.
+     * @throws IOException If the response cannot be written.
+     */
+    @Override
+    public void commence(HttpServletRequest request,
+                         HttpServletResponse response,
+                         AuthenticationException authException) throws IOException {
+        if (request.getAttribute(REJECTED_TOKEN_STATUS) instanceof TokenStatus status) {
+            reject(response, status);
+            return;
+        }
+        write(response, HttpServletResponse.SC_UNAUTHORIZED, MISSING_TOKEN_CHALLENGE, MISSING_TOKEN_BODY);
+    }
+
+    /**
+     * Handles authenticated requests denied by {@link RouteAuthorizationManager}, answering with
+     * {@code 403} and {@code insufficient_scope} (RFC 6750, section 3.1).
+     *
+     * @param request               The denied request.
+     * @param response              The response to write the 403 to.
+     * @param accessDeniedException The exception raised by Spring Security.
+     * @throws IOException If the response cannot be written.
+     */
+    @Override
+    public void handle(HttpServletRequest request,
+                       HttpServletResponse response,
+                       AccessDeniedException accessDeniedException) throws IOException {
+        write(response, HttpServletResponse.SC_FORBIDDEN, INSUFFICIENT_SCOPE_CHALLENGE, INSUFFICIENT_SCOPE_BODY);
+    }
+
+    /**
+     * Writes the pre-serialized 401 response for a rejected token.
+     *
+     * @param response The response to write to.
+     * @param status   The reason the token was rejected; must not be {@link TokenStatus#VALID}.
+     * @throws IOException If the response cannot be written.
+     */
+    public void reject(HttpServletResponse response, TokenStatus status) throws IOException {
+        write(response, HttpServletResponse.SC_UNAUTHORIZED, challenges.get(status), bodies.get(status));
+    }
+
+    private static void write(HttpServletResponse response, int status, String challenge, byte[] body) throws IOException {
+        response.setStatus(status);
+        response.setHeader(HttpHeaders.WWW_AUTHENTICATE, challenge);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+}
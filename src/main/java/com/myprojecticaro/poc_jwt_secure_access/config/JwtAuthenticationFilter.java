@@ -1,18 +1,32 @@
 package com.myprojecticaro.poc_jwt_secure_access.config;
 
+import com.myprojecticaro.poc_jwt_secure_access.service.AuditEventType;
+import com.myprojecticaro.poc_jwt_secure_access.service.AuditLog;
 import com.myprojecticaro.poc_jwt_secure_access.service.UserService;
+import com.myprojecticaro.poc_jwt_secure_access.util.AuthMetrics;
+import com.myprojecticaro.poc_jwt_secure_access.util.CwtUtil;
 import com.myprojecticaro.poc_jwt_secure_access.util.JwtUtil;
+import com.myprojecticaro.poc_jwt_secure_access.util.TokenFormat;
+import com.myprojecticaro.poc_jwt_secure_access.util.TokenPrecheck;
+import com.myprojecticaro.poc_jwt_secure_access.util.TokenStatus;
+import com.myprojecticaro.poc_jwt_secure_access.util.TokenValidation;
+import com.myprojecticaro.poc_jwt_secure_access.util.VerifiedToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.function.Supplier;
 
 /**
  * <p>
@@ -23,20 +37,37 @@ import java.io.IOException;
  * <p>
  * This filter extracts the JWT token from the "Authorization" header of each request,
  * validates the token using {@link JwtUtil}, and retrieves user details through {@link UserService}.
- * If the token is valid, it sets the authentication object in the {@link SecurityContextHolder},
+ * If the token is valid, the resulting authentication is placed in the {@link SecurityContextHolder},
  * allowing Spring Security to recognize the request as authenticated.
  * </p>
  *
+ * <p>
+ * Authentication is deferred: the filter only installs a supplier of the security context, and the
+ * token is verified the first time anything reads the authentication, normally the authorization
+ * decision. Requests matching {@link SecurityConfig#PUBLIC_PATHS} are not filtered at all, so login,
+ * refresh and health checks never parse a token, even a stale one.
+ * </p>
+ *
  * <p><b>Typical Flow:</b></p>
  * <ol>
- *     <li>Intercept the request via {@link #doFilterInternal(HttpServletRequest, HttpServletResponse, FilterChain)}</li>
- *     <li>Check if the "Authorization" header exists and starts with "Bearer "</li>
- *     <li>Extract the JWT token and retrieve the username from it</li>
- *     <li>Validate the token and set the authentication in the Spring Security context</li>
- *     <li>Continue the request filter chain</li>
+ *     <li>Skip public paths via {@link #shouldNotFilter(HttpServletRequest)}</li>
+ *     <li>Check if the "Authorization" header exists and starts with "Bearer " (case-insensitive)</li>
+ *     <li>Install a deferred security context and continue the request filter chain</li>
+ *     <li>When the authentication is first needed, detect the token format from its first character
+ *         ({@link TokenFormat#detect(String, int)}) and validate it once via {@link JwtUtil#validate(String, int)}
+ *         or {@link CwtUtil#validate(String, int)}, neither of which throws</li>
+ *     <li>On rejection, leave the context unauthenticated and record the reason under
+ *         {@link JwtAuthenticationEntryPoint#REJECTED_TOKEN_STATUS}; the entry point answers with it</li>
+ *     <li>Otherwise build the authentication, either by loading the user ({@code lookup} mode) or straight
+ *         from the verified claims ({@code stateless} mode)</li>
  * </ol>
  *
  * <p>
+ * The age and remaining lifetime of every accepted token are recorded through {@link AuthMetrics};
+ * every rejected token is recorded in the {@link AuditLog} with its reason and the client's address.
+ * </p>
+ *
+ * <p>
  * This filter is executed once per request because it extends {@link OncePerRequestFilter}.
  * </p>
  *
@@ -53,22 +84,53 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final CwtUtil cwtUtil;
     private final UserService userService;
+    private final AuthMetrics metrics;
+    private final AuditLog auditLog;
+    private final boolean statelessPrincipal;
+    private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
+    private final SecurityContextHolderStrategy securityContextHolderStrategy =
+            SecurityContextHolder.getContextHolderStrategy();
 
      /**
      * Constructs a new {@code JwtAuthenticationFilter} with the required dependencies.
      *
      * @param jwtUtil     Utility class for generating and validating JWT tokens.
+     * @param cwtUtil     Utility class validating CWT tokens.
      * @param userService Service used to load user details based on the username extracted from the token.
+     * @param properties  JWT configuration selecting the principal mode.
+     * @param metrics     Recorder of the age of accepted tokens.
+     * @param auditLog    Audit trail of rejected tokens.
      */
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserService userService) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil,
+                                   CwtUtil cwtUtil,
+                                   UserService userService,
+                                   JwtProperties properties,
+                                   AuthMetrics metrics,
+                                   AuditLog auditLog) {
         this.jwtUtil = jwtUtil;
+        this.cwtUtil = cwtUtil;
         this.userService = userService;
+        this.metrics = metrics;
+        this.auditLog = auditLog;
+        this.statelessPrincipal = properties.getPrincipalMode() == JwtProperties.PrincipalMode.STATELESS;
+    }
+
+    /**
+     * Skips the public paths, which never need the caller's identity.
+     *
+     * @param request The incoming {@link HttpServletRequest}.
+     * @return {@code true} if the request matches {@link SecurityConfig#PUBLIC_PATHS}.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return SecurityConfig.PUBLIC_PATHS.matches(request);
     }
 
-       /**
-     * Intercepts each incoming HTTP request to validate the JWT token.
-     * If a valid token is found, sets the authenticated user in the security context.
+    /**
+     * Installs a deferred security context resolving the bearer token of the request, if any,
+     * and continues the chain. Nothing is verified here.
      *
      * @param request     The incoming {@link HttpServletRequest}.
      * @param response    The outgoing {@link HttpServletResponse}.
@@ -83,25 +145,114 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String authHeader = request.getHeader("Authorization");
 
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            filterChain.doFilter(request, response);
-            return;
+        if (TokenPrecheck.hasBearerPrefix(authHeader)) {
+            securityContextHolderStrategy.setDeferredContext(
+                    new DeferredTokenContext(request, authHeader, securityContextHolderStrategy.getDeferredContext()));
         }
 
-        final String token = authHeader.substring(7);
-        final String username = jwtUtil.extractUsername(token);
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Validates the bearer token and builds the authentication.
+     *
+     * @param request    The request carrying the token.
+     * @param authHeader The {@code Authorization} header, starting with the bearer prefix.
+     * @return The authentication, or {@code null} if the token was rejected; the reason is then
+     *         stored under {@link JwtAuthenticationEntryPoint#REJECTED_TOKEN_STATUS}.
+     */
+    private AbstractAuthenticationToken authenticate(HttpServletRequest request, String authHeader) {
+        final int offset = TokenPrecheck.BEARER_PREFIX.length();
+        final TokenValidation validation = TokenFormat.detect(authHeader, offset) == TokenFormat.CWT
+                ? cwtUtil.validate(authHeader, offset)
+                : jwtUtil.validate(authHeader, offset);
+        if (!validation.isValid()) {
+            reject(request, validation.status(), null);
+            return null;
+        }
+        metrics.recordTokenUse(validation.token(), System.currentTimeMillis());
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            var userDetails = userService.loadUserByUsername(username);
-            if (jwtUtil.isTokenValid(token, username)) {
-                var authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+        final AbstractAuthenticationToken authToken = statelessPrincipal
+                ? fromClaims(validation.token())
+                : fromUserLookup(validation.token());
+        if (authToken == null) {
+            reject(request, TokenStatus.UNKNOWN_USER, validation.token().subject());
+            return null;
+        }
+        authToken.setDetails(detailsSource.buildDetails(request));
+        return authToken;
+    }
+
+    private void reject(HttpServletRequest request, TokenStatus status, String username) {
+        request.setAttribute(JwtAuthenticationEntryPoint.REJECTED_TOKEN_STATUS, status);
+        auditLog.record(AuditEventType.TOKEN_REJECTED, status.code(), username, request.getRemoteAddr());
+    }
+
+    /**
+     * Builds the authentication from the verified claims alone ({@code jwt.principal-mode=stateless}).
+     *
+     * @param token The verified token.
+     * @return The authentication, or {@code null} if the token has no subject.
+     */
+    private AbstractAuthenticationToken fromClaims(VerifiedToken token) {
+        return token.subject() != null ? new JwtAuthentication(token) : null;
+    }
+
+    /**
+     * Builds the authentication from the user loaded through {@link UserService} ({@code jwt.principal-mode=lookup}).
+     *
+     * @param token The verified token.
+     * @return The authentication, or {@code null} if the subject is not a known user.
+     */
+    private AbstractAuthenticationToken fromUserLookup(VerifiedToken token) {
+        final String username = token.subject();
+        final UserDetails userDetails = username != null ? userService.findByUsername(username).orElse(null) : null;
+        if (userDetails == null) {
+            return null;
+        }
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    }
+
+    /**
+     * Security context of one request, resolved from its bearer token on first access and then reused.
+     * <p>
+     * An authentication already present in the previous context (for example set by a test or an
+     * earlier filter) wins and the token is not looked at.
+     * </p>
+     */
+    private final class DeferredTokenContext implements Supplier<SecurityContext> {
+
+        private final HttpServletRequest request;
+        private final String authHeader;
+        private final Supplier<SecurityContext> previous;
+        private SecurityContext resolved;
+
+        DeferredTokenContext(HttpServletRequest request, String authHeader, Supplier<SecurityContext> previous) {
+            this.request = request;
+            this.authHeader = authHeader;
+            this.previous = previous;
+        }
+
+        @Override
+        public SecurityContext get() {
+            if (resolved == null) {
+                resolved = resolve();
             }
+            return resolved;
         }
 
-        filterChain.doFilter(request, response);
+        private SecurityContext resolve() {
+            final SecurityContext context = previous.get();
+            if (context.getAuthentication() != null) {
+                return context;
+            }
+            final AbstractAuthenticationToken authToken = authenticate(request, authHeader);
+            if (authToken == null) {
+                return context;
+            }
+            final SecurityContext authenticated = securityContextHolderStrategy.createEmptyContext();
+            authenticated.setAuthentication(authToken);
+            return authenticated;
+        }
     }
 }
-
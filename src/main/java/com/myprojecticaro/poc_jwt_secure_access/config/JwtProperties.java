@@ -0,0 +1,312 @@
+package com.myprojecticaro.poc_jwt_secure_access.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * <p>
+ * Externalized configuration for JWT handling, bound from the {@code jwt.*} properties.
+ * </p>
+ *
+ * <p><b>Example:</b></p>
+ * <pre>
+ * jwt.secret=${JWT_SECRET}
+ * jwt.expiration=5m
+ * jwt.max-token-length=8192
+ * jwt.principal-mode=stateless
+ * jwt.signing.algorithm=ES256
+ * jwt.signing.rotation-interval=1d
+ * jwt.cache.enabled=true
+ * jwt.cache.max-size=10000
+ * jwt.introspection.max-batch-size=1000
+ * jwt.refresh.ttl=7d
+ * </pre>
+ *
+ * @see com.myprojecticaro.poc_jwt_secure_access.util.JwtUtil
+ */
+@ConfigurationProperties(prefix = "jwt")
+public class JwtProperties {
+
+    /** Base64-encoded HMAC secret used with HS256 signing; must decode to at least 256 bits. */
+    private String secret;
+
+    /** Lifetime of issued access tokens; kept short because clients renew them with a refresh token. */
+    private Duration expiration = Duration.ofMinutes(5);
+
+    /**
+     * How the filter builds the {@code Authentication}: {@code lookup} loads the user from
+     * {@code UserService} on every request; {@code stateless} uses the authorities carried in the token.
+     */
+    private PrincipalMode principalMode = PrincipalMode.LOOKUP;
+
+    /** Tokens longer than this are rejected before any decoding or signature verification. */
+    private int maxTokenLength = 8192;
+
+    private final Signing signing = new Signing();
+
+    private final Cache cache = new Cache();
+
+    private final Introspection introspection = new Introspection();
+
+    private final Refresh refresh = new Refresh();
+
+    private final Revocation revocation = new Revocation();
+
+    public String getSecret() {
+        return secret;
+    }
+
+    public void setSecret(String secret) {
+        this.secret = secret;
+    }
+
+    public Duration getExpiration() {
+        return expiration;
+    }
+
+    public void setExpiration(Duration expiration) {
+        this.expiration = expiration;
+    }
+
+    public PrincipalMode getPrincipalMode() {
+        return principalMode;
+    }
+
+    public void setPrincipalMode(PrincipalMode principalMode) {
+        this.principalMode = principalMode;
+    }
+
+    public int getMaxTokenLength() {
+        return maxTokenLength;
+    }
+
+    public void setMaxTokenLength(int maxTokenLength) {
+        this.maxTokenLength = maxTokenLength;
+    }
+
+    public Signing getSigning() {
+        return signing;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Introspection getIntrospection() {
+        return introspection;
+    }
+
+    public Refresh getRefresh() {
+        return refresh;
+    }
+
+    public Revocation getRevocation() {
+        return revocation;
+    }
+
+    /**
+     * Source of the authenticated principal on the request path.
+     */
+    public enum PrincipalMode {
+        /** Load the user through {@code UserService} for every authenticated request. */
+        LOOKUP,
+        /** Build the principal from the verified token alone; no user store on the hot path. */
+        STATELESS
+    }
+
+    /**
+     * Settings for the signing key ring.
+     */
+    public static class Signing {
+
+        /** JWS algorithm: HS256 (shared secret), RS256, ES256 or EdDSA (Ed25519). */
+        private String algorithm = "HS256";
+
+        /** How often asymmetric signing keys are rotated; ignored for HS256. */
+        private Duration rotationInterval = Duration.ofDays(1);
+
+        /** Whether HS256 tokens are written by the built-in encoder rather than the JJWT builder. */
+        private boolean directEncoding = true;
+
+        public String getAlgorithm() {
+            return algorithm;
+        }
+
+        public void setAlgorithm(String algorithm) {
+            this.algorithm = algorithm;
+        }
+
+        public Duration getRotationInterval() {
+            return rotationInterval;
+        }
+
+        public void setRotationInterval(Duration rotationInterval) {
+            this.rotationInterval = rotationInterval;
+        }
+
+        public boolean isDirectEncoding() {
+            return directEncoding;
+        }
+
+        public void setDirectEncoding(boolean directEncoding) {
+            this.directEncoding = directEncoding;
+        }
+    }
+
+    /**
+     * Settings for the in-process cache of already verified tokens.
+     */
+    public static class Cache {
+
+        /** Whether verified tokens are cached so repeated requests skip signature verification. */
+        private boolean enabled = true;
+
+        /** Maximum number of verified tokens kept in memory. */
+        private long maxSize = 10_000;
+
+        /** Upper bound on how long an entry may live, used for tokens without an expiration. */
+        private Duration maxTtl = Duration.ofMinutes(30);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Duration getMaxTtl() {
+            return maxTtl;
+        }
+
+        public void setMaxTtl(Duration maxTtl) {
+            this.maxTtl = maxTtl;
+        }
+    }
+
+    /**
+     * Settings for the batch introspection endpoint.
+     */
+    public static class Introspection {
+
+        /** Maximum number of tokens accepted in one batch request. */
+        private int maxBatchSize = 1000;
+
+        /** Number of tokens validated together as one parallel task and flushed to the client as one block. */
+        private int chunkSize = 64;
+
+        /** Threads validating batch chunks; defaults to the number of available processors. */
+        private int threads = Runtime.getRuntime().availableProcessors();
+
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        public void setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+    }
+
+    /**
+     * Settings for opaque refresh tokens.
+     */
+    public static class Refresh {
+
+        /** How long a refresh token stays usable; each rotation issues a token valid for this long again. */
+        private Duration ttl = Duration.ofDays(7);
+
+        /** Upper bound on a chain of rotated refresh tokens, counted from the login that started it. */
+        private Duration maxLifetime = Duration.ofDays(30);
+
+        /** How often the store is swept for expired refresh tokens. */
+        private Duration sweepInterval = Duration.ofMinutes(1);
+
+        /** Maximum number of entries examined per sweep, so a sweep never holds a thread for long. */
+        private int sweepBatchSize = 10_000;
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public Duration getMaxLifetime() {
+            return maxLifetime;
+        }
+
+        public void setMaxLifetime(Duration maxLifetime) {
+            this.maxLifetime = maxLifetime;
+        }
+
+        public Duration getSweepInterval() {
+            return sweepInterval;
+        }
+
+        public void setSweepInterval(Duration sweepInterval) {
+            this.sweepInterval = sweepInterval;
+        }
+
+        public int getSweepBatchSize() {
+            return sweepBatchSize;
+        }
+
+        public void setSweepBatchSize(int sweepBatchSize) {
+            this.sweepBatchSize = sweepBatchSize;
+        }
+    }
+
+    /**
+     * Settings for the access token denylist.
+     */
+    public static class Revocation {
+
+        /** Number of simultaneously revoked, unexpired tokens the Bloom filter is sized for (1% false positives). */
+        private int expectedEntries = 100_000;
+
+        /** How often expired ids are dropped and the Bloom filter rebuilt. */
+        private Duration rebuildInterval = Duration.ofMinutes(1);
+
+        public int getExpectedEntries() {
+            return expectedEntries;
+        }
+
+        public void setExpectedEntries(int expectedEntries) {
+            this.expectedEntries = expectedEntries;
+        }
+
+        public Duration getRebuildInterval() {
+            return rebuildInterval;
+        }
+
+        public void setRebuildInterval(Duration rebuildInterval) {
+            this.rebuildInterval = rebuildInterval;
+        }
+    }
+}
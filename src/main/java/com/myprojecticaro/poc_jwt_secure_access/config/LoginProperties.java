@@ -0,0 +1,144 @@
+package com.myprojecticaro.poc_jwt_secure_access.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * <p>
+ * Externalized configuration for the credential checks behind {@code POST /auth/login},
+ * bound from the {@code login.*} properties.
+ * </p>
+ *
+ * <p>
+ * Password hashing is deliberately slow, so credential checks run on a small dedicated pool
+ * instead of the servlet threads that serve authenticated API traffic. Logins beyond the pool
+ * and its queue are refused immediately with {@code 503 Service Unavailable}.
+ * </p>
+ *
+ * <p><b>Example:</b></p>
+ * <pre>
+ * login.threads=2
+ * login.queue-capacity=64
+ * login.retry-after=1s
+ * login.rate-limit.user.capacity=5
+ * login.rate-limit.user.period=1m
+ * </pre>
+ *
+ * @see com.myprojecticaro.poc_jwt_secure_access.service.LoginExecutor
+ */
+@ConfigurationProperties(prefix = "login")
+public class LoginProperties {
+
+    /** Number of threads hashing passwords; defaults to half the available processors. */
+    private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    /** Logins allowed to wait for a hashing thread before new ones are rejected. */
+    private int queueCapacity = 64;
+
+    /** Value of the {@code Retry-After} header sent with a rejected login. */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    private final RateLimit rateLimit = new RateLimit();
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    public void setRetryAfter(Duration retryAfter) {
+        this.retryAfter = retryAfter;
+    }
+
+    public RateLimit getRateLimit() {
+        return rateLimit;
+    }
+
+    /**
+     * Settings for the per-user and per-client-IP login rate limits.
+     */
+    public static class RateLimit {
+
+        /** Whether login attempts are rate limited. */
+        private boolean enabled = true;
+
+        /** Maximum number of buckets kept per key type; the least recently used are evicted beyond it. */
+        private long maxBuckets = 100_000;
+
+        /** Attempts allowed per username. */
+        private final Bucket user = new Bucket(5, Duration.ofMinutes(1));
+
+        /** Attempts allowed per client IP address. */
+        private final Bucket ip = new Bucket(20, Duration.ofMinutes(1));
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaxBuckets() {
+            return maxBuckets;
+        }
+
+        public void setMaxBuckets(long maxBuckets) {
+            this.maxBuckets = maxBuckets;
+        }
+
+        public Bucket getUser() {
+            return user;
+        }
+
+        public Bucket getIp() {
+            return ip;
+        }
+    }
+
+    /**
+     * A token bucket: up to {@code capacity} attempts in a burst, refilled at {@code capacity} per {@code period}.
+     */
+    public static class Bucket {
+
+        private int capacity;
+
+        private Duration period;
+
+        Bucket(int capacity, Duration period) {
+            this.capacity = capacity;
+            this.period = period;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public Duration getPeriod() {
+            return period;
+        }
+
+        public void setPeriod(Duration period) {
+            this.period = period;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.myprojecticaro.poc_jwt_secure_access.config;
+
+import com.myprojecticaro.poc_jwt_secure_access.util.RouteTable;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Authorizes every non-public request against the route table configured under
+ * {@code authorization.routes}.
+ * </p>
+ *
+ * <p>
+ * The routes are compiled at startup into a {@link RouteTable}, so a decision is one trie walk
+ * over the request path and one bitset intersection with the caller's authorities, instead of
+ * evaluating a chain of request matchers one by one. An invalid route fails startup.
+ * </p>
+ *
+ * <p>
+ * Anonymous callers are always denied, which sends them to {@link JwtAuthenticationEntryPoint};
+ * authenticated callers without an accepted authority are answered with {@code 403 Forbidden}.
+ * The authentication is only resolved here, so the deferred token check of
+ * {@link JwtAuthenticationFilter} happens at this point.
+ * </p>
+ *
+ * @see AuthorizationProperties
+ * @see SecurityConfig
+ */
+@Component
+public class RouteAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private static final Logger log = LoggerFactory.getLogger(RouteAuthorizationManager.class);
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private final RouteTable routes;
+    private final AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
+
+    /**
+     * Compiles the configured routes.
+     *
+     * @param properties The configured routes.
+     * @throws IllegalStateException if a route uses an unsupported pattern or method.
+     */
+    public RouteAuthorizationManager(AuthorizationProperties properties) {
+        this.routes = RouteTable.compile(properties.getRoutes().stream()
+                .map(route -> new RouteTable.Route(route.getPattern(), route.getMethods(), route.getAuthorities()))
+                .toList());
+        log.info("Compiled {} authorization routes", routes.size());
+    }
+
+    /**
+     * Decides whether the caller may send the request.
+     *
+     * @param authentication Supplies the caller's authentication, resolving the bearer token on first use.
+     * @param context        The request being authorized.
+     * @return A granted decision if the caller is authenticated and holds an authority the route accepts.
+     */
+    @Override
+    public AuthorizationResult authorize(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        final Authentication caller = authentication.get();
+        if (!trustResolver.isAuthenticated(caller)) {
+            return DENIED;
+        }
+        final HttpServletRequest request = context.getRequest();
+        final long required = routes.requiredAuthorities(request.getMethod(), path(request));
+        if (required == RouteTable.AUTHENTICATED || (routes.authorityMask(caller.getAuthorities()) & required) != 0) {
+            return GRANTED;
+        }
+        return DENIED;
+    }
+
+    /**
+     * @deprecated Spring Security calls {@link #authorize}; this only satisfies the interface.
+     */
+    @Override
+    @Deprecated
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        return (AuthorizationDecision) authorize(authentication, context);
+    }
+
+    /**
+     * @return The request path within the application, percent-decoded, as Spring MVC matches handlers on it.
+     */
+    static String path(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.indexOf('%') >= 0 ? UriUtils.decode(path, StandardCharsets.UTF_8) : path;
+    }
+}
@@ -1,14 +1,29 @@
 package com.myprojecticaro.poc_jwt_secure_access.config;
 
 import com.myprojecticaro.poc_jwt_secure_access.service.UserService;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.NegatedRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * <p>
@@ -25,16 +40,31 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
  * <p><b>Key Responsibilities:</b></p>
  * <ul>
  *     <li>Disable CSRF protection since JWT is used for stateless authentication.</li>
- *     <li>Allow unauthenticated access to <code>/auth/**</code> endpoints (for login/token generation).</li>
- *     <li>Require authentication for all other requests.</li>
+ *     <li>Allow unauthenticated access to <code>/auth/**</code> endpoints (for login/token generation),
+ *         except <code>/auth/revoke</code>, which needs the token being revoked, and
+ *         <code>/auth/introspect/**</code>.</li>
+ *     <li>Restrict token introspection to callers holding {@value #INTROSPECTION_AUTHORITY}, as RFC 7662
+ *         requires; otherwise anyone could test stolen or guessed tokens in bulk.</li>
+ *     <li>Allow unauthenticated access to the Actuator health endpoint for probes; metrics require a token.</li>
+ *     <li>Authorize all other requests through the compiled route table of {@link RouteAuthorizationManager}:
+ *         a valid token, plus one of the authorities configured for the route, if any.</li>
  *     <li>Set the session management policy to {@link SessionCreationPolicy#STATELESS}.</li>
- *     <li>Add the custom {@link JwtAuthenticationFilter} before Spring’s default {@link UsernamePasswordAuthenticationFilter}.</li>
+ *     <li>Check credentials against adaptive password hashes, re-hashing outdated ones on login.</li>
+ *     <li>Answer unauthenticated requests with a Bearer 401, and requests lacking a required authority
+ *         with a Bearer 403, via {@link JwtAuthenticationEntryPoint}.</li>
+ *     <li>Let error and async dispatches through, so a failed request is rendered with its own status and
+ *         a streamed response can complete; the request itself was already authorized.</li>
+ *     <li>Add the custom {@link JwtAuthenticationFilter} before Spring’s default {@link UsernamePasswordAuthenticationFilter};
+ *         it skips the public paths and defers token verification until the authentication is needed.</li>
  * </ul>
  *
  * <p><b>Example Behavior:</b></p>
  * <ul>
  *     <li><code>POST /auth/login</code> → Public (used to obtain JWT)</li>
+ *     <li><code>POST /auth/introspect/batch</code> → Requires a valid JWT carrying <code>ROLE_INTROSPECTION</code></li>
  *     <li><code>GET /api/secure-data</code> → Requires a valid JWT in the Authorization header</li>
+ *     <li><code>GET /actuator/metrics</code> → Requires a valid JWT carrying <code>ROLE_ADMIN</code>
+ *         (with the default <code>authorization.routes</code>)</li>
  * </ul>
  *
  * @see JwtAuthenticationFilter
@@ -45,47 +75,130 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @Configuration
 public class SecurityConfig {
 
+    private static final String BCRYPT = "bcrypt";
+    private static final String ARGON2 = "argon2";
+
+    /** Authority a caller needs to introspect tokens: the {@code INTROSPECTION} role of a service account. */
+    public static final String INTROSPECTION_AUTHORITY = "ROLE_INTROSPECTION";
+
+    /** Token introspection, restricted to {@link #INTROSPECTION_AUTHORITY} whatever the configured routes. */
+    static final RequestMatcher INTROSPECTION_PATHS = path("/auth/introspect/**");
+
+    /**
+     * Requests open to anyone: {@code /auth/**} except {@code /auth/revoke} and introspection, and the
+     * Actuator health endpoint.
+     * <p>
+     * Shared by the authorization rules and {@link JwtAuthenticationFilter#shouldNotFilter}, so a public
+     * request never has its {@code Authorization} header looked at.
+     * </p>
+     */
+    static final RequestMatcher PUBLIC_PATHS = new AndRequestMatcher(
+            new NegatedRequestMatcher(new OrRequestMatcher(path("/auth/revoke"), INTROSPECTION_PATHS)),
+            new OrRequestMatcher(path("/auth/**"), path("/actuator/health/**")));
+
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final JwtAuthenticationEntryPoint authenticationEntryPoint;
     private final UserService userService;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthFilter, UserService userService) {
+    /**
+     * Constructs a new {@code SecurityConfig} instance with the required dependencies.
+     *
+     * @param jwtAuthFilter            The JWT authentication filter that validates tokens.
+     * @param authenticationEntryPoint The entry point writing 401 and 403 responses.
+     * @param userService              The service used to load user details for authentication.
+     */
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthFilter,
+                          JwtAuthenticationEntryPoint authenticationEntryPoint,
+                          UserService userService) {
         this.jwtAuthFilter = jwtAuthFilter;
+        this.authenticationEntryPoint = authenticationEntryPoint;
         this.userService = userService;
     }
 
-      /**
-     * Constructs a new {@code SecurityConfig} instance with the required dependencies.
+    /**
+     * Configures the Spring Security filter chain.
+     * Defines which endpoints are secured, session policies, and filter order.
      *
-     * @param jwtAuthFilter The JWT authentication filter that validates tokens.
-     * @param userService   The service used to load user details for authentication.
+     * @param http                      The {@link HttpSecurity} instance used to configure security behavior.
+     * @param routeAuthorizationManager Authorizes every request that is neither public nor introspection.
+     * @return A configured {@link SecurityFilterChain} instance.
+     * @throws Exception If any configuration error occurs.
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   RouteAuthorizationManager routeAuthorizationManager) throws Exception {
         http
-            .csrf().disable()
-            .authorizeHttpRequests()
-            .requestMatchers("/auth/**").permitAll()
-            .anyRequest().authenticated()
-            .and()
-            .sessionManagement()
-            .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
-            .and()
+            .csrf(AbstractHttpConfigurer::disable)
+            .authorizeHttpRequests(authorize -> authorize
+                .dispatcherTypeMatchers(DispatcherType.ERROR, DispatcherType.ASYNC).permitAll()
+                .requestMatchers(INTROSPECTION_PATHS).hasAuthority(INTROSPECTION_AUTHORITY)
+                .requestMatchers(PUBLIC_PATHS).permitAll()
+                .anyRequest().access(routeAuthorizationManager))
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .exceptionHandling(exceptions -> exceptions
+                .authenticationEntryPoint(authenticationEntryPoint)
+                .accessDeniedHandler(authenticationEntryPoint))
             .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
 
-     /**
-     * Configures the Spring Security filter chain.
-     * Defines which endpoints are secured, session policies, and filter order.
+    /** Matches requests whose path fits the given pattern. */
+    private static RequestMatcher path(String pattern) {
+        return PathPatternRequestMatcher.withDefaults().matcher(pattern);
+    }
+
+    @Bean
+    public AuthenticationManager authenticationManager(PasswordEncoder passwordEncoder) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userService);
+        provider.setPasswordEncoder(passwordEncoder);
+        // Re-encodes a user's hash on successful login when it uses an older encoder or lower cost.
+        provider.setUserDetailsPasswordService(userService);
+        return new ProviderManager(provider);
+    }
+
+    /**
+     * Creates the password encoder used to check and store credentials.
+     * <p>
+     * New hashes use the encoder selected by {@code users.password.encoder}; stored hashes of any
+     * supported encoder ({@code {bcrypt}}, {@code {argon2}}) still match and are upgraded
+     * transparently on the next successful login. A hash with any other prefix, such as a legacy
+     * plaintext {@code {noop}} entry, never matches, so the login fails with bad credentials.
+     * </p>
      *
-     * @param http The {@link HttpSecurity} instance used to configure security behavior.
-     * @return A configured {@link SecurityFilterChain} instance.
-     * @throws Exception If any configuration error occurs.
+     * @param properties The user store configuration holding the hashing parameters.
+     * @return A delegating encoder keyed by the {@code {id}} prefix of each hash.
      */
     @Bean
-    public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
-        return config.getAuthenticationManager();
+    public PasswordEncoder passwordEncoder(UserStoreProperties properties) {
+        UserStoreProperties.Password password = properties.getPassword();
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT, new BCryptPasswordEncoder(password.getBcryptStrength()));
+        encoders.put(ARGON2, new Argon2PasswordEncoder(16, 32,
+                password.getArgon2Parallelism(), password.getArgon2Memory(), password.getArgon2Iterations()));
+
+        String idForEncode = switch (password.getEncoder()) {
+            case "bcrypt" -> BCRYPT;
+            case "argon2" -> ARGON2;
+            default -> throw new IllegalStateException("Unsupported users.password.encoder: " + password.getEncoder());
+        };
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(idForEncode, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(new UnsupportedHashEncoder());
+        return delegating;
+    }
+
+    /** Rejects stored hashes whose {@code {id}} has no encoder, instead of throwing from the login. */
+    private static final class UnsupportedHashEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            throw new UnsupportedOperationException("Passwords are never encoded without an {id}");
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return false;
+        }
     }
 }
 
@@ -0,0 +1,154 @@
+package com.myprojecticaro.poc_jwt_secure_access.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * <p>
+ * Externalized configuration for the user store, bound from the {@code users.*} properties.
+ * </p>
+ *
+ * <p><b>Example:</b></p>
+ * <pre>
+ * users.store=file
+ * users.file=./users.txt
+ * users.cache.max-size=10000
+ * users.cache.ttl=5m
+ * users.password.encoder=bcrypt
+ * users.password.bcrypt-strength=10
+ * </pre>
+ *
+ * @see com.myprojecticaro.poc_jwt_secure_access.repository.UserRepository
+ * @see com.myprojecticaro.poc_jwt_secure_access.service.UserService
+ */
+@ConfigurationProperties(prefix = "users")
+public class UserStoreProperties {
+
+    /** Which repository backs the users: {@code memory} or {@code file}. */
+    private String store = "memory";
+
+    /** Location of the user file when {@code store=file}. */
+    private String file = "users.txt";
+
+    private final Cache cache = new Cache();
+
+    private final Password password = new Password();
+
+    public String getStore() {
+        return store;
+    }
+
+    public void setStore(String store) {
+        this.store = store;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Password getPassword() {
+        return password;
+    }
+
+    /**
+     * Settings for the cache of loaded users.
+     */
+    public static class Cache {
+
+        /** Maximum number of users kept in memory. */
+        private long maxSize = 10_000;
+
+        /** How long a loaded user is served from memory before it is read from the store again. */
+        private Duration ttl = Duration.ofMinutes(5);
+
+        public long getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+
+    /**
+     * Settings for the adaptive password hash.
+     * <p>
+     * Raising a cost parameter does not invalidate stored hashes: each user's hash is
+     * re-encoded with the new parameters on their next successful login.
+     * </p>
+     */
+    public static class Password {
+
+        /** Encoder for new hashes: {@code bcrypt} or {@code argon2}. Hashes of other known encoders still match. */
+        private String encoder = "bcrypt";
+
+        /** BCrypt log2 work factor (4-31). */
+        private int bcryptStrength = 10;
+
+        /** Argon2id memory cost in KiB. */
+        private int argon2Memory = 19_456;
+
+        /** Argon2id number of passes. */
+        private int argon2Iterations = 2;
+
+        /** Argon2id degree of parallelism. */
+        private int argon2Parallelism = 1;
+
+        public String getEncoder() {
+            return encoder;
+        }
+
+        public void setEncoder(String encoder) {
+            this.encoder = encoder;
+        }
+
+        public int getBcryptStrength() {
+            return bcryptStrength;
+        }
+
+        public void setBcryptStrength(int bcryptStrength) {
+            this.bcryptStrength = bcryptStrength;
+        }
+
+        public int getArgon2Memory() {
+            return argon2Memory;
+        }
+
+        public void setArgon2Memory(int argon2Memory) {
+            this.argon2Memory = argon2Memory;
+        }
+
+        public int getArgon2Iterations() {
+            return argon2Iterations;
+        }
+
+        public void setArgon2Iterations(int argon2Iterations) {
+            this.argon2Iterations = argon2Iterations;
+        }
+
+        public int getArgon2Parallelism() {
+            return argon2Parallelism;
+        }
+
+        public void setArgon2Parallelism(int argon2Parallelism) {
+            this.argon2Parallelism = argon2Parallelism;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.myprojecticaro.poc_jwt_secure_access.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * <p>
+ * Externalized configuration for the warm-up run executed after startup and before the application
+ * reports ready, bound from the {@code warmup.*} properties.
+ * </p>
+ *
+ * <p>
+ * The warm-up first runs synthetic token issuance and validation cycles in process, then sends
+ * authenticated requests to the application's own port, until either count is reached or
+ * {@code warmup.max-duration} has elapsed. Synthetic tokens are issued for {@code warmup.username};
+ * the request phase only runs if that user exists.
+ * </p>
+ *
+ * <p><b>Example:</b></p>
+ * <pre>
+ * warmup.enabled=true
+ * warmup.max-duration=10s
+ * warmup.iterations=10000
+ * warmup.requests=2000
+ * warmup.username=admin
+ * warmup.path=/actuator/metrics
+ * </pre>
+ *
+ * @see com.myprojecticaro.poc_jwt_secure_access.service.WarmUpRunner
+ */
+@ConfigurationProperties(prefix = "warmup")
+public class WarmUpProperties {
+
+    /** Whether the warm-up runs before the application reports ready. */
+    private boolean enabled = true;
+
+    /** Upper bound on the whole warm-up, at most half of it for the token cycles; whatever is left undone is skipped. */
+    private Duration maxDuration = Duration.ofSeconds(10);
+
+    /** In-process cycles, each issuing and validating one JWS and one CWT token. */
+    private int iterations = 10_000;
+
+    /** Authenticated requests sent to the application's own port; 0 skips this phase. */
+    private int requests = 2_000;
+
+    /** User the synthetic tokens are issued for. */
+    private String username = "admin";
+
+    /** Secured path the warm-up requests are sent to. */
+    private String path = "/actuator/metrics";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getMaxDuration() {
+        return maxDuration;
+    }
+
+    public void setMaxDuration(Duration maxDuration) {
+        this.maxDuration = maxDuration;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public void setIterations(int iterations) {
+        this.iterations = iterations;
+    }
+
+    public int getRequests() {
+        return requests;
+    }
+
+    public void setRequests(int requests) {
+        this.requests = requests;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+}
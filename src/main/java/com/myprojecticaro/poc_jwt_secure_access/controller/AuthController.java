@@ -1,9 +1,41 @@
 package com.myprojecticaro.poc_jwt_secure_access.controller;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.myprojecticaro.poc_jwt_secure_access.dto.AuthRequest;
 import com.myprojecticaro.poc_jwt_secure_access.dto.AuthResponse;
+import com.myprojecticaro.poc_jwt_secure_access.dto.IntrospectionRequest;
+import com.myprojecticaro.poc_jwt_secure_access.dto.RefreshRequest;
+import com.myprojecticaro.poc_jwt_secure_access.service.AuditEventType;
+import com.myprojecticaro.poc_jwt_secure_access.service.AuditLog;
+import com.myprojecticaro.poc_jwt_secure_access.service.IntrospectionService;
 import com.myprojecticaro.poc_jwt_secure_access.service.JwtService;
+import com.myprojecticaro.poc_jwt_secure_access.service.LoginRateLimitedException;
+import com.myprojecticaro.poc_jwt_secure_access.service.LoginRateLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import com.myprojecticaro.poc_jwt_secure_access.util.KeyRing;
+import com.myprojecticaro.poc_jwt_secure_access.util.TokenFormat;
+import com.myprojecticaro.poc_jwt_secure_access.util.TokenStatus;
+import com.myprojecticaro.poc_jwt_secure_access.util.TokenValidation;
+import com.myprojecticaro.poc_jwt_secure_access.util.VerifiedToken;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * <p>
@@ -20,8 +52,13 @@ import org.springframework.web.bind.annotation.*;
  *
  * <p><b>Endpoints:</b></p>
  * <ul>
- *   <li><code>POST /auth/login</code> — Authenticates a user and returns a JWT token.</li>
+ *   <li><code>POST /auth/login</code> — Authenticates a user and returns a JWT token and a refresh token.</li>
+ *   <li><code>POST /auth/refresh</code> — Exchanges a refresh token for new tokens.</li>
+ *   <li><code>POST /auth/revoke</code> — Revokes the caller's access token (and optionally a refresh token); requires a valid token.</li>
  *   <li><code>GET /auth/check</code> — Returns a simple confirmation message indicating the service is up.</li>
+ *   <li><code>GET /auth/.well-known/jwks.json</code> — Publishes the public signing keys as a JWK Set.</li>
+ *   <li><code>POST /auth/introspect/batch</code> — Validates many tokens at once and streams one result per line;
+ *       requires a valid token carrying <code>ROLE_INTROSPECTION</code>.</li>
  * </ul>
  *
  * <p><b>Example Request:</b></p>
@@ -36,7 +73,9 @@ import org.springframework.web.bind.annotation.*;
  * <p><b>Example Response:</b></p>
  * <pre>
  * {
- *   "token": "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9..."
+ *   "token": "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...",
+ *   "refreshToken": "3q2-7wBv0x1r...",
+ *   "expiresIn": 300
  * }
  * </pre>
  *
@@ -48,27 +87,119 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/auth")
 public class AuthController {
 
+    /** How long clients and proxies may reuse the JWK Set; shorter than the key rotation interval. */
+    private static final CacheControl JWKS_CACHE_CONTROL = CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic();
+
+    private static final byte[] BATCH_TOO_LARGE_BODY =
+            "{\"error\":\"invalid_request\",\"error_description\":\"Too many tokens in one batch\"}"
+                    .getBytes(StandardCharsets.UTF_8);
+
+    /** Lower-case reason per {@link TokenStatus}, indexed by ordinal. */
+    private static final SerializedString[] REASONS = Arrays.stream(TokenStatus.values())
+            .map(status -> new SerializedString(status.name().toLowerCase(Locale.ROOT)))
+            .toArray(SerializedString[]::new);
+
     private final JwtService jwtService;
+    private final KeyRing keyRing;
+    private final IntrospectionService introspectionService;
+    private final LoginRateLimiter loginRateLimiter;
+    private final AuditLog auditLog;
+    private final JsonFactory jsonFactory;
 
      /**
      * Constructs a new {@code AuthController} instance.
      *
-     * @param jwtService The service responsible for authenticating users and generating JWT tokens.
+     * @param jwtService           The service responsible for authenticating users and generating JWT tokens.
+     * @param keyRing              The signing keys whose public halves are published as a JWK Set.
+     * @param introspectionService The service validating batches of tokens in parallel.
+     * @param loginRateLimiter     The per-user and per-client limit on login attempts.
+     * @param auditLog             The audit trail throttled logins are recorded in.
+     * @param objectMapper         The application's JSON mapper, whose factory writes the streamed results.
      */
-    public AuthController(JwtService jwtService) {
+    public AuthController(JwtService jwtService,
+                          KeyRing keyRing,
+                          IntrospectionService introspectionService,
+                          LoginRateLimiter loginRateLimiter,
+                          AuditLog auditLog,
+                          ObjectMapper objectMapper) {
         this.jwtService = jwtService;
+        this.keyRing = keyRing;
+        this.introspectionService = introspectionService;
+        this.loginRateLimiter = loginRateLimiter;
+        this.auditLog = auditLog;
+        this.jsonFactory = objectMapper.getFactory();
     }
 
      /**
      * Authenticates a user based on the provided credentials and returns a JWT token if valid.
+     * <p>
+     * The credential check runs on the dedicated login pool and the servlet thread is released
+     * while the password hash is verified. Attempts over the per-user or per-client rate limit are
+     * refused before any hashing. Failures are mapped by {@link AuthExceptionHandler}.
+     * </p>
+     * <p>
+     * The optional {@code tokenFormat} ({@code "jws"} or {@code "cwt"}) selects the access token encoding;
+     * an unknown value is answered with {@code 400 Bad Request}.
+     * </p>
      *
-     * @param request The authentication request containing the username and password.
-     * @return An {@link AuthResponse} object containing the generated JWT token.
+     * @param request     The authentication request containing the username and password.
+     * @param httpRequest The underlying request, whose remote address keys the per-client limit and is audited;
+     *                    behind a proxy it reflects {@code X-Forwarded-For} only with
+     *                    {@code server.forward-headers-strategy} set.
+     * @return A future completed with an {@link AuthResponse} containing the generated JWT token.
+     * @throws LoginRateLimitedException if the attempt exceeds a rate limit.
      */
     @PostMapping("/login")
-    public AuthResponse login(@RequestBody AuthRequest request) {
-        String token = jwtService.authenticate(request.getUsername(), request.getPassword());
-        return new AuthResponse(token);
+    public CompletableFuture<AuthResponse> login(@RequestBody AuthRequest request, HttpServletRequest httpRequest) {
+        final String clientAddress = httpRequest.getRemoteAddr();
+        long retryAfterMillis = loginRateLimiter.tryAcquire(request.getUsername(), clientAddress);
+        if (retryAfterMillis > 0) {
+            auditLog.record(AuditEventType.LOGIN_THROTTLED, request.getUsername(), clientAddress);
+            throw new LoginRateLimitedException(retryAfterMillis);
+        }
+        final TokenFormat format;
+        try {
+            format = TokenFormat.of(request.getTokenFormat());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported token format");
+        }
+        return jwtService.authenticateAsync(request.getUsername(), request.getPassword(), format, clientAddress);
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and a new refresh token.
+     * <p>
+     * No password is checked, so this runs on the request thread. The presented refresh
+     * token can no longer be used afterwards.
+     * </p>
+     *
+     * @param request     The refresh request containing the refresh token.
+     * @param httpRequest The underlying request, whose remote address is audited.
+     * @return An {@link AuthResponse} with the new tokens.
+     */
+    @PostMapping("/refresh")
+    public AuthResponse refresh(@RequestBody RefreshRequest request, HttpServletRequest httpRequest) {
+        return jwtService.refresh(request.getRefreshToken(), httpRequest.getRemoteAddr());
+    }
+
+    /**
+     * Revokes the access token used to call this endpoint and, optionally, a refresh token.
+     * <p>
+     * Requires a valid bearer token. Afterwards the access token is rejected with
+     * {@code invalid_token} ("revoked") until it expires, on this and every later request.
+     * </p>
+     *
+     * @param authorization The {@code Authorization} header carrying the access token to revoke.
+     * @param request       Optionally, the refresh token to revoke together with the access token.
+     * @param httpRequest   The underlying request, whose remote address is audited.
+     * @return {@code 204 No Content}.
+     */
+    @PostMapping("/revoke")
+    public ResponseEntity<Void> revoke(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization,
+                                       @RequestBody(required = false) RefreshRequest request,
+                                       HttpServletRequest httpRequest) {
+        jwtService.revoke(authorization, request != null ? request.getRefreshToken() : null, httpRequest.getRemoteAddr());
+        return ResponseEntity.noContent().build();
     }
 
     /**
@@ -80,4 +211,95 @@ public class AuthController {
     public String check() {
         return "Authentication service is up!";
     }
+
+    /**
+     * Publishes the public keys used to sign tokens, so other services can verify tokens locally.
+     * <p>
+     * The body is serialized once per key rotation; requests carrying a matching
+     * {@code If-None-Match} header receive {@code 304 Not Modified} without a body.
+     * </p>
+     *
+     * @param ifNoneMatch The entity tag the client already holds, if any.
+     * @return The JWK Set document, or a 304 response if it has not changed.
+     */
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<byte[]> jwks(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        KeyRing.JwksDocument jwks = keyRing.jwks();
+        if (jwks.etag().equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(jwks.etag())
+                    .cacheControl(JWKS_CACHE_CONTROL)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(jwks.etag())
+                .cacheControl(JWKS_CACHE_CONTROL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(jwks.body());
+    }
+
+    /**
+     * Validates a batch of tokens and streams one JSON result per token, in request order, as
+     * newline-delimited JSON.
+     * <p>
+     * Only callers holding {@code ROLE_INTROSPECTION} get here (see {@code SecurityConfig}).
+     * Tokens are validated in parallel chunks; each chunk is written and flushed as soon as it and
+     * all chunks before it are done. Batches larger than {@code jwt.introspection.max-batch-size}
+     * are refused with {@code 413 Payload Too Large}.
+     * </p>
+     *
+     * <p><b>Example Response:</b></p>
+     * <pre>
+     * {"active":true,"sub":"admin","exp":1760000000}
+     * {"active":false,"reason":"expired"}
+     * </pre>
+     *
+     * @param request The tokens to introspect, without the {@code Bearer } prefix.
+     * @return A streaming NDJSON body with one line per token.
+     */
+    @PostMapping("/introspect/batch")
+    public ResponseEntity<StreamingResponseBody> introspectBatch(@RequestBody IntrospectionRequest request) {
+        List<String> tokens = request.getTokens() != null ? request.getTokens() : List.of();
+        if (tokens.size() > introspectionService.maxBatchSize()) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> out.write(BATCH_TOO_LARGE_BODY));
+        }
+
+        List<CompletableFuture<TokenValidation[]>> chunks = introspectionService.introspect(tokens);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator json = jsonFactory.createGenerator(out)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .setRootValueSeparator(null)) {
+                for (CompletableFuture<TokenValidation[]> chunk : chunks) {
+                    for (TokenValidation validation : chunk.join()) {
+                        writeResult(json, validation);
+                    }
+                    json.flush();
+                }
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private static void writeResult(JsonGenerator json, TokenValidation validation) throws IOException {
+        json.writeStartObject();
+        json.writeBooleanField("active", validation.isValid());
+        if (validation.isValid()) {
+            VerifiedToken token = validation.token();
+            if (token.subject() != null) {
+                json.writeStringField("sub", token.subject());
+            }
+            if (token.expiration() != null) {
+                json.writeNumberField("exp", token.expiration().getEpochSecond());
+            }
+        } else {
+            json.writeFieldName("reason");
+            json.writeString(REASONS[validation.status().ordinal()]);
+        }
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
 }
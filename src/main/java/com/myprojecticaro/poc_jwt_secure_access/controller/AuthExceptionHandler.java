@@ -0,0 +1,108 @@
+package com.myprojecticaro.poc_jwt_secure_access.controller;
+
+import com.myprojecticaro.poc_jwt_secure_access.config.LoginProperties;
+import com.myprojecticaro.poc_jwt_secure_access.service.InvalidRefreshTokenException;
+import com.myprojecticaro.poc_jwt_secure_access.service.LoginRateLimitedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * <p>
+ * Maps login failures to compact JSON responses.
+ * </p>
+ *
+ * <p>
+ * Credential checks complete on the login pool, so their failures reach the client through
+ * Spring MVC's async handling rather than Spring Security's filters; this advice gives them the
+ * same pre-serialized treatment as rejected bearer tokens.
+ * </p>
+ *
+ * <ul>
+ *     <li>Bad credentials, unknown or disabled users → {@code 401 Unauthorized}</li>
+ *     <li>Unknown, expired or reused refresh token → {@code 401 Unauthorized} with {@code invalid_grant}</li>
+ *     <li>Invalid request parameters, such as an unknown token format → {@code 400 Bad Request}</li>
+ *     <li>Too many attempts for the user or from the client → {@code 429 Too Many Requests} with {@code Retry-After}</li>
+ *     <li>Login pool saturated → {@code 503 Service Unavailable} with {@code Retry-After}</li>
+ * </ul>
+ *
+ * @see AuthController#login
+ */
+@RestControllerAdvice
+public class AuthExceptionHandler {
+
+    private static final byte[] INVALID_CREDENTIALS_BODY =
+            "{\"error\":\"invalid_credentials\",\"error_description\":\"Bad username or password\"}"
+                    .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] INVALID_GRANT_BODY =
+            "{\"error\":\"invalid_grant\",\"error_description\":\"The refresh token is invalid, expired or revoked\"}"
+                    .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] INVALID_REQUEST_BODY =
+            "{\"error\":\"invalid_request\",\"error_description\":\"The request is missing or has an invalid parameter\"}"
+                    .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] RATE_LIMITED_BODY =
+            "{\"error\":\"slow_down\",\"error_description\":\"Too many login attempts\"}"
+                    .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] BUSY_BODY =
+            "{\"error\":\"temporarily_unavailable\",\"error_description\":\"Too many concurrent logins\"}"
+                    .getBytes(StandardCharsets.UTF_8);
+
+    private final String retryAfterSeconds;
+
+    /**
+     * @param properties The login configuration holding the {@code Retry-After} value.
+     */
+    public AuthExceptionHandler(LoginProperties properties) {
+        this.retryAfterSeconds = Long.toString(Math.max(1, properties.getRetryAfter().toSeconds()));
+    }
+
+    @ExceptionHandler(AuthenticationException.class)
+    public ResponseEntity<byte[]> invalidCredentials(AuthenticationException e) {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(INVALID_CREDENTIALS_BODY);
+    }
+
+    @ExceptionHandler(InvalidRefreshTokenException.class)
+    public ResponseEntity<byte[]> invalidRefreshToken(InvalidRefreshTokenException e) {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(INVALID_GRANT_BODY);
+    }
+
+    /**
+     * Answers directly rather than through the {@code /error} page, which requires authentication.
+     */
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<byte[]> invalidRequest(ResponseStatusException e) {
+        return ResponseEntity.status(e.getStatusCode())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(INVALID_REQUEST_BODY);
+    }
+
+    @ExceptionHandler(LoginRateLimitedException.class)
+    public ResponseEntity<byte[]> rateLimited(LoginRateLimitedException e) {
+        // Round up: retrying after a truncated delay would just be rejected again.
+        long seconds = Math.max(1, (e.getRetryAfterMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(seconds))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(RATE_LIMITED_BODY);
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<byte[]> loginPoolSaturated(RejectedExecutionException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(BUSY_BODY);
+    }
+}
@@ -2,11 +2,13 @@ package com.myprojecticaro.poc_jwt_secure_access.dto;
 
 /**
  * DTO used to receive authentication requests containing
- * username and password.
+ * username and password, and optionally the access token format
+ * ({@code "jws"}, the default, or {@code "cwt"}).
  */
 public class AuthRequest {
     private String username;
     private String password;
+    private String tokenFormat;
 
     public String getUsername() {
         return username;
@@ -23,5 +25,13 @@ public class AuthRequest {
     public void setPassword(String password) {
         this.password = password;
     }
+
+    public String getTokenFormat() {
+        return tokenFormat;
+    }
+
+    public void setTokenFormat(String tokenFormat) {
+        this.tokenFormat = tokenFormat;
+    }
 }
 
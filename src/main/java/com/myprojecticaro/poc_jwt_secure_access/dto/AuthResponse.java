@@ -1,18 +1,30 @@
 package com.myprojecticaro.poc_jwt_secure_access.dto;
 
 /**
- * DTO returned to the client after successful authentication,
- * containing the generated JWT token.
+ * DTO returned to the client after successful authentication or refresh,
+ * containing the generated JWT access token, the refresh token that renews it
+ * and the access token lifetime in seconds.
  */
 public class AuthResponse {
     private String token;
+    private String refreshToken;
+    private long expiresIn;
 
-    public AuthResponse(String token) {
+    public AuthResponse(String token, String refreshToken, long expiresIn) {
         this.token = token;
+        this.refreshToken = refreshToken;
+        this.expiresIn = expiresIn;
     }
 
     public String getToken() {
         return token;
     }
-}
 
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public long getExpiresIn() {
+        return expiresIn;
+    }
+}
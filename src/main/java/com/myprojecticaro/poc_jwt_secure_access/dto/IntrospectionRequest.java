@@ -0,0 +1,19 @@
+package com.myprojecticaro.poc_jwt_secure_access.dto;
+
+import java.util.List;
+
+/**
+ * DTO used to receive a batch of tokens to introspect,
+ * each without the {@code Bearer } prefix.
+ */
+public class IntrospectionRequest {
+    private List<String> tokens;
+
+    public List<String> getTokens() {
+        return tokens;
+    }
+
+    public void setTokens(List<String> tokens) {
+        this.tokens = tokens;
+    }
+}
@@ -0,0 +1,17 @@
+package com.myprojecticaro.poc_jwt_secure_access.dto;
+
+/**
+ * DTO used to receive a refresh request containing
+ * the refresh token obtained at login or at the previous refresh.
+ */
+public class RefreshRequest {
+    private String refreshToken;
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+}
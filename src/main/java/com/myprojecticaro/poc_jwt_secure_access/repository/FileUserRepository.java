@@ -0,0 +1,103 @@
+package com.myprojecticaro.poc_jwt_secure_access.repository;
+
+import com.myprojecticaro.poc_jwt_secure_access.config.UserStoreProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>
+ * {@link UserRepository} backed by a local text file, meant as a stand-in for a real user
+ * store in tests and local runs. Enabled with {@code users.store=file}.
+ * </p>
+ *
+ * <p><b>File format</b> ({@code users.file}), one account per line, {@code #} starts a comment:</p>
+ * <pre>
+ * # username:encoded-password:ROLE1,ROLE2
+ * admin:{bcrypt}$2a$10$UWXEN9uAqxbdNqmGQeRht.AX49WqaAEVkZRJM4Ytz.ACdXq4HDApC:ADMIN
+ * </pre>
+ *
+ * <p>
+ * The file is read once at startup. {@link #save(UserAccount)} updates memory and rewrites the
+ * file atomically.
+ * </p>
+ */
+@Repository
+@ConditionalOnProperty(name = "users.store", havingValue = "file")
+public class FileUserRepository implements UserRepository {
+
+    private final Path file;
+    private final Map<String, UserAccount> accounts = new ConcurrentHashMap<>();
+    /** Serializes file rewrites; a lock rather than {@code synchronized} so a virtual thread doing I/O does not pin its carrier. */
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    /**
+     * Loads all accounts from {@code users.file}.
+     *
+     * @param properties The user store configuration holding the file location.
+     * @throws UncheckedIOException if the file cannot be read.
+     * @throws IllegalStateException if a line is not in the expected format.
+     */
+    public FileUserRepository(UserStoreProperties properties) {
+        this.file = Path.of(properties.getFile());
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                String trimmed = line.strip();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = trimmed.split(":", 3);
+                if (parts.length != 3) {
+                    throw new IllegalStateException("Invalid line in " + file + ": expected username:password:roles");
+                }
+                String[] roles = parts[2].isBlank() ? new String[0] : parts[2].split(",");
+                for (int i = 0; i < roles.length; i++) {
+                    roles[i] = roles[i].strip();
+                }
+                UserAccount account = UserAccount.withRoles(parts[0], parts[1], roles);
+                accounts.put(account.username(), account);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read user file " + file, e);
+        }
+    }
+
+    @Override
+    public Optional<UserAccount> findByUsername(String username) {
+        return Optional.ofNullable(accounts.get(username));
+    }
+
+    @Override
+    public void save(UserAccount account) {
+        writeLock.lock();
+        try {
+            accounts.put(account.username(), account);
+            List<String> lines = new ArrayList<>();
+            for (UserAccount stored : accounts.values()) {
+                List<String> roles = stored.authorities().stream()
+                        .map(authority -> authority.getAuthority().replaceFirst("^ROLE_", ""))
+                        .toList();
+                lines.add(stored.username() + ":" + stored.password() + ":" + String.join(",", roles));
+            }
+            Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), "users", ".tmp");
+            Files.write(temp, lines, StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write user file " + file, e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+}
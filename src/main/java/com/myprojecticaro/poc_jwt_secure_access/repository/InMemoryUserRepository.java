@@ -0,0 +1,39 @@
+package com.myprojecticaro.poc_jwt_secure_access.repository;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * Default {@link UserRepository} holding accounts in memory for this Proof of Concept (POC).
+ * </p>
+ *
+ * <p>
+ * It is seeded with the user <b>admin</b> / <b>1234</b> with role <b>ADMIN</b>.
+ * </p>
+ */
+@Repository
+@ConditionalOnProperty(name = "users.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryUserRepository implements UserRepository {
+
+    private final Map<String, UserAccount> accounts = new ConcurrentHashMap<>();
+
+    public InMemoryUserRepository() {
+        // BCrypt hash of "1234" at cost 10; re-encoded on login if the configured encoder or cost differs.
+        save(UserAccount.withRoles("admin", "{bcrypt}$2a$10$UWXEN9uAqxbdNqmGQeRht.AX49WqaAEVkZRJM4Ytz.ACdXq4HDApC", "ADMIN"));
+    }
+
+    @Override
+    public Optional<UserAccount> findByUsername(String username) {
+        return Optional.ofNullable(accounts.get(username));
+    }
+
+    @Override
+    public void save(UserAccount account) {
+        accounts.put(account.username(), account);
+    }
+}
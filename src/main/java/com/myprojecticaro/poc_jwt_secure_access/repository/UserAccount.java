@@ -0,0 +1,77 @@
+package com.myprojecticaro.poc_jwt_secure_access.repository;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * <p>
+ * Immutable user record returned by a {@link UserRepository} and cached by
+ * {@link com.myprojecticaro.poc_jwt_secure_access.service.UserService}.
+ * </p>
+ *
+ * <p>
+ * Unlike Spring's {@code User}, this type does not implement {@code CredentialsContainer},
+ * so Spring Security cannot erase the password of a shared, cached instance after login.
+ * </p>
+ *
+ * @param username    The unique username.
+ * @param password    The encoded password, prefixed with its encoder id (e.g. {@code {bcrypt}}).
+ * @param authorities The granted authorities, e.g. {@code ROLE_ADMIN}.
+ */
+public record UserAccount(String username, String password, List<GrantedAuthority> authorities)
+        implements UserDetails {
+
+    public UserAccount {
+        authorities = List.copyOf(authorities);
+    }
+
+    /**
+     * Creates an account from role names, prefixing each with {@code ROLE_}.
+     *
+     * @param username The unique username.
+     * @param password The encoded password.
+     * @param roles    Role names without prefix, e.g. {@code ADMIN}.
+     * @return The new account.
+     */
+    public static UserAccount withRoles(String username, String password, String... roles) {
+        String[] prefixed = new String[roles.length];
+        for (int i = 0; i < roles.length; i++) {
+            prefixed[i] = roles[i].startsWith("ROLE_") ? roles[i] : "ROLE_" + roles[i];
+        }
+        return new UserAccount(username, password, AuthorityUtils.createAuthorityList(prefixed));
+    }
+
+    /**
+     * Returns a copy of this account with a different encoded password.
+     *
+     * @param encodedPassword The new encoded password.
+     * @return The updated account.
+     */
+    public UserAccount withPassword(String encodedPassword) {
+        return new UserAccount(username, encodedPassword, authorities);
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String toString() {
+        return "UserAccount[username=" + username + ", authorities=" + authorities + "]";
+    }
+}
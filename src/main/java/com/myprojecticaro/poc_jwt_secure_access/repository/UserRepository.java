@@ -0,0 +1,36 @@
+package com.myprojecticaro.poc_jwt_secure_access.repository;
+
+import java.util.Optional;
+
+/**
+ * <p>
+ * Backing store for user accounts.
+ * </p>
+ *
+ * <p>
+ * Implementations are selected with {@code users.store}: {@code memory} (default) uses
+ * {@link InMemoryUserRepository}, {@code file} uses {@link FileUserRepository}. A database or
+ * external identity provider can be plugged in by providing another bean of this type.
+ * Lookups are cached by {@link com.myprojecticaro.poc_jwt_secure_access.service.UserService},
+ * so implementations do not need to be fast, only thread-safe.
+ * </p>
+ *
+ * @see UserAccount
+ */
+public interface UserRepository {
+
+    /**
+     * Finds an account by username.
+     *
+     * @param username The username to look up.
+     * @return The account, or {@link Optional#empty()} if it does not exist.
+     */
+    Optional<UserAccount> findByUsername(String username);
+
+    /**
+     * Creates or replaces an account.
+     *
+     * @param account The account to store.
+     */
+    void save(UserAccount account);
+}
@@ -0,0 +1,87 @@
+package com.myprojecticaro.poc_jwt_secure_access.service;
+
+import com.myprojecticaro.poc_jwt_secure_access.util.RefreshTokenStore;
+import com.myprojecticaro.poc_jwt_secure_access.util.TokenFormat;
+import com.myprojecticaro.poc_jwt_secure_access.util.TokenStatus;
+
+import java.util.Locale;
+import java.util.function.IntFunction;
+
+/**
+ * Kind of an authentication event in the audit trail.
+ * <p>
+ * Each type is stored as its one-byte {@link #code()}, which never changes once written to disk, and
+ * carries a one-byte detail whose meaning depends on the type: the token format of an issued token,
+ * or the reason a token was rejected. The detail is the {@code code()} of that enum, which is just as
+ * stable, so reordering or extending an enum never changes the meaning of recorded events.
+ * </p>
+ *
+ * @see AuditLog
+ */
+public enum AuditEventType {
+
+    /** Credentials accepted and an access token issued; detail: {@link TokenFormat}. */
+    LOGIN_SUCCEEDED(1, TokenFormat::ofCode),
+
+    /** Credentials rejected. */
+    LOGIN_FAILED(2, null),
+
+    /** Login refused by the rate limiter before the credentials were checked. */
+    LOGIN_THROTTLED(3, null),
+
+    /** Refresh token rotated and a new access token issued; detail: {@link TokenFormat}. */
+    TOKEN_REFRESHED(4, TokenFormat::ofCode),
+
+    /** Refresh token refused; detail: {@link RefreshTokenStore.Status}. */
+    REFRESH_REJECTED(5, RefreshTokenStore.Status::ofCode),
+
+    /** Bearer token rejected on a secured request; detail: {@link TokenStatus}. */
+    TOKEN_REJECTED(6, TokenStatus::ofCode),
+
+    /** Access token revoked by its owner. */
+    TOKEN_REVOKED(7, null);
+
+    private static final AuditEventType[] BY_CODE = new AuditEventType[8];
+
+    static {
+        for (AuditEventType type : values()) {
+            BY_CODE[type.code] = type;
+        }
+    }
+
+    private final byte code;
+    private final IntFunction<? extends Enum<?>> details;
+
+    AuditEventType(int code, IntFunction<? extends Enum<?>> details) {
+        this.code = (byte) code;
+        this.details = details;
+    }
+
+    /**
+     * @return The stable on-disk code of this type.
+     */
+    public byte code() {
+        return code;
+    }
+
+    /**
+     * Names a detail value of this type, as written by the exporter.
+     *
+     * @param detail The stored detail.
+     * @return The lower-case name of the detail, or {@code null} if this type has no detail or the value is unknown.
+     */
+    public String detailName(int detail) {
+        Enum<?> value = details != null ? details.apply(detail) : null;
+        return value != null ? value.name().toLowerCase(Locale.ROOT) : null;
+    }
+
+    /**
+     * Looks up a type by its on-disk code.
+     *
+     * @param code The stored code.
+     * @return The type, or {@code null} if the code is unknown (or {@code 0}, which marks unused space).
+     */
+    public static AuditEventType ofCode(int code) {
+        return code > 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+}
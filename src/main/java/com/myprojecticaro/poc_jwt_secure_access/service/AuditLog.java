@@ -0,0 +1,218 @@
+package com.myprojecticaro.poc_jwt_secure_access.service;
+
+import com.myprojecticaro.poc_jwt_secure_access.config.AuditProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <p>
+ * Asynchronous audit trail of authentication events: logins, token issuance, refreshes,
+ * revocations and rejected tokens.
+ * </p>
+ *
+ * <p>
+ * {@link #record} never blocks and never touches the file system. It copies the event into a
+ * preallocated slot of a lock-free {@link AuditRingBuffer} as a fixed-size binary record, with no
+ * allocation and no lock. A single {@code audit-writer} thread drains the ring in batches into
+ * memory-mapped, size-rotated segment files ({@link AuditSegmentWriter}) and forces them to disk
+ * every {@code audit.flush-interval}. While the ring is empty the writer stays parked until the next
+ * event or flush, so an idle service does not wake it. If the writer falls behind and the ring fills up, new events are
+ * dropped and counted in {@code auth.audit.dropped} rather than slowing requests down.
+ * </p>
+ *
+ * <p><b>Meters:</b></p>
+ * <ul>
+ *     <li>{@code auth.audit.written} — events written to a segment.</li>
+ *     <li>{@code auth.audit.dropped} — events lost because the ring was full or the file could not be written.</li>
+ *     <li>{@code auth.audit.backlog} — events waiting for the writer.</li>
+ * </ul>
+ *
+ * <p>
+ * Segments are read back with {@link AuditLogReader}. With {@code audit.enabled=false} recording is a no-op.
+ * </p>
+ *
+ * @see AuditProperties
+ * @see AuditEventType
+ */
+@Component
+public class AuditLog {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLog.class);
+
+    /** Records drained before the writer checks whether a flush is due. */
+    private static final int BATCH_SIZE = 4096;
+
+    private final AuditRingBuffer ring;
+    private final AuditSegmentWriter writer;
+    private final Thread writerThread;
+    private final long flushIntervalNanos;
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private volatile boolean running = true;
+
+    /** Set by the writer before it parks on an empty ring, so {@link #record} knows to wake it. */
+    private volatile boolean writerIdle;
+
+    /** Set by the writer thread once a segment cannot be written; only read by that thread. */
+    private boolean writeFailed;
+
+    /**
+     * Opens the first segment and starts the writer thread, unless auditing is disabled.
+     *
+     * @param properties The audit configuration.
+     * @param registry   The registry the audit meters are published to.
+     * @throws IllegalStateException if the audit directory or segment cannot be created.
+     */
+    public AuditLog(AuditProperties properties, MeterRegistry registry) {
+        this.flushIntervalNanos = properties.getFlushInterval().toNanos();
+        if (!properties.isEnabled()) {
+            this.ring = null;
+            this.writer = null;
+            this.writerThread = null;
+            return;
+        }
+        this.ring = new AuditRingBuffer(properties.getBufferSize());
+        try {
+            this.writer = new AuditSegmentWriter(Path.of(properties.getDir()), properties.getSegmentSize().toBytes());
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot open audit log in " + properties.getDir(), e);
+        }
+        FunctionCounter.builder("auth.audit.written", written, LongAdder::sum)
+                .description("Audit events written to a segment")
+                .register(registry);
+        FunctionCounter.builder("auth.audit.dropped", this, AuditLog::dropped)
+                .description("Audit events lost because the buffer was full or the file could not be written")
+                .register(registry);
+        Gauge.builder("auth.audit.backlog", ring, AuditRingBuffer::backlog)
+                .description("Audit events waiting for the writer")
+                .register(registry);
+        this.writerThread = new Thread(this::run, "audit-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+        log.info("Writing audit log to {}", writer.currentSegment());
+    }
+
+    /**
+     * Records an authentication event. Never blocks; the event is dropped if the buffer is full.
+     *
+     * @param type          The kind of event.
+     * @param detail        The type-specific detail, for example the {@link com.myprojecticaro.poc_jwt_secure_access.util.TokenStatus#code() code}
+     *                      of a token status; {@code 0} if none.
+     * @param username      The user concerned, or {@code null} if unknown; truncated to 64 bytes.
+     * @param clientAddress The client's address, or {@code null} if unknown; truncated to 40 bytes.
+     */
+    public void record(AuditEventType type, int detail, String username, String clientAddress) {
+        if (ring != null && ring.offer(System.currentTimeMillis(), type, detail, username, clientAddress)
+                && writerIdle) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    /**
+     * Records an authentication event without a detail.
+     *
+     * @param type          The kind of event.
+     * @param username      The user concerned, or {@code null} if unknown.
+     * @param clientAddress The client's address, or {@code null} if unknown.
+     */
+    public void record(AuditEventType type, String username, String clientAddress) {
+        record(type, 0, username, clientAddress);
+    }
+
+    private long dropped() {
+        return ring.dropped() + failed.sum();
+    }
+
+    private void run() {
+        AuditRingBuffer.Sink sink = this::write;
+        long nextFlush = System.nanoTime() + flushIntervalNanos;
+        boolean dirty = false;
+        while (true) {
+            int drained = ring.drain(sink, BATCH_SIZE);
+            dirty |= drained > 0;
+            if (dirty && System.nanoTime() - nextFlush >= 0) {
+                flush();
+                dirty = false;
+                nextFlush = System.nanoTime() + flushIntervalNanos;
+            }
+            if (drained == 0) {
+                if (!running) {
+                    break;
+                }
+                awaitRecords(dirty, nextFlush);
+            }
+        }
+        try {
+            writer.close();
+        } catch (IOException | UncheckedIOException e) {
+            log.error("Cannot close audit log segment {}", writer.currentSegment(), e);
+        }
+    }
+
+    /**
+     * Parks until {@link #record} or {@link #close} wakes the writer, or until the next flush is due
+     * when there is unflushed data. The claim counter is checked after raising the flag, and producers
+     * claim before reading it, so an event recorded concurrently either is seen here or wakes the writer.
+     */
+    private void awaitRecords(boolean dirty, long nextFlush) {
+        writerIdle = true;
+        if (ring.backlog() != 0) {
+            // Claimed but not yet published; the producer is writing the record.
+            Thread.onSpinWait();
+        } else if (running) {
+            if (dirty) {
+                LockSupport.parkNanos(this, nextFlush - System.nanoTime());
+            } else {
+                LockSupport.park(this);
+            }
+        }
+        writerIdle = false;
+    }
+
+    private void write(byte[] records, int offset) {
+        if (writeFailed) {
+            failed.increment();
+            return;
+        }
+        try {
+            writer.accept(records, offset);
+            written.increment();
+        } catch (UncheckedIOException e) {
+            // Typically a full disk; keep draining so request threads are never held up.
+            writeFailed = true;
+            failed.increment();
+            log.error("Cannot write audit log in {}; further events are dropped", writer.currentSegment(), e);
+        }
+    }
+
+    private void flush() {
+        if (!writeFailed) {
+            writer.force();
+        }
+    }
+
+    /**
+     * Stops the writer after it has drained and flushed every recorded event.
+     */
+    @PreDestroy
+    void close() throws InterruptedException {
+        if (writerThread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writerThread);
+        writerThread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+}
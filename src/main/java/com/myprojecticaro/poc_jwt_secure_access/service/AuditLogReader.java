@@ -0,0 +1,197 @@
+package com.myprojecticaro.poc_jwt_secure_access.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * <p>
+ * Reads the audit segments written by {@link AuditLog}, and exports them as newline-delimited JSON
+ * when run on its own.
+ * </p>
+ *
+ * <p><b>Usage:</b></p>
+ * <pre>
+ * ./gradlew auditExport -PauditArgs="audit --type=login_failed --since=2025-01-01T00:00:00Z"
+ * java -cp app.jar -Dloader.main=com.myprojecticaro.poc_jwt_secure_access.service.AuditLogReader \
+ *      org.springframework.boot.loader.launch.PropertiesLauncher audit --user=admin
+ * </pre>
+ *
+ * <p><b>Example Output:</b></p>
+ * <pre>
+ * {"seq":41,"time":"2025-10-17T08:00:01.123Z","type":"login_failed","user":"admin","client":"10.0.0.7"}
+ * {"seq":42,"time":"2025-10-17T08:00:03.456Z","type":"token_rejected","detail":"expired","client":"10.0.0.9"}
+ * </pre>
+ *
+ * @see AuditRecord
+ */
+public final class AuditLogReader {
+
+    /**
+     * A decoded audit event.
+     *
+     * @param sequence      The per-process sequence number.
+     * @param timestamp     When the event was recorded.
+     * @param type          The kind of event.
+     * @param detail        The type-specific detail; see {@link AuditEventType}.
+     * @param username      The user concerned, or {@code null}.
+     * @param clientAddress The client's address, or {@code null}.
+     */
+    public record Event(long sequence, Instant timestamp, AuditEventType type, int detail,
+                        String username, String clientAddress) {
+
+        /**
+         * @return The name of the detail, or {@code null} if the type has none.
+         */
+        public String detailName() {
+            return type.detailName(detail);
+        }
+    }
+
+    private AuditLogReader() {
+    }
+
+    /**
+     * Reads every event of every segment in {@code dir}, oldest segment first.
+     *
+     * @param dir      The audit directory.
+     * @param consumer Receives the events in write order.
+     * @throws IOException if a segment cannot be read or is not an audit segment.
+     */
+    public static void read(Path dir, Consumer<Event> consumer) throws IOException {
+        List<Path> segments;
+        try (Stream<Path> files = Files.list(dir)) {
+            segments = files.filter(AuditSegmentWriter::isSegment).sorted().toList();
+        }
+        for (Path segment : segments) {
+            readSegment(segment, consumer);
+        }
+    }
+
+    /**
+     * Reads the events of one segment, up to its first unused record.
+     *
+     * @param segment  The segment file.
+     * @param consumer Receives the events in write order.
+     * @throws IOException if the file cannot be read or is not an audit segment.
+     */
+    public static void readSegment(Path segment, Consumer<Event> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.limit() < AuditRecord.SIZE
+                    || buffer.getInt(0) != AuditRecord.MAGIC
+                    || buffer.getShort(4) != AuditRecord.VERSION
+                    || buffer.getShort(6) != AuditRecord.SIZE) {
+                throw new IOException("Not an audit segment: " + segment);
+            }
+            for (int offset = AuditRecord.SIZE; offset + AuditRecord.SIZE <= buffer.limit(); offset += AuditRecord.SIZE) {
+                AuditEventType type = AuditEventType.ofCode(buffer.get(offset + AuditRecord.TYPE));
+                if (type == null) {
+                    break;
+                }
+                consumer.accept(new Event(
+                        buffer.getLong(offset + AuditRecord.SEQUENCE),
+                        Instant.ofEpochMilli(buffer.getLong(offset + AuditRecord.TIMESTAMP)),
+                        type,
+                        buffer.get(offset + AuditRecord.DETAIL) & 0xFF,
+                        AuditRecord.readText(buffer, offset, AuditRecord.USERNAME_LENGTH, AuditRecord.USERNAME),
+                        AuditRecord.readText(buffer, offset, AuditRecord.ADDRESS_LENGTH, AuditRecord.ADDRESS)));
+            }
+        }
+    }
+
+    /**
+     * Exports the audit directory given as first argument to standard output as NDJSON.
+     * <p>
+     * Options: {@code --type=<event type>}, {@code --user=<username>}, {@code --since=<ISO-8601 instant>}.
+     * </p>
+     *
+     * @param args The directory followed by the options.
+     * @throws IOException if the directory cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: AuditLogReader <dir> [--type=login_failed] [--user=name] [--since=2025-01-01T00:00:00Z]");
+            System.exit(2);
+        }
+        AuditEventType type = null;
+        String user = null;
+        Instant since = Instant.EPOCH;
+        for (int i = 1; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.startsWith("--type=")) {
+                type = AuditEventType.valueOf(arg.substring(7).toUpperCase(Locale.ROOT));
+            } else if (arg.startsWith("--user=")) {
+                user = arg.substring(7);
+            } else if (arg.startsWith("--since=")) {
+                since = Instant.parse(arg.substring(8));
+            } else {
+                throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        export(Path.of(args[0]), type, user, since, System.out);
+    }
+
+    /**
+     * Writes the matching events of an audit directory as NDJSON.
+     *
+     * @param dir   The audit directory.
+     * @param type  Only events of this type, or {@code null} for all.
+     * @param user  Only events of this user, or {@code null} for all.
+     * @param since Only events recorded at or after this instant.
+     * @param out   The stream to write to; flushed but not closed.
+     * @throws IOException if the directory cannot be read or the output cannot be written.
+     */
+    static void export(Path dir, AuditEventType type, String user, Instant since, OutputStream out) throws IOException {
+        try (JsonGenerator json = new JsonFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setRootValueSeparator(null)) {
+            try {
+                read(dir, event -> {
+                    if ((type == null || event.type() == type)
+                            && (user == null || user.equals(event.username()))
+                            && !event.timestamp().isBefore(since)) {
+                        write(json, event);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private static void write(JsonGenerator json, Event event) {
+        try {
+            json.writeStartObject();
+            json.writeNumberField("seq", event.sequence());
+            json.writeStringField("time", event.timestamp().toString());
+            json.writeStringField("type", event.type().name().toLowerCase(Locale.ROOT));
+            if (event.detailName() != null) {
+                json.writeStringField("detail", event.detailName());
+            }
+            if (event.username() != null) {
+                json.writeStringField("user", event.username());
+            }
+            if (event.clientAddress() != null) {
+                json.writeStringField("client", event.clientAddress());
+            }
+            json.writeEndObject();
+            json.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
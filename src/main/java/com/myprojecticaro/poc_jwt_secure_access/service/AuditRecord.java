@@ -0,0 +1,136 @@
+package com.myprojecticaro.poc_jwt_secure_access.service;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <p>
+ * Binary layout of one audit event: a fixed {@value #SIZE}-byte record, big-endian.
+ * </p>
+ *
+ * <pre>
+ *   0  long   timestamp, epoch milliseconds
+ *   8  long   sequence number, per process
+ *  16  byte   {@link AuditEventType#code()}; 0 marks unused space at the end of a segment
+ *  17  byte   detail
+ *  18  byte   username length
+ *  19  byte   client address length
+ *  20  4      reserved
+ *  24  64     username, UTF-8, truncated at a character boundary
+ *  88  40     client address, UTF-8
+ * </pre>
+ *
+ * <p>
+ * Segment files start with a header of the same size: the magic {@code "AUDT"}, a format version,
+ * the record size and the creation time. Fixed-size records let the writer copy events without
+ * framing and the reader seek by index.
+ * </p>
+ *
+ * @see AuditLog
+ * @see AuditLogReader
+ */
+final class AuditRecord {
+
+    static final int SIZE = 128;
+
+    static final int MAGIC = 0x41554454;
+    static final short VERSION = 1;
+
+    static final int TIMESTAMP = 0;
+    static final int SEQUENCE = 8;
+    static final int TYPE = 16;
+    static final int DETAIL = 17;
+    static final int USERNAME_LENGTH = 18;
+    static final int ADDRESS_LENGTH = 19;
+    static final int USERNAME = 24;
+    static final int MAX_USERNAME = 64;
+    static final int ADDRESS = 88;
+    static final int MAX_ADDRESS = 40;
+
+    private static final VarHandle LONG_VIEW =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private AuditRecord() {
+    }
+
+    /**
+     * Writes an event into {@code target} at {@code offset} without allocating.
+     */
+    static void write(byte[] target, int offset, long sequence, long timestamp,
+                      AuditEventType type, int detail, String username, String address) {
+        LONG_VIEW.set(target, offset + TIMESTAMP, timestamp);
+        LONG_VIEW.set(target, offset + SEQUENCE, sequence);
+        target[offset + TYPE] = type.code();
+        target[offset + DETAIL] = (byte) detail;
+        target[offset + USERNAME_LENGTH] = (byte) utf8(username, target, offset + USERNAME, MAX_USERNAME);
+        target[offset + ADDRESS_LENGTH] = (byte) utf8(address, target, offset + ADDRESS, MAX_ADDRESS);
+    }
+
+    /**
+     * Writes the segment header into {@code target}.
+     */
+    static void writeHeader(ByteBuffer target, long createdAt) {
+        target.putInt(0, MAGIC);
+        target.putShort(4, VERSION);
+        target.putShort(6, (short) SIZE);
+        target.putLong(8, createdAt);
+    }
+
+    /**
+     * Encodes as much of {@code value} as fits in {@code max} bytes, never splitting a character.
+     * Surrogate pairs are replaced by {@code '?'}.
+     *
+     * @return The number of bytes written; {@code 0} for {@code null}.
+     */
+    private static int utf8(String value, byte[] target, int offset, int max) {
+        if (value == null) {
+            return 0;
+        }
+        int position = offset;
+        int end = offset + max;
+        for (int i = 0, length = value.length(); i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (position + 1 > end) {
+                    break;
+                }
+                target[position++] = (byte) c;
+            } else if (c < 0x800) {
+                if (position + 2 > end) {
+                    break;
+                }
+                target[position++] = (byte) (0xC0 | c >> 6);
+                target[position++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                if (position + 1 > end) {
+                    break;
+                }
+                target[position++] = '?';
+            } else {
+                if (position + 3 > end) {
+                    break;
+                }
+                target[position++] = (byte) (0xE0 | c >> 12);
+                target[position++] = (byte) (0x80 | c >> 6 & 0x3F);
+                target[position++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+        return position - offset;
+    }
+
+    /**
+     * Decodes a string field of the record at {@code offset} in {@code source}.
+     */
+    static String readText(ByteBuffer source, int offset, int lengthField, int field) {
+        int length = source.get(offset + lengthField) & 0xFF;
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        source.get(offset + field, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
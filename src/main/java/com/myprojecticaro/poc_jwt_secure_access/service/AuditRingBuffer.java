@@ -0,0 +1,118 @@
+package com.myprojecticaro.poc_jwt_secure_access.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * Bounded, lock-free multi-producer single-consumer ring of fixed-size audit records.
+ * </p>
+ *
+ * <p>
+ * Records live in one preallocated byte array. A producer claims a sequence number with a CAS on
+ * the head, writes its record into the slot for that sequence, and publishes it by storing the
+ * sequence in the slot's marker with release semantics. The consumer reads slots in sequence order
+ * while their marker matches, then releases them by advancing the tail. Producers never wait: when
+ * the ring is full the event is dropped and counted.
+ * </p>
+ *
+ * @see AuditLog
+ */
+final class AuditRingBuffer {
+
+    /**
+     * Receives published records; the bytes are only valid during the call.
+     */
+    @FunctionalInterface
+    interface Sink {
+        void accept(byte[] records, int offset);
+    }
+
+    private final int capacity;
+    private final int mask;
+    private final byte[] records;
+
+    /** Per slot, the sequence of the record last published in it. */
+    private final AtomicLongArray published;
+
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * @param capacity The number of records held; rounded up to a power of two.
+     */
+    AuditRingBuffer(int capacity) {
+        this.capacity = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1);
+        this.mask = this.capacity - 1;
+        this.records = new byte[this.capacity * AuditRecord.SIZE];
+        this.published = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            published.set(i, -1);
+        }
+    }
+
+    /**
+     * Publishes an event, or drops it if the ring is full. Safe to call from any thread.
+     *
+     * @return {@code false} if the event was dropped.
+     */
+    boolean offer(long timestamp, AuditEventType type, int detail, String username, String address) {
+        long sequence;
+        do {
+            sequence = head.get();
+            if (sequence - tail.get() >= capacity) {
+                dropped.increment();
+                return false;
+            }
+        } while (!head.compareAndSet(sequence, sequence + 1));
+
+        int slot = (int) sequence & mask;
+        AuditRecord.write(records, slot * AuditRecord.SIZE, sequence, timestamp, type, detail, username, address);
+        published.setRelease(slot, sequence);
+        return true;
+    }
+
+    /**
+     * Hands up to {@code max} published records to {@code sink}, in sequence order, then frees their slots.
+     * Must only be called by the single consumer.
+     *
+     * @return The number of records drained.
+     */
+    int drain(Sink sink, int max) {
+        long next = tail.get();
+        int drained = 0;
+        while (drained < max) {
+            int slot = (int) next & mask;
+            if (published.getAcquire(slot) != next) {
+                break;
+            }
+            sink.accept(records, slot * AuditRecord.SIZE);
+            next++;
+            drained++;
+        }
+        if (drained > 0) {
+            tail.setRelease(next);
+        }
+        return drained;
+    }
+
+    /**
+     * @return The number of records claimed but not yet drained.
+     */
+    long backlog() {
+        return head.get() - tail.get();
+    }
+
+    /**
+     * @return The number of events dropped because the ring was full.
+     */
+    long dropped() {
+        return dropped.sum();
+    }
+
+    int capacity() {
+        return capacity;
+    }
+}
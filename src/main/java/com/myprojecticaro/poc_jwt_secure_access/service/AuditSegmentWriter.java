@@ -0,0 +1,131 @@
+package com.myprojecticaro.poc_jwt_secure_access.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * <p>
+ * Appends audit records to memory-mapped segment files, starting a new segment when the current one
+ * is full. Used by the single audit writer thread only.
+ * </p>
+ *
+ * <p>
+ * Segments are named {@code audit-<index>.seg} with a zero-padded, increasing index, so their names
+ * sort in write order. Each run of the application starts a new segment after the highest existing
+ * one; a segment is never reopened for writing. The file is mapped at its full size up front, so
+ * unused space at the end of a segment reads as zeros, which the reader treats as its end.
+ * </p>
+ *
+ * @see AuditLogReader
+ */
+final class AuditSegmentWriter implements AuditRingBuffer.Sink, Closeable {
+
+    static final String PREFIX = "audit-";
+    static final String SUFFIX = ".seg";
+
+    private final Path dir;
+    private final long segmentBytes;
+
+    private long index;
+    private FileChannel channel;
+    private MappedByteBuffer mapped;
+    private int position;
+
+    /**
+     * Opens the first segment of this run.
+     *
+     * @param dir          The directory holding the segments; created if missing.
+     * @param segmentBytes The size of each segment, rounded down to whole records (at least one).
+     * @throws IOException if the directory or the segment cannot be created.
+     */
+    AuditSegmentWriter(Path dir, long segmentBytes) throws IOException {
+        this.dir = dir;
+        long records = Math.min(Integer.MAX_VALUE / AuditRecord.SIZE, Math.max(2, segmentBytes / AuditRecord.SIZE));
+        this.segmentBytes = records * AuditRecord.SIZE;
+        Files.createDirectories(dir);
+        this.index = lastIndex(dir);
+        openNext();
+    }
+
+    @Override
+    public void accept(byte[] records, int offset) {
+        if (position + AuditRecord.SIZE > segmentBytes) {
+            try {
+                rotate();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        mapped.put(position, records, offset, AuditRecord.SIZE);
+        position += AuditRecord.SIZE;
+    }
+
+    /**
+     * Forces the records written so far to the storage device.
+     */
+    void force() {
+        mapped.force();
+    }
+
+    /**
+     * @return The segment currently written to.
+     */
+    Path currentSegment() {
+        return segmentPath(dir, index);
+    }
+
+    @Override
+    public void close() throws IOException {
+        mapped.force();
+        channel.close();
+    }
+
+    private void rotate() throws IOException {
+        close();
+        openNext();
+    }
+
+    private void openNext() throws IOException {
+        index++;
+        channel = FileChannel.open(segmentPath(dir, index),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        AuditRecord.writeHeader(mapped, System.currentTimeMillis());
+        position = AuditRecord.SIZE;
+    }
+
+    static Path segmentPath(Path dir, long index) {
+        return dir.resolve(String.format(Locale.ROOT, "%s%012d%s", PREFIX, index, SUFFIX));
+    }
+
+    static boolean isSegment(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+    }
+
+    private static long lastIndex(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(AuditSegmentWriter::isSegment)
+                    .map(file -> file.getFileName().toString())
+                    .mapToLong(name -> parseIndex(name.substring(PREFIX.length(), name.length() - SUFFIX.length())))
+                    .max()
+                    .orElse(0);
+        }
+    }
+
+    private static long parseIndex(String digits) {
+        try {
+            return Long.parseLong(digits);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.myprojecticaro.poc_jwt_secure_access.service;
+
+import com.myprojecticaro.poc_jwt_secure_access.config.JwtProperties;
+import com.myprojecticaro.poc_jwt_secure_access.util.CwtUtil;
+import com.myprojecticaro.poc_jwt_secure_access.util.JwtUtil;
+import com.myprojecticaro.poc_jwt_secure_access.util.TokenFormat;
+import com.myprojecticaro.poc_jwt_secure_access.util.TokenStatus;
+import com.myprojecticaro.poc_jwt_secure_access.util.TokenValidation;
+import jakarta.annotation.PreDestroy;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ * Validates batches of tokens in parallel for {@code POST /auth/introspect/batch}.
+ * </p>
+ *
+ * <p>
+ * A batch is split into fixed-size chunks ({@code jwt.introspection.chunk-size}); each chunk is
+ * one task on a dedicated pool and goes through {@link JwtUtil#validate(String)} (or
+ * {@link CwtUtil#validate(String)} for CWTs), so the
+ * precheck and the verified-token cache apply exactly as they do for single requests. Chunks
+ * complete independently, letting the caller stream earlier results while later ones are still
+ * being verified.
+ * </p>
+ *
+ * <p>
+ * The pool's queue is bounded; when it is full the submitting thread validates the chunk itself,
+ * which throttles large batches instead of letting them pile up unbounded work.
+ * </p>
+ *
+ * <p>
+ * Introspection reports on the token only: it does not check that the subject still exists.
+ * </p>
+ *
+ * @see JwtUtil#validate(String)
+ */
+@Service
+public class IntrospectionService {
+
+    private final JwtUtil jwtUtil;
+    private final CwtUtil cwtUtil;
+    private final int maxBatchSize;
+    private final int chunkSize;
+    private final ThreadPoolExecutor executor;
+    private final Executor securityContextExecutor;
+
+    /**
+     * Constructs the service and its validation pool.
+     *
+     * @param jwtUtil    The utility validating each JWS token.
+     * @param cwtUtil    The utility validating each CWT token.
+     * @param properties The JWT configuration holding the batch limits and pool size.
+     */
+    public IntrospectionService(JwtUtil jwtUtil, CwtUtil cwtUtil, JwtProperties properties) {
+        JwtProperties.Introspection introspection = properties.getIntrospection();
+        this.jwtUtil = jwtUtil;
+        this.cwtUtil = cwtUtil;
+        this.maxBatchSize = introspection.getMaxBatchSize();
+        this.chunkSize = Math.max(1, introspection.getChunkSize());
+        int threads = Math.max(1, introspection.getThreads());
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * 4),
+                new IntrospectionThreadFactory(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.securityContextExecutor = new DelegatingSecurityContextExecutor(executor);
+    }
+
+    /**
+     * @return The maximum number of tokens accepted in one batch.
+     */
+    public int maxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * Starts validating a batch of tokens.
+     *
+     * @param tokens The compact tokens, without the {@code Bearer } prefix; {@code null} entries are malformed.
+     * @return One future per chunk, in batch order; each holds the results for its tokens in order.
+     * @throws IllegalArgumentException if the batch is larger than {@link #maxBatchSize()}.
+     */
+    public List<CompletableFuture<TokenValidation[]>> introspect(List<String> tokens) {
+        if (tokens.size() > maxBatchSize) {
+            throw new IllegalArgumentException("Batch of " + tokens.size() + " tokens exceeds " + maxBatchSize);
+        }
+        List<CompletableFuture<TokenValidation[]>> chunks = new ArrayList<>((tokens.size() + chunkSize - 1) / chunkSize);
+        for (int from = 0; from < tokens.size(); from += chunkSize) {
+            List<String> chunk = tokens.subList(from, Math.min(from + chunkSize, tokens.size()));
+            chunks.add(CompletableFuture.supplyAsync(() -> validateAll(chunk), securityContextExecutor));
+        }
+        return chunks;
+    }
+
+    private TokenValidation[] validateAll(List<String> chunk) {
+        TokenValidation[] results = new TokenValidation[chunk.size()];
+        for (int i = 0; i < results.length; i++) {
+            String token = chunk.get(i);
+            results[i] = token != null ? validate(token) : TokenValidation.rejected(TokenStatus.MALFORMED);
+        }
+        return results;
+    }
+
+    private TokenValidation validate(String token) {
+        return TokenFormat.detect(token, 0) == TokenFormat.CWT ? cwtUtil.validate(token) : jwtUtil.validate(token);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private static final class IntrospectionThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "introspect-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.myprojecticaro.poc_jwt_secure_access.service;
+
+import com.myprojecticaro.poc_jwt_secure_access.util.RefreshTokenStore;
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * Thrown when a refresh token cannot be exchanged for new tokens.
+ *
+ * @see JwtService#refresh(String)
+ */
+public class InvalidRefreshTokenException extends AuthenticationException {
+
+    private final RefreshTokenStore.Status status;
+
+    /**
+     * @param status Why the refresh token was refused.
+     */
+    public InvalidRefreshTokenException(RefreshTokenStore.Status status) {
+        super("Refresh token refused: " + status);
+        this.status = status;
+    }
+
+    /**
+     * @return Why the refresh token was refused.
+     */
+    public RefreshTokenStore.Status getStatus() {
+        return status;
+    }
+}
@@ -1,27 +1,61 @@
 package com.myprojecticaro.poc_jwt_secure_access.service;
 
+import com.myprojecticaro.poc_jwt_secure_access.dto.AuthResponse;
+import com.myprojecticaro.poc_jwt_secure_access.util.AuthMetrics;
+import com.myprojecticaro.poc_jwt_secure_access.util.CwtUtil;
 import com.myprojecticaro.poc_jwt_secure_access.util.JwtUtil;
+import com.myprojecticaro.poc_jwt_secure_access.util.RefreshTokenStore;
+import com.myprojecticaro.poc_jwt_secure_access.util.RevocationList;
+import com.myprojecticaro.poc_jwt_secure_access.util.TokenFormat;
+import com.myprojecticaro.poc_jwt_secure_access.util.TokenPrecheck;
+import com.myprojecticaro.poc_jwt_secure_access.util.TokenValidation;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
 /**
  * Service responsible for authenticating users and generating JSON Web Tokens (JWT).
  * <p>
  * This service validates user credentials using Spring Security's {@link AuthenticationManager}.
- * Upon successful authentication, it generates a signed JWT token via {@link JwtUtil}.
+ * Upon successful authentication, it generates a signed JWT token via {@link JwtUtil}
+ * that also carries the user's authorities, together with an opaque refresh token
+ * from the {@link RefreshTokenStore}.
  * </p>
  *
  * <h3>Usage Example:</h3>
  * <pre>{@code
- * String token = jwtService.authenticate("admin", "1234");
+ * AuthResponse tokens = jwtService.authenticate("admin", "1234");
+ * AuthResponse renewed = jwtService.refresh(tokens.getRefreshToken());
  * }</pre>
  *
  * <p>
  * The generated token can be used for stateless authentication in subsequent requests.
  * </p>
  *
+ * <p>
+ * Because checking an adaptive password hash is CPU-heavy, the login endpoint uses
+ * {@link #authenticateAsync(String, String)}, which runs the check on the bounded {@link LoginExecutor}.
+ * Access tokens are short-lived; {@link #refresh(String)} renews them with a cached user lookup
+ * and no password check, at a small fraction of the cost of a login.
+ * </p>
+ *
+ * <p>
+ * Access tokens are compact JWS by default; clients may ask for a CBOR Web Token ({@link CwtUtil})
+ * at login, and every token renewed from that login keeps the chosen {@link TokenFormat}.
+ * </p>
+ *
+ * <p>
+ * Logins, refreshes and revocations, successful or not, are recorded in the {@link AuditLog}
+ * together with the client's address when the caller passes it.
+ * </p>
+ *
  * @author Icaro
  * @version 1.0
  * @see AuthenticationManager
@@ -32,38 +66,202 @@ public class JwtService {
 
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
+    private final CwtUtil cwtUtil;
+    private final LoginExecutor loginExecutor;
+    private final RefreshTokenStore refreshTokenStore;
+    private final UserService userService;
+    private final RevocationList revocationList;
+    private final AuthMetrics metrics;
+    private final AuditLog auditLog;
 
       /**
      * Constructs a new {@code JwtService} with the given authentication manager and JWT utility.
      *
      * @param authenticationManager the {@link AuthenticationManager} used to authenticate users
      * @param jwtUtil the {@link JwtUtil} utility used to generate and validate JWT tokens
+     * @param cwtUtil the {@link CwtUtil} utility used to generate and validate CWT tokens
+     * @param loginExecutor the bounded pool credential checks run on
+     * @param refreshTokenStore the store issuing and rotating refresh tokens
+     * @param userService the service providing the current authorities of a refreshing user
+     * @param revocationList the denylist access tokens are added to on revocation
+     * @param metrics the recorder of credential check times
+     * @param auditLog the audit trail of logins, refreshes and revocations
      */
-    public JwtService(AuthenticationManager authenticationManager, JwtUtil jwtUtil) {
+    public JwtService(AuthenticationManager authenticationManager,
+                      JwtUtil jwtUtil,
+                      CwtUtil cwtUtil,
+                      LoginExecutor loginExecutor,
+                      RefreshTokenStore refreshTokenStore,
+                      UserService userService,
+                      RevocationList revocationList,
+                      AuthMetrics metrics,
+                      AuditLog auditLog) {
         this.authenticationManager = authenticationManager;
         this.jwtUtil = jwtUtil;
+        this.cwtUtil = cwtUtil;
+        this.loginExecutor = loginExecutor;
+        this.refreshTokenStore = refreshTokenStore;
+        this.userService = userService;
+        this.revocationList = revocationList;
+        this.metrics = metrics;
+        this.auditLog = auditLog;
     }
 
     /**
      * Authenticates a user with the provided username and password.
      * <p>
-     * If authentication succeeds, a signed JWT token is generated and returned.
+     * If authentication succeeds, a signed JWT token and a new refresh token are returned.
      * Otherwise, a {@link RuntimeException} is thrown.
      * </p>
      *
      * @param username the username of the user attempting to authenticate
      * @param password the raw password of the user
-     * @return a signed JWT token representing the authenticated user
+     * @return the access token, refresh token and access token lifetime
+     * @throws RuntimeException if the authentication fails due to invalid credentials
+     */
+    public AuthResponse authenticate(String username, String password) {
+        return authenticate(username, password, TokenFormat.JWS, null);
+    }
+
+    /**
+     * Authenticates a user and issues an access token in the requested format.
+     *
+     * @param username the username of the user attempting to authenticate
+     * @param password the raw password of the user
+     * @param format the access token format for this login and its refreshes
+     * @param clientAddress the client's address for the audit trail, or {@code null}
+     * @return the access token, refresh token and access token lifetime
      * @throws RuntimeException if the authentication fails due to invalid credentials
      */
-    public String authenticate(String username, String password) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(username, password)
-        );
+    public AuthResponse authenticate(String username, String password, TokenFormat format, String clientAddress) {
+        final long start = System.nanoTime();
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(username, password)
+            );
+        } catch (RuntimeException e) {
+            metrics.recordLogin(false, start);
+            auditLog.record(AuditEventType.LOGIN_FAILED, username, clientAddress);
+            throw e;
+        }
+        metrics.recordLogin(authentication.isAuthenticated(), start);
 
         if (authentication.isAuthenticated()) {
-            return jwtUtil.generateToken(username);
+            String accessToken = accessToken(format, username, authentication.getAuthorities());
+            AuthResponse response = response(accessToken, refreshTokenStore.issue(username, format));
+            auditLog.record(AuditEventType.LOGIN_SUCCEEDED, format.code(), username, clientAddress);
+            return response;
         }
+        auditLog.record(AuditEventType.LOGIN_FAILED, username, clientAddress);
         throw new RuntimeException("Invalid credentials");
     }
+
+    /**
+     * Authenticates a user on the {@link LoginExecutor} instead of the calling thread.
+     *
+     * @param username the username of the user attempting to authenticate
+     * @param password the raw password of the user
+     * @return a future completed with the issued tokens, or with the authentication failure
+     * @throws RejectedExecutionException if the login pool and its queue are full
+     */
+    public CompletableFuture<AuthResponse> authenticateAsync(String username, String password) {
+        return authenticateAsync(username, password, TokenFormat.JWS, null);
+    }
+
+    /**
+     * Authenticates a user on the {@link LoginExecutor} and issues an access token in the requested format.
+     *
+     * @param username the username of the user attempting to authenticate
+     * @param password the raw password of the user
+     * @param format the access token format for this login and its refreshes
+     * @param clientAddress the client's address for the audit trail, or {@code null}
+     * @return a future completed with the issued tokens, or with the authentication failure
+     * @throws RejectedExecutionException if the login pool and its queue are full
+     */
+    public CompletableFuture<AuthResponse> authenticateAsync(String username, String password,
+                                                             TokenFormat format, String clientAddress) {
+        return loginExecutor.submit(() -> authenticate(username, password, format, clientAddress));
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and a new refresh token.
+     * <p>
+     * The presented refresh token is consumed; presenting it again revokes every token
+     * issued from the same login. The access token carries the user's current authorities.
+     * </p>
+     *
+     * @param refreshToken the refresh token from the previous login or refresh
+     * @return the new access token, refresh token and access token lifetime
+     * @throws InvalidRefreshTokenException if the token is unknown, expired, reused or its user no longer exists
+     */
+    public AuthResponse refresh(String refreshToken) {
+        return refresh(refreshToken, null);
+    }
+
+    /**
+     * Exchanges a refresh token for new tokens, recording the client's address in the audit trail.
+     *
+     * @param refreshToken the refresh token from the previous login or refresh
+     * @param clientAddress the client's address for the audit trail, or {@code null}
+     * @return the new access token, refresh token and access token lifetime
+     * @throws InvalidRefreshTokenException if the token is unknown, expired, reused or its user no longer exists
+     */
+    public AuthResponse refresh(String refreshToken, String clientAddress) {
+        RefreshTokenStore.Rotation rotation = refreshTokenStore.rotate(refreshToken);
+        if (!rotation.isRotated()) {
+            auditLog.record(AuditEventType.REFRESH_REJECTED, rotation.status().code(), rotation.username(), clientAddress);
+            throw new InvalidRefreshTokenException(rotation.status());
+        }
+        UserDetails user = userService.findByUsername(rotation.username())
+                .filter(UserDetails::isEnabled)
+                .orElse(null);
+        if (user == null) {
+            auditLog.record(AuditEventType.REFRESH_REJECTED, RefreshTokenStore.Status.INVALID.code(),
+                    rotation.username(), clientAddress);
+            throw new InvalidRefreshTokenException(RefreshTokenStore.Status.INVALID);
+        }
+        String accessToken = accessToken(rotation.format(), user.getUsername(), user.getAuthorities());
+        AuthResponse response = response(accessToken, rotation.next());
+        auditLog.record(AuditEventType.TOKEN_REFRESHED, rotation.format().code(), user.getUsername(), clientAddress);
+        return response;
+    }
+
+    /**
+     * Revokes the caller's access token and, if given, the refresh token family it was issued with.
+     * <p>
+     * The access token is denied by its {@code jti} until it expires; the refresh token is only
+     * revoked if it belongs to the same user.
+     * </p>
+     *
+     * @param authorizationHeader the {@code Authorization} header carrying the access token
+     * @param refreshToken the refresh token to revoke as well, or {@code null}
+     * @param clientAddress the client's address for the audit trail, or {@code null}
+     * @return {@code true} if the access token was valid and has been revoked
+     */
+    public boolean revoke(String authorizationHeader, String refreshToken, String clientAddress) {
+        int offset = TokenPrecheck.BEARER_PREFIX.length();
+        TokenValidation validation = TokenFormat.detect(authorizationHeader, offset) == TokenFormat.CWT
+                ? cwtUtil.validate(authorizationHeader, offset)
+                : jwtUtil.validate(authorizationHeader, offset);
+        if (!validation.isValid()) {
+            return false;
+        }
+        revocationList.revoke(validation.token());
+        auditLog.record(AuditEventType.TOKEN_REVOKED, validation.token().subject(), clientAddress);
+        if (refreshToken != null) {
+            refreshTokenStore.revoke(refreshToken, validation.token().subject());
+        }
+        return true;
+    }
+
+    private String accessToken(TokenFormat format, String username, Collection<? extends GrantedAuthority> authorities) {
+        return format == TokenFormat.CWT
+                ? cwtUtil.generateToken(username, authorities)
+                : jwtUtil.generateToken(username, authorities);
+    }
+
+    private AuthResponse response(String accessToken, RefreshTokenStore.Issued refreshToken) {
+        return new AuthResponse(accessToken, refreshToken.token(), jwtUtil.expiration().toSeconds());
+    }
 }
@@ -0,0 +1,102 @@
+package com.myprojecticaro.poc_jwt_secure_access.service;
+
+import com.myprojecticaro.poc_jwt_secure_access.config.LoginProperties;
+import jakarta.annotation.PreDestroy;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Bounded pool that runs credential checks away from the servlet threads.
+ * </p>
+ *
+ * <p>
+ * Verifying an adaptive password hash costs tens of milliseconds of CPU. Running it here caps
+ * how many cores a login burst can take ({@code login.threads}) and how many logins may wait
+ * ({@code login.queue-capacity}); anything beyond that fails fast with a
+ * {@link RejectedExecutionException} instead of queueing behind, and slowing down, requests
+ * that only validate a token.
+ * </p>
+ *
+ * <p>
+ * This is intentionally not exposed as an {@code Executor} bean, so it is never picked up as
+ * Spring's default task executor. The pool stays on platform threads even when virtual threads
+ * are enabled: hashing is CPU-bound, and the fixed size is what limits its share of the cores.
+ * </p>
+ *
+ * @see JwtService#authenticateAsync(String, String)
+ */
+@Component
+public class LoginExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final Executor securityContextExecutor;
+
+    /**
+     * Creates the pool described by the given properties.
+     *
+     * @param properties The login configuration holding the pool and queue sizes.
+     */
+    public LoginExecutor(LoginProperties properties) {
+        this.executor = new ThreadPoolExecutor(
+                properties.getThreads(), properties.getThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                new LoginThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.securityContextExecutor = new DelegatingSecurityContextExecutor(executor);
+    }
+
+    /**
+     * Runs a task on the login pool, with the caller's {@code SecurityContext}.
+     *
+     * @param task The task to run.
+     * @param <T>  The result type.
+     * @return A future completed with the task's result or exception.
+     * @throws RejectedExecutionException if every thread is busy and the queue is full.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, securityContextExecutor);
+    }
+
+    /**
+     * @return The number of logins waiting for a thread.
+     */
+    public int queued() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * @return The number of threads currently checking credentials.
+     */
+    public int active() {
+        return executor.getActiveCount();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private static final class LoginThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "login-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.myprojecticaro.poc_jwt_secure_access.service;
+
+/**
+ * Thrown when a login attempt exceeds the per-user or per-client rate limit.
+ * <p>
+ * Rejections are expected under attack, so no stack trace is captured.
+ * </p>
+ *
+ * @see LoginRateLimiter
+ */
+public class LoginRateLimitedException extends RuntimeException {
+
+    private final long retryAfterMillis;
+
+    /**
+     * @param retryAfterMillis How long the client should wait before trying again.
+     */
+    public LoginRateLimitedException(long retryAfterMillis) {
+        super("Too many login attempts", null, false, false);
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    /**
+     * @return How long the client should wait before trying again, in milliseconds.
+     */
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
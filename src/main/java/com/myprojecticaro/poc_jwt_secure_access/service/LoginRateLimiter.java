@@ -0,0 +1,116 @@
+package com.myprojecticaro.poc_jwt_secure_access.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.myprojecticaro.poc_jwt_secure_access.config.LoginProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * Token-bucket rate limiter for login attempts, keyed separately by username and by client IP.
+ * </p>
+ *
+ * <p>
+ * Each bucket is a single {@link AtomicLong} holding its <i>theoretical arrival time</i> (the
+ * generic cell rate algorithm, an exact token bucket formulation): an attempt is allowed if it does not
+ * arrive earlier than {@code capacity - 1} emission intervals before that time, and then pushes the
+ * time one interval further. A check is one read and one compare-and-set; a rejection is a single
+ * read with no write, no lock and no allocation.
+ * </p>
+ *
+ * <p>
+ * Buckets live in size-bounded caches ({@code login.rate-limit.max-buckets}) and expire after being
+ * idle for as long as a full refill takes; a bucket evicted then is indistinguishable from a new, full
+ * one, so idle eviction never relaxes a limit. Eviction because of the size cap can; the per-IP limit
+ * bounds how fast a single client can cause it.
+ * </p>
+ *
+ * <p>
+ * The client IP is whatever {@link jakarta.servlet.ServletRequest#getRemoteAddr()} reports. Behind a
+ * reverse proxy, every client then shares the proxy's per-IP bucket unless
+ * {@code server.forward-headers-strategy} is configured to take the address from {@code X-Forwarded-For}.
+ * </p>
+ *
+ * @see JwtService#authenticateAsync(String, String)
+ */
+@Component
+public class LoginRateLimiter {
+
+    private final boolean enabled;
+    private final Limit userLimit;
+    private final Limit ipLimit;
+
+    /**
+     * Constructs the limiter configured by {@code login.rate-limit.*}.
+     *
+     * @param properties The login configuration holding the bucket sizes.
+     */
+    public LoginRateLimiter(LoginProperties properties) {
+        LoginProperties.RateLimit rateLimit = properties.getRateLimit();
+        this.enabled = rateLimit.isEnabled();
+        this.userLimit = new Limit(rateLimit.getUser(), rateLimit.getMaxBuckets());
+        this.ipLimit = new Limit(rateLimit.getIp(), rateLimit.getMaxBuckets());
+    }
+
+    /**
+     * Consumes one attempt from the client's and the user's buckets.
+     *
+     * @param username The username the client tries to log in as; may be {@code null}.
+     * @param clientIp The client's IP address.
+     * @return {@code 0} if the attempt is allowed, otherwise the number of milliseconds until it would be.
+     */
+    public long tryAcquire(String username, String clientIp) {
+        if (!enabled) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        long wait = ipLimit.tryAcquire(clientIp, now);
+        if (wait == 0 && username != null) {
+            wait = userLimit.tryAcquire(username, now);
+        }
+        return wait == 0 ? 0 : Math.max(1, Duration.ofNanos(wait).toMillis());
+    }
+
+    /** Buckets of one key type sharing the same capacity and refill rate. */
+    private static final class Limit {
+
+        private final long emissionIntervalNanos;
+        private final long burstToleranceNanos;
+        private final Cache<String, AtomicLong> buckets;
+        private final Function<String, AtomicLong> newBucket;
+
+        Limit(LoginProperties.Bucket bucket, long maxBuckets) {
+            int capacity = Math.max(1, bucket.getCapacity());
+            long periodNanos = bucket.getPeriod().toNanos();
+            this.emissionIntervalNanos = Math.max(1, periodNanos / capacity);
+            this.burstToleranceNanos = emissionIntervalNanos * (capacity - 1);
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(maxBuckets)
+                    .expireAfterAccess(Duration.ofNanos(emissionIntervalNanos * capacity))
+                    .build();
+            this.newBucket = key -> new AtomicLong(System.nanoTime() - emissionIntervalNanos);
+        }
+
+        /**
+         * @return {@code 0} if allowed, otherwise the nanoseconds until the bucket holds a token again.
+         */
+        long tryAcquire(String key, long now) {
+            AtomicLong bucket = buckets.get(key, newBucket);
+            while (true) {
+                long arrival = bucket.get();
+                long allowedFrom = arrival - burstToleranceNanos;
+                if (now - allowedFrom < 0) {
+                    return allowedFrom - now;
+                }
+                long next = Math.max(arrival, now) + emissionIntervalNanos;
+                if (bucket.compareAndSet(arrival, next)) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
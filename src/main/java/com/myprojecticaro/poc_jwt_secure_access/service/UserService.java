@@ -1,21 +1,33 @@
 package com.myprojecticaro.poc_jwt_secure_access.service;
 
-import org.springframework.security.core.userdetails.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.myprojecticaro.poc_jwt_secure_access.config.UserStoreProperties;
+import com.myprojecticaro.poc_jwt_secure_access.repository.UserAccount;
+import com.myprojecticaro.poc_jwt_secure_access.repository.UserRepository;
+import com.myprojecticaro.poc_jwt_secure_access.util.AuthMetrics;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
+import java.util.function.Function;
+
 
 /**
  * Service responsible for loading user details required for authentication.
  * <p>
- * This implementation of {@link UserDetailsService} provides an in-memory
- * user for authentication purposes within this Proof of Concept (POC).
+ * This implementation of {@link UserDetailsService} reads accounts from a pluggable
+ * {@link UserRepository} and keeps the immutable {@link UserAccount} instances in a concurrent,
+ * size-bounded cache with a time-to-live. Once a user is cached, the per-request lookup done by
+ * the authentication filter is a single hash-map read: no object is rebuilt and the backing
+ * store is not touched.
  * </p>
  *
  * <p>
- * The default user is:
+ * The default in-memory store contains:
  * <ul>
  *     <li><b>Username:</b> admin</li>
  *     <li><b>Password:</b> 1234</li>
@@ -29,24 +41,51 @@ import org.springframework.stereotype.Service;
  * }</pre>
  *
  * <p>
- * In a real-world application, this service would typically query a database or an external identity provider
- * instead of using hardcoded credentials.
+ * Changes to an account must go through {@link #save(UserAccount)} or be followed by
+ * {@link #invalidate(String)}, so the cache never serves a stale user for longer than necessary.
+ * </p>
+ *
+ * <p>
+ * As a {@link UserDetailsPasswordService} it also stores re-encoded hashes produced when a user
+ * logs in with a hash that is outdated (legacy encoder or lower cost than configured).
  * </p>
  *
  * @author Icaro
  * @version 1.0
  * @see UserDetailsService
- * @see User
+ * @see UserRepository
  * @see UsernameNotFoundException
  */
 @Service
-public class UserService implements UserDetailsService {
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
+
+    private final UserRepository userRepository;
+    private final Cache<String, UserAccount> cache;
+    private final Function<String, UserAccount> loader;
+    private final AuthMetrics metrics;
+
+    /**
+     * Constructs a new {@code UserService}.
+     *
+     * @param userRepository the store the accounts are loaded from
+     * @param properties     the user store configuration holding the cache settings
+     * @param metrics        the recorder of user lookup times
+     */
+    public UserService(UserRepository userRepository, UserStoreProperties properties, AuthMetrics metrics) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getCache().getMaxSize())
+                .expireAfterWrite(properties.getCache().getTtl())
+                .build();
+        this.loader = username -> userRepository.findByUsername(username).orElse(null);
+        this.metrics = metrics;
+    }
 
       /**
      * Loads a user by their username.
      * <p>
-     * If the username is "admin", a static {@link UserDetails} object is returned with predefined credentials.
-     * Otherwise, a {@link UsernameNotFoundException} is thrown.
+     * Returns the cached {@link UserDetails} if present, otherwise loads it from the repository.
+     * If the user does not exist, a {@link UsernameNotFoundException} is thrown.
      * </p>
      *
      * @param username the username identifying the user whose data is required
@@ -55,12 +94,70 @@ public class UserService implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        if ("admin".equals(username)) {
-            return User.withUsername("admin")
-                    .password("{noop}1234") // {noop} means no password encoder
-                    .roles("ADMIN")
-                    .build();
+        return findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+    }
+
+    /**
+     * Looks up a user by their username without throwing when it does not exist.
+     * <p>
+     * Used on the request path, where an unknown subject is an expected outcome that
+     * should not pay for exception construction. Unknown users are not cached.
+     * </p>
+     *
+     * @param username the username identifying the user whose data is required
+     * @return the user's details, or {@link Optional#empty()} if the user cannot be found
+     */
+    public Optional<UserDetails> findByUsername(String username) {
+        final long start = System.nanoTime();
+        try {
+            return Optional.ofNullable(cache.get(username, loader));
+        } finally {
+            metrics.recordUserLookup(start);
         }
-        throw new UsernameNotFoundException("User not found: " + username);
+    }
+
+    /**
+     * Creates or replaces an account in the repository and drops any cached copy.
+     *
+     * @param account the account to store
+     */
+    public void save(UserAccount account) {
+        userRepository.save(account);
+        invalidate(account.username());
+    }
+
+    /**
+     * Stores a re-encoded password hash after a successful login.
+     *
+     * @param user        the user that just authenticated
+     * @param newPassword the password hash produced with the current encoder settings
+     * @return the updated user
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        UserAccount account = user instanceof UserAccount current
+                ? current
+                : userRepository.findByUsername(user.getUsername())
+                        .orElseThrow(() -> new UsernameNotFoundException("User not found: " + user.getUsername()));
+        UserAccount updated = account.withPassword(newPassword);
+        save(updated);
+        return updated;
+    }
+
+    /**
+     * Drops the cached copy of a user so the next lookup reads the repository.
+     *
+     * @param username the user that changed
+     */
+    public void invalidate(String username) {
+        cache.invalidate(username);
+    }
+
+    /**
+     * Drops every cached user.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
     }
 }
@@ -0,0 +1,210 @@
+package com.myprojecticaro.poc_jwt_secure_access.service;
+
+import com.myprojecticaro.poc_jwt_secure_access.config.WarmUpProperties;
+import com.myprojecticaro.poc_jwt_secure_access.util.CwtUtil;
+import com.myprojecticaro.poc_jwt_secure_access.util.JwtUtil;
+import com.myprojecticaro.poc_jwt_secure_access.util.TokenPrecheck;
+import com.myprojecticaro.poc_jwt_secure_access.util.TokenValidation;
+import com.myprojecticaro.poc_jwt_secure_access.util.VerifiedTokenCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * <p>
+ * Warms up the token hot path after startup, before the application reports ready.
+ * </p>
+ *
+ * <p>
+ * Spring Boot only switches the readiness state to {@code ACCEPTING_TRAFFIC} once every
+ * {@link ApplicationRunner} has returned, so {@code /actuator/health/readiness} keeps answering
+ * {@code 503} while this runs and a new instance joins the load balancer with its JIT-compiled
+ * code and caches already warm. The warm-up has two phases, together bounded by
+ * {@code warmup.max-duration}; the first may use at most half of it, so the second always gets a share:
+ * </p>
+ * <ol>
+ *     <li>In-process cycles through the real {@link JwtUtil}, {@link CwtUtil} and {@link UserService}:
+ *         issue a token for {@code warmup.username}, validate it from a bearer header as the filter
+ *         does (once verified, once from the cache), and look up the user.</li>
+ *     <li>Authenticated requests to {@code warmup.path} on the application's own port, exercising
+ *         Tomcat, the security filter chain, route authorization and JSON serialization. Skipped when
+ *         the user does not exist or no web server is running.</li>
+ * </ol>
+ *
+ * <p>
+ * Each synthetic token is evicted from the {@link VerifiedTokenCache} once it has been used, so it
+ * does not compete with real tokens, which stay cached. A failure in either phase, for example a
+ * synthetic token exceeding {@code jwt.max-token-length} or an unavailable user store, ends that phase
+ * with a warning and the warm-up continues with the next one; it never fails startup.
+ * </p>
+ *
+ * <p>
+ * The duration is logged and recorded in the {@code auth.warmup} timer. Warm-up validations and
+ * requests are counted in the usual token and user metrics.
+ * </p>
+ *
+ * @see WarmUpProperties
+ */
+@Component
+public class WarmUpRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmUpRunner.class);
+
+    private static final int OFFSET = TokenPrecheck.BEARER_PREFIX.length();
+
+    private final WarmUpProperties properties;
+    private final JwtUtil jwtUtil;
+    private final CwtUtil cwtUtil;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final UserService userService;
+    private final Environment environment;
+    private final Timer timer;
+
+    /**
+     * @param properties         The warm-up configuration.
+     * @param jwtUtil            Issues and validates the synthetic JWS tokens.
+     * @param cwtUtil            Issues and validates the synthetic CWT tokens.
+     * @param verifiedTokenCache The cache each synthetic token is evicted from once used.
+     * @param userService        Looked up for the warm-up user, priming its cache.
+     * @param environment        Provides the local server port, once the web server has started.
+     * @param registry           The registry the {@code auth.warmup} timer is published to.
+     */
+    public WarmUpRunner(WarmUpProperties properties,
+                        JwtUtil jwtUtil,
+                        CwtUtil cwtUtil,
+                        VerifiedTokenCache verifiedTokenCache,
+                        UserService userService,
+                        Environment environment,
+                        MeterRegistry registry) {
+        this.properties = properties;
+        this.jwtUtil = jwtUtil;
+        this.cwtUtil = cwtUtil;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.userService = userService;
+        this.environment = environment;
+        this.timer = Timer.builder("auth.warmup")
+                .description("Duration of the warm-up run before readiness")
+                .register(registry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        final long start = System.nanoTime();
+        final long deadline = start + properties.getMaxDuration().toNanos();
+        final long cyclesDeadline = start + properties.getMaxDuration().toNanos() / 2;
+        final String username = properties.getUsername();
+
+        Optional<UserDetails> user = Optional.empty();
+        int cycles = 0;
+        try {
+            user = userService.findByUsername(username);
+            Collection<? extends GrantedAuthority> authorities = authoritiesOf(user);
+            while (cycles < properties.getIterations() && System.nanoTime() - cyclesDeadline < 0) {
+                cycle(username, authorities);
+                cycles++;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Warm-up token cycles stopped after {} cycles", cycles, e);
+        }
+
+        int requests = 0;
+        Integer port = environment.getProperty("local.server.port", Integer.class);
+        if (user.isPresent() && port != null && port > 0) {
+            requests = sendRequests(port, username, authoritiesOf(user), deadline);
+        }
+
+        long elapsed = System.nanoTime() - start;
+        timer.record(Duration.ofNanos(elapsed));
+        log.info("Warm-up finished in {} ms: {} of {} token cycles, {} of {} requests",
+                Duration.ofNanos(elapsed).toMillis(), cycles, properties.getIterations(), requests, properties.getRequests());
+    }
+
+    private static Collection<? extends GrantedAuthority> authoritiesOf(Optional<UserDetails> user) {
+        return user.<Collection<? extends GrantedAuthority>>map(UserDetails::getAuthorities).orElse(List.of());
+    }
+
+    private void cycle(String username, Collection<? extends GrantedAuthority> authorities) {
+        String jws = jwtUtil.generateToken(username, authorities);
+        try {
+            check(jwtUtil.validate(TokenPrecheck.BEARER_PREFIX + jws, OFFSET));
+            check(jwtUtil.validate(TokenPrecheck.BEARER_PREFIX + jws, OFFSET));
+        } finally {
+            verifiedTokenCache.invalidate(jws);
+        }
+        String cwt = cwtUtil.generateToken(username, authorities);
+        try {
+            check(cwtUtil.validate(TokenPrecheck.BEARER_PREFIX + cwt, OFFSET));
+            check(cwtUtil.validate(TokenPrecheck.BEARER_PREFIX + cwt, OFFSET));
+        } finally {
+            verifiedTokenCache.invalidate(cwt);
+        }
+        userService.findByUsername(username);
+    }
+
+    private static void check(TokenValidation validation) {
+        if (!validation.isValid()) {
+            throw new IllegalStateException("Warm-up token rejected: " + validation.status());
+        }
+    }
+
+    /**
+     * Sends the warm-up requests one after the other.
+     *
+     * @return The number of requests answered.
+     */
+    private int sendRequests(int port, String username, Collection<? extends GrantedAuthority> authorities,
+                             long deadline) {
+        String contextPath = environment.getProperty("server.servlet.context-path", "");
+        URI uri = URI.create("http://localhost:" + port + contextPath + properties.getPath());
+        String token = null;
+        int sent = 0;
+        try (HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(1))
+                .build()) {
+            token = jwtUtil.generateToken(username, authorities);
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .header(HttpHeaders.AUTHORIZATION, TokenPrecheck.BEARER_PREFIX + token)
+                    .timeout(Duration.ofSeconds(5))
+                    .build();
+            while (sent < properties.getRequests() && System.nanoTime() - deadline < 0) {
+                int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                sent++;
+                if (status != 200) {
+                    log.warn("Warm-up request to {} answered {}; stopping the request phase", uri, status);
+                    break;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Warm-up request to {} failed; stopping the request phase", uri, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (token != null) {
+                verifiedTokenCache.invalidate(token);
+            }
+        }
+        return sent;
+    }
+}
@@ -0,0 +1,158 @@
+package com.myprojecticaro.poc_jwt_secure_access.util;
+
+import com.myprojecticaro.poc_jwt_secure_access.config.JwtProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Micrometer instrumentation of the authentication pipeline, published through the Actuator
+ * {@code /actuator/metrics} endpoint.
+ * </p>
+ *
+ * <p><b>Meters:</b></p>
+ * <ul>
+ *     <li>{@code auth.token.validation} — every bearer token validation, cache hits included.</li>
+ *     <li>{@code auth.token.verification} — signature verifications only (cache misses); a regression
+ *         in the signing algorithm or key handling shows up here first.</li>
+ *     <li>{@code auth.token.outcome} — validations counted per {@link TokenStatus}, tag {@code status}.</li>
+ *     <li>{@code auth.token.age} / {@code auth.token.remaining} — how old accepted tokens are and how
+ *         long they still had to live when used.</li>
+ *     <li>{@code auth.user.lookup} — user lookups by the filter and on refresh.</li>
+ *     <li>{@code auth.login} — credential checks including password hashing, tag {@code outcome}.</li>
+ * </ul>
+ *
+ * <p>
+ * Every meter is registered once at startup and held in a field (the outcome counters in an array
+ * indexed by {@link TokenStatus#ordinal()}), so recording never looks a meter up by name or builds
+ * tags. Durations are taken with {@link System#nanoTime()} and recorded as primitives; the request
+ * path allocates nothing for metrics.
+ * </p>
+ *
+ * @see JwtUtil
+ */
+@Component
+public class AuthMetrics {
+
+    private final Timer validation;
+    private final Timer verification;
+    private final Counter[] outcomes;
+    private final Timer tokenAge;
+    private final Timer tokenRemaining;
+    private final Timer userLookup;
+    private final Timer loginSuccess;
+    private final Timer loginFailure;
+
+    /**
+     * Registers the authentication meters.
+     *
+     * @param registry   The registry the meters are published to.
+     * @param properties The JWT configuration; the access token lifetime bounds the token age histograms.
+     */
+    public AuthMetrics(MeterRegistry registry, JwtProperties properties) {
+        Duration lifetime = properties.getExpiration().compareTo(Duration.ofSeconds(2)) > 0
+                ? properties.getExpiration()
+                : Duration.ofSeconds(2);
+        this.validation = Timer.builder("auth.token.validation")
+                .description("Bearer token validations, including verified-token cache hits")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.verification = Timer.builder("auth.token.verification")
+                .description("Token signature verifications (verified-token cache misses)")
+                .publishPercentileHistogram()
+                .register(registry);
+        TokenStatus[] statuses = TokenStatus.values();
+        this.outcomes = new Counter[statuses.length];
+        for (TokenStatus status : statuses) {
+            outcomes[status.ordinal()] = Counter.builder("auth.token.outcome")
+                    .description("Bearer token validations by outcome")
+                    .tag("status", status.name().toLowerCase(Locale.ROOT))
+                    .register(registry);
+        }
+        this.tokenAge = Timer.builder("auth.token.age")
+                .description("Time since issuance of accepted access tokens")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofSeconds(1))
+                .maximumExpectedValue(lifetime)
+                .register(registry);
+        this.tokenRemaining = Timer.builder("auth.token.remaining")
+                .description("Remaining lifetime of accepted access tokens")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofSeconds(1))
+                .maximumExpectedValue(lifetime)
+                .register(registry);
+        this.userLookup = Timer.builder("auth.user.lookup")
+                .description("User lookups, including user cache hits")
+                .register(registry);
+        this.loginSuccess = loginTimer(registry, "success");
+        this.loginFailure = loginTimer(registry, "failure");
+    }
+
+    private static Timer loginTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("auth.login")
+                .description("Credential checks, including password hashing")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /**
+     * Records a completed token validation.
+     *
+     * @param status     The outcome.
+     * @param startNanos The {@link System#nanoTime()} taken when the validation started.
+     */
+    public void recordValidation(TokenStatus status, long startNanos) {
+        validation.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        outcomes[status.ordinal()].increment();
+    }
+
+    /**
+     * Records a signature verification, successful or not.
+     *
+     * @param startNanos The {@link System#nanoTime()} taken when the verification started.
+     */
+    public void recordVerification(long startNanos) {
+        verification.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records the age and remaining lifetime of an accepted token.
+     *
+     * @param token     The verified token.
+     * @param nowMillis The current time in epoch milliseconds.
+     */
+    public void recordTokenUse(VerifiedToken token, long nowMillis) {
+        if (token.issuedAt() != null) {
+            tokenAge.record(nowMillis - token.issuedAt().toEpochMilli(), TimeUnit.MILLISECONDS);
+        }
+        if (token.expiration() != null) {
+            tokenRemaining.record(token.expiration().toEpochMilli() - nowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Records a user lookup.
+     *
+     * @param startNanos The {@link System#nanoTime()} taken when the lookup started.
+     */
+    public void recordUserLookup(long startNanos) {
+        userLookup.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records a credential check.
+     *
+     * @param success    Whether the credentials were accepted.
+     * @param startNanos The {@link System#nanoTime()} taken when the check started.
+     */
+    public void recordLogin(boolean success, long startNanos) {
+        (success ? loginSuccess : loginFailure).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,104 @@
+package com.myprojecticaro.poc_jwt_secure_access.util;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * Encodes granted authorities into the compact {@value #CLAIM} claim and decodes them back
+ * into shared, interned {@link GrantedAuthority} instances.
+ * </p>
+ *
+ * <p>
+ * The claim is a single space-separated string (e.g. {@code "ROLE_ADMIN ROLE_USER"}), in the
+ * style of the OAuth {@code scope} claim. Decoded lists are cached by claim value, so every token
+ * carrying the same roles shares one immutable list and building an {@code Authentication} from
+ * verified claims allocates no authority objects. Claim values come only from tokens whose
+ * signature was verified, so the number of distinct values is small; the caches are nonetheless
+ * capped and fall back to uncached decoding when full.
+ * </p>
+ *
+ * @see VerifiedToken#authorities()
+ */
+public final class AuthorityClaims {
+
+    /** Name of the claim carrying the authorities. */
+    public static final String CLAIM = "roles";
+
+    private static final int MAX_CACHED_VALUES = 1024;
+
+    private static final Map<String, GrantedAuthority> AUTHORITIES = new ConcurrentHashMap<>();
+    private static final Map<String, List<GrantedAuthority>> CLAIM_VALUES = new ConcurrentHashMap<>();
+
+    private AuthorityClaims() {
+    }
+
+    /**
+     * Encodes authorities into the claim value.
+     *
+     * @param authorities The authorities to embed.
+     * @return The space-separated claim value, or {@code null} if there are no authorities.
+     */
+    public static String encode(Collection<? extends GrantedAuthority> authorities) {
+        if (authorities == null || authorities.isEmpty()) {
+            return null;
+        }
+        StringJoiner joiner = new StringJoiner(" ");
+        for (GrantedAuthority authority : authorities) {
+            joiner.add(authority.getAuthority());
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * Decodes a claim value into a shared, immutable list of interned authorities.
+     *
+     * @param claimValue The claim value, possibly {@code null}.
+     * @return The authorities; empty if the claim is absent or not a string.
+     */
+    public static List<GrantedAuthority> decode(Object claimValue) {
+        if (!(claimValue instanceof String value) || value.isBlank()) {
+            return List.of();
+        }
+        List<GrantedAuthority> cached = CLAIM_VALUES.get(value);
+        if (cached != null) {
+            return cached;
+        }
+        List<GrantedAuthority> decoded = parse(value);
+        if (CLAIM_VALUES.size() < MAX_CACHED_VALUES) {
+            List<GrantedAuthority> raced = CLAIM_VALUES.putIfAbsent(value, decoded);
+            return raced != null ? raced : decoded;
+        }
+        return decoded;
+    }
+
+    static boolean isCached(String claimValue) {
+        return CLAIM_VALUES.containsKey(claimValue);
+    }
+
+    private static List<GrantedAuthority> parse(String value) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        for (String name : value.trim().split(" +")) {
+            authorities.add(intern(name));
+        }
+        return List.copyOf(authorities);
+    }
+
+    private static GrantedAuthority intern(String name) {
+        GrantedAuthority authority = AUTHORITIES.get(name);
+        if (authority != null) {
+            return authority;
+        }
+        if (AUTHORITIES.size() >= MAX_CACHED_VALUES) {
+            return new SimpleGrantedAuthority(name);
+        }
+        return AUTHORITIES.computeIfAbsent(name, SimpleGrantedAuthority::new);
+    }
+}
@@ -0,0 +1,282 @@
+package com.myprojecticaro.poc_jwt_secure_access.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Minimal CBOR (RFC 8949) encoder and decoder covering what {@link CwtUtil} needs: integers,
+ * byte and text strings, arrays, maps and tags, all with definite lengths.
+ * </p>
+ *
+ * <p>
+ * Floats, simple values other than {@code false}/{@code true}/{@code null}, and indefinite-length
+ * items are rejected by the {@link Reader}; tokens issued by this service never contain them, and
+ * refusing them keeps the decoder small enough to review. Every length read is checked against the
+ * remaining input before anything is allocated, so hostile input cannot trigger large allocations.
+ * </p>
+ *
+ * @see CwtUtil
+ */
+final class Cbor {
+
+    static final int UNSIGNED = 0;
+    static final int NEGATIVE = 1;
+    static final int BYTES = 2;
+    static final int TEXT = 3;
+    static final int ARRAY = 4;
+    static final int MAP = 5;
+    static final int TAG = 6;
+    static final int SIMPLE = 7;
+
+    /** Nesting depth accepted by {@link Reader#skip()}. */
+    private static final int MAX_DEPTH = 8;
+
+    private Cbor() {
+    }
+
+    /**
+     * Thrown when the input is not CBOR this decoder accepts.
+     */
+    static final class MalformedException extends RuntimeException {
+
+        MalformedException(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    /**
+     * Appends CBOR items to a growable byte array.
+     */
+    static final class Writer {
+
+        private byte[] buffer;
+        private int size;
+
+        Writer(int initialCapacity) {
+            this.buffer = new byte[initialCapacity];
+        }
+
+        Writer writeLong(long value) {
+            return value >= 0 ? head(UNSIGNED, value) : head(NEGATIVE, -1 - value);
+        }
+
+        Writer writeBytes(byte[] value) {
+            head(BYTES, value.length);
+            return raw(value, 0, value.length);
+        }
+
+        Writer writeText(String value) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            head(TEXT, utf8.length);
+            return raw(utf8, 0, utf8.length);
+        }
+
+        Writer writeArrayHeader(int length) {
+            return head(ARRAY, length);
+        }
+
+        Writer writeMapHeader(int length) {
+            return head(MAP, length);
+        }
+
+        Writer writeTag(long tag) {
+            return head(TAG, tag);
+        }
+
+        /** Appends an already encoded item. */
+        Writer raw(byte[] bytes, int offset, int length) {
+            ensure(length);
+            System.arraycopy(bytes, offset, buffer, size, length);
+            size += length;
+            return this;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+        private Writer head(int majorType, long argument) {
+            ensure(9);
+            int type = majorType << 5;
+            if (argument < 24) {
+                buffer[size++] = (byte) (type | argument);
+            } else if (argument < 0x100) {
+                buffer[size++] = (byte) (type | 24);
+                buffer[size++] = (byte) argument;
+            } else if (argument < 0x10000) {
+                buffer[size++] = (byte) (type | 25);
+                putBigEndian(argument, 2);
+            } else if (argument < 0x100000000L) {
+                buffer[size++] = (byte) (type | 26);
+                putBigEndian(argument, 4);
+            } else {
+                buffer[size++] = (byte) (type | 27);
+                putBigEndian(argument, 8);
+            }
+            return this;
+        }
+
+        private void putBigEndian(long value, int bytes) {
+            for (int shift = (bytes - 1) * 8; shift >= 0; shift -= 8) {
+                buffer[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+    }
+
+    /**
+     * Reads CBOR items from a byte array, front to back.
+     */
+    static final class Reader {
+
+        private final byte[] input;
+        private final int end;
+        private int position;
+
+        Reader(byte[] input) {
+            this(input, 0, input.length);
+        }
+
+        Reader(byte[] input, int offset, int length) {
+            this.input = input;
+            this.position = offset;
+            this.end = offset + length;
+        }
+
+        boolean hasRemaining() {
+            return position < end;
+        }
+
+        int position() {
+            return position;
+        }
+
+        /** @return The major type of the next item, without consuming it. */
+        int peekMajorType() {
+            require(1);
+            return (input[position] & 0xFF) >>> 5;
+        }
+
+        long readTag() {
+            return argument(TAG);
+        }
+
+        int readArrayHeader() {
+            return count(ARRAY);
+        }
+
+        int readMapHeader() {
+            return count(MAP);
+        }
+
+        long readLong() {
+            int majorType = peekMajorType();
+            if (majorType != UNSIGNED && majorType != NEGATIVE) {
+                throw new MalformedException("Expected an integer");
+            }
+            long argument = argument(majorType);
+            if (argument < 0) {
+                throw new MalformedException("Integer out of range");
+            }
+            return majorType == UNSIGNED ? argument : -1 - argument;
+        }
+
+        byte[] readBytes() {
+            int length = count(BYTES);
+            byte[] value = Arrays.copyOfRange(input, position, position + length);
+            position += length;
+            return value;
+        }
+
+        String readText() {
+            int length = count(TEXT);
+            String value = new String(input, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        /** Skips the next item, including everything nested in it. */
+        void skip() {
+            skip(0);
+        }
+
+        private void skip(int depth) {
+            if (depth > MAX_DEPTH) {
+                throw new MalformedException("Nesting too deep");
+            }
+            int majorType = peekMajorType();
+            switch (majorType) {
+                case UNSIGNED, NEGATIVE -> argument(majorType);
+                case BYTES, TEXT -> position += count(majorType);
+                case ARRAY -> {
+                    for (int i = readArrayHeader(); i > 0; i--) {
+                        skip(depth + 1);
+                    }
+                }
+                case MAP -> {
+                    for (int i = readMapHeader(); i > 0; i--) {
+                        skip(depth + 1);
+                        skip(depth + 1);
+                    }
+                }
+                case TAG -> {
+                    argument(TAG);
+                    skip(depth + 1);
+                }
+                default -> {
+                    int simple = input[position++] & 0x1F;
+                    if (simple < 20 || simple > 22) {
+                        throw new MalformedException("Unsupported simple value or float");
+                    }
+                }
+            }
+        }
+
+        /** Reads a length that must fit in the remaining input (strings) or be plausible for it (containers). */
+        private int count(int majorType) {
+            long length = argument(majorType);
+            if (length < 0 || length > end - position) {
+                throw new MalformedException("Length exceeds input");
+            }
+            return (int) length;
+        }
+
+        private long argument(int expectedMajorType) {
+            require(1);
+            int initial = input[position] & 0xFF;
+            if (initial >>> 5 != expectedMajorType) {
+                throw new MalformedException("Unexpected major type " + (initial >>> 5));
+            }
+            position++;
+            int info = initial & 0x1F;
+            if (info < 24) {
+                return info;
+            }
+            int bytes = switch (info) {
+                case 24 -> 1;
+                case 25 -> 2;
+                case 26 -> 4;
+                case 27 -> 8;
+                default -> throw new MalformedException("Indefinite or reserved length");
+            };
+            require(bytes);
+            long value = 0;
+            for (int i = 0; i < bytes; i++) {
+                value = (value << 8) | (input[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        private void require(int bytes) {
+            if (end - position < bytes) {
+                throw new MalformedException("Truncated input");
+            }
+        }
+    }
+}
@@ -0,0 +1,379 @@
+package com.myprojecticaro.poc_jwt_secure_access.util;
+
+import com.myprojecticaro.poc_jwt_secure_access.config.JwtProperties;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.DecodingException;
+import io.jsonwebtoken.io.Encoders;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * <p>
+ * Issues and validates access tokens as CBOR Web Tokens (CWT, RFC 8392) protected by COSE
+ * (RFC 9052), the compact binary alternative to the JWS produced by {@link JwtUtil}.
+ * </p>
+ *
+ * <p>
+ * Tokens carry the same claims as their JWS counterparts, under the registered CWT integer keys:
+ * {@code sub} (2), {@code exp} (4), {@code iat} (6) and {@code cti} (7, the token id), plus the
+ * {@value AuthorityClaims#CLAIM} claim under its text name. They are signed with the active key of
+ * the same {@link KeyRing}, so they share its rotation and revocation:
+ * </p>
+ * <ul>
+ *     <li>HS256: {@code COSE_Mac0} (tag 17) with HMAC 256/256 (COSE algorithm 5).</li>
+ *     <li>RS256, ES256, EdDSA: {@code COSE_Sign1} (tag 18) with algorithm -257, -7 or -8.</li>
+ * </ul>
+ * <p>
+ * The protected header holds the algorithm and the {@code kid}. The whole structure is Base64URL-encoded
+ * without padding so it fits in a {@code Bearer} header; see {@link TokenFormat#detect(String, int)}.
+ * </p>
+ *
+ * <p><b>Validation</b> follows {@link JwtUtil#validate(String, int)}: cheap structural and expiry checks
+ * on the unverified payload first, then the {@link VerifiedTokenCache}, signature verification and
+ * the {@link RevocationList}, with the same {@link TokenStatus} outcomes.
+ * </p>
+ *
+ * @see TokenFormat
+ * @see Cbor
+ */
+@Component
+public class CwtUtil {
+
+    static final int TAG_MAC0 = 17;
+    static final int TAG_SIGN1 = 18;
+
+    private static final int HEADER_ALG = 1;
+    private static final int HEADER_KID = 4;
+
+    private static final int CLAIM_SUB = 2;
+    private static final int CLAIM_EXP = 4;
+    private static final int CLAIM_IAT = 6;
+    private static final int CLAIM_CTI = 7;
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final KeyRing keyRing;
+    private final long expirationMillis;
+    private final int maxTokenLength;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final RevocationList revocationList;
+    private final AuthMetrics metrics;
+
+    private final boolean mac;
+    private final int coseAlgorithm;
+    private final String jcaAlgorithm;
+
+    /**
+     * Constructs a new {@code CwtUtil} on top of the same keys and caches as {@link JwtUtil}.
+     *
+     * @param properties         The JWT configuration holding the token lifetime and maximum length.
+     * @param keyRing            The signing keys, looked up by {@code kid} during verification.
+     * @param verifiedTokenCache Cache of already verified tokens consulted before signature verification.
+     * @param revocationList     Denylist of revoked token ids checked after verification.
+     * @param metrics            Recorder of validation outcomes and verification times.
+     */
+    public CwtUtil(JwtProperties properties,
+                   KeyRing keyRing,
+                   VerifiedTokenCache verifiedTokenCache,
+                   RevocationList revocationList,
+                   AuthMetrics metrics) {
+        this.keyRing = keyRing;
+        this.expirationMillis = properties.getExpiration().toMillis();
+        this.maxTokenLength = properties.getMaxTokenLength();
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.revocationList = revocationList;
+        this.metrics = metrics;
+        this.mac = "HS256".equals(keyRing.algorithmId());
+        // ES256 signatures are the raw r || s concatenation in COSE, not DER as in the JCA default.
+        switch (keyRing.algorithmId()) {
+            case "HS256" -> {
+                this.coseAlgorithm = 5;
+                this.jcaAlgorithm = "HmacSHA256";
+            }
+            case "RS256" -> {
+                this.coseAlgorithm = -257;
+                this.jcaAlgorithm = "SHA256withRSA";
+            }
+            case "ES256" -> {
+                this.coseAlgorithm = -7;
+                this.jcaAlgorithm = "SHA256withECDSAinP1363Format";
+            }
+            case "EdDSA" -> {
+                this.coseAlgorithm = -8;
+                this.jcaAlgorithm = "Ed25519";
+            }
+            default -> throw new IllegalStateException("Unsupported algorithm for CWT: " + keyRing.algorithmId());
+        }
+    }
+
+    /**
+     * Generates a CWT for the specified user, with the same claims as {@link JwtUtil#generateToken(String, Collection)}.
+     *
+     * @param username    The username for which the token is being generated.
+     * @param authorities The authorities granted to the user at login time.
+     * @return The Base64URL-encoded, COSE-protected token.
+     */
+    public String generateToken(String username, Collection<? extends GrantedAuthority> authorities) {
+        final long nowSeconds = System.currentTimeMillis() / 1000;
+        final KeyRing.RingKey key = keyRing.active();
+        final String roles = AuthorityClaims.encode(authorities);
+
+        byte[] protectedHeader = new Cbor.Writer(32)
+                .writeMapHeader(2)
+                .writeLong(HEADER_ALG).writeLong(coseAlgorithm)
+                .writeLong(HEADER_KID).writeBytes(key.kid().getBytes(StandardCharsets.UTF_8))
+                .toByteArray();
+
+        Cbor.Writer claims = new Cbor.Writer(96).writeMapHeader(roles != null ? 5 : 4)
+                .writeLong(CLAIM_SUB).writeText(username)
+                .writeLong(CLAIM_EXP).writeLong(nowSeconds + expirationMillis / 1000)
+                .writeLong(CLAIM_IAT).writeLong(nowSeconds)
+                .writeLong(CLAIM_CTI).writeBytes(newTokenId());
+        if (roles != null) {
+            claims.writeText(AuthorityClaims.CLAIM).writeText(roles);
+        }
+        byte[] payload = claims.toByteArray();
+
+        byte[] tag = sign(key.signingKey(), toBeProtected(protectedHeader, payload));
+        byte[] token = new Cbor.Writer(protectedHeader.length + payload.length + tag.length + 16)
+                .writeTag(mac ? TAG_MAC0 : TAG_SIGN1)
+                .writeArrayHeader(4)
+                .writeBytes(protectedHeader)
+                .writeMapHeader(0)
+                .writeBytes(payload)
+                .writeBytes(tag)
+                .toByteArray();
+        return Encoders.BASE64URL.encode(token);
+    }
+
+    /**
+     * Validates the CWT that starts at {@code offset} inside {@code value} without throwing.
+     *
+     * @param value  The string holding the token, for example a full {@code Authorization} header.
+     * @param offset Index of the first token character in {@code value}.
+     * @return The validation outcome, carrying the verified claims when the token is valid.
+     */
+    public TokenValidation validate(String value, int offset) {
+        final long start = System.nanoTime();
+        final TokenValidation validation = check(value, offset);
+        metrics.recordValidation(validation.status(), start);
+        return validation;
+    }
+
+    /**
+     * Validates a CWT without throwing.
+     *
+     * @param token The token.
+     * @return The validation outcome, carrying the verified claims when the token is valid.
+     */
+    public TokenValidation validate(String token) {
+        return validate(token, 0);
+    }
+
+    private TokenValidation check(String value, int offset) {
+        if (value.length() - offset > maxTokenLength) {
+            return TokenValidation.rejected(TokenStatus.MALFORMED);
+        }
+        final long now = System.currentTimeMillis();
+        final String token = offset == 0 ? value : value.substring(offset);
+
+        VerifiedToken verifiedToken = verifiedTokenCache.get(token);
+        if (verifiedToken == null) {
+            final Envelope envelope;
+            try {
+                envelope = Envelope.parse(Decoders.BASE64URL.decode(token), mac ? TAG_MAC0 : TAG_SIGN1);
+            } catch (Cbor.MalformedException | DecodingException | DateTimeException e) {
+                return TokenValidation.rejected(TokenStatus.MALFORMED);
+            }
+            if (envelope.algorithm != coseAlgorithm) {
+                return TokenValidation.rejected(TokenStatus.MALFORMED);
+            }
+            if (envelope.claims.isExpiredAt(Instant.ofEpochMilli(now))) {
+                return TokenValidation.rejected(TokenStatus.EXPIRED);
+            }
+            if (!verify(envelope)) {
+                return TokenValidation.rejected(TokenStatus.BAD_SIGNATURE);
+            }
+            verifiedToken = envelope.claims.verified();
+            verifiedTokenCache.put(token, verifiedToken);
+        }
+
+        if (verifiedToken.isExpiredAt(Instant.ofEpochMilli(now))) {
+            return TokenValidation.rejected(TokenStatus.EXPIRED);
+        }
+        if (revocationList.isRevoked(verifiedToken)) {
+            return TokenValidation.rejected(TokenStatus.REVOKED);
+        }
+        return TokenValidation.valid(verifiedToken);
+    }
+
+    private boolean verify(Envelope envelope) {
+        final long start = System.nanoTime();
+        try {
+            Key key = keyRing.verificationKey(envelope.kid);
+            if (key == null) {
+                return false;
+            }
+            byte[] toBeProtected = toBeProtected(envelope.protectedHeader, envelope.payload);
+            if (mac) {
+                return MessageDigest.isEqual(sign(key, toBeProtected), envelope.tag);
+            }
+            Signature signature = Signature.getInstance(jcaAlgorithm);
+            signature.initVerify((PublicKey) key);
+            signature.update(toBeProtected);
+            return signature.verify(envelope.tag);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            return false;
+        } finally {
+            metrics.recordVerification(start);
+        }
+    }
+
+    private byte[] sign(Key key, byte[] toBeProtected) {
+        try {
+            if (mac) {
+                Mac hmac = Mac.getInstance(jcaAlgorithm);
+                hmac.init(key);
+                return hmac.doFinal(toBeProtected);
+            }
+            Signature signature = Signature.getInstance(jcaAlgorithm);
+            signature.initSign((PrivateKey) key);
+            signature.update(toBeProtected);
+            return signature.sign();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to sign CWT with " + jcaAlgorithm, e);
+        }
+    }
+
+    /**
+     * Builds the {@code MAC_structure} or {@code Sig_structure} (RFC 9052, sections 4.4 and 6.3)
+     * with empty external data.
+     */
+    private byte[] toBeProtected(byte[] protectedHeader, byte[] payload) {
+        return new Cbor.Writer(protectedHeader.length + payload.length + 24)
+                .writeArrayHeader(4)
+                .writeText(mac ? "MAC0" : "Signature1")
+                .writeBytes(protectedHeader)
+                .writeBytes(EMPTY)
+                .writeBytes(payload)
+                .toByteArray();
+    }
+
+    /** 128 random bits, as for the JWS {@code jti}. */
+    private static byte[] newTokenId() {
+        byte[] id = new byte[16];
+        ThreadLocalRandom.current().nextBytes(id);
+        return id;
+    }
+
+    /**
+     * Claims read from a payload whose signature has not been checked yet. The roles are kept as the raw
+     * claim value, so a forged token never reaches the shared {@link AuthorityClaims} caches.
+     */
+    private record UnverifiedClaims(String subject, String id, Instant issuedAt, Instant expiration,
+                                    String roles, Map<String, Object> claims) {
+
+        boolean isExpiredAt(Instant now) {
+            return expiration != null && !expiration.isAfter(now);
+        }
+
+        /** Decodes the authorities; only to be called once the signature has been verified. */
+        VerifiedToken verified() {
+            return new VerifiedToken(subject, id, issuedAt, expiration, AuthorityClaims.decode(roles), claims);
+        }
+    }
+
+    /** A decoded, not yet verified COSE_Mac0 or COSE_Sign1 structure and its claims. */
+    private record Envelope(byte[] protectedHeader, int algorithm, String kid,
+                            byte[] payload, byte[] tag, UnverifiedClaims claims) {
+
+        static Envelope parse(byte[] bytes, int expectedTag) {
+            Cbor.Reader reader = new Cbor.Reader(bytes);
+            if (reader.readTag() != expectedTag || reader.readArrayHeader() != 4) {
+                throw new Cbor.MalformedException("Not a COSE structure of the expected type");
+            }
+            byte[] protectedHeader = reader.readBytes();
+            reader.skip(); // unprotected header; nothing in it is trusted
+            byte[] payload = reader.readBytes();
+            byte[] tag = reader.readBytes();
+            if (reader.hasRemaining()) {
+                throw new Cbor.MalformedException("Trailing data");
+            }
+
+            int algorithm = 0;
+            String kid = null;
+            Cbor.Reader header = new Cbor.Reader(protectedHeader);
+            for (int i = header.readMapHeader(); i > 0; i--) {
+                long label = header.readLong();
+                if (label == HEADER_ALG) {
+                    algorithm = (int) header.readLong();
+                } else if (label == HEADER_KID) {
+                    kid = new String(header.readBytes(), StandardCharsets.UTF_8);
+                } else {
+                    header.skip();
+                }
+            }
+            return new Envelope(protectedHeader, algorithm, kid, payload, tag, decodeClaims(payload));
+        }
+
+        private static UnverifiedClaims decodeClaims(byte[] payload) {
+            String subject = null;
+            String id = null;
+            Instant issuedAt = null;
+            Instant expiration = null;
+            String roles = null;
+            Map<String, Object> claims = new HashMap<>();
+
+            Cbor.Reader reader = new Cbor.Reader(payload);
+            for (int i = reader.readMapHeader(); i > 0; i--) {
+                if (reader.peekMajorType() == Cbor.TEXT) {
+                    String name = reader.readText();
+                    if (AuthorityClaims.CLAIM.equals(name) && reader.peekMajorType() == Cbor.TEXT) {
+                        roles = reader.readText();
+                        claims.put(name, roles);
+                    } else {
+                        reader.skip();
+                    }
+                    continue;
+                }
+                long key = reader.readLong();
+                if (key == CLAIM_SUB) {
+                    subject = reader.readText();
+                    claims.put("sub", subject);
+                } else if (key == CLAIM_EXP) {
+                    long exp = reader.readLong();
+                    expiration = Instant.ofEpochSecond(exp);
+                    claims.put("exp", exp);
+                } else if (key == CLAIM_IAT) {
+                    long iat = reader.readLong();
+                    issuedAt = Instant.ofEpochSecond(iat);
+                    claims.put("iat", iat);
+                } else if (key == CLAIM_CTI) {
+                    id = Encoders.BASE64URL.encode(reader.readBytes());
+                    claims.put("jti", id);
+                } else {
+                    reader.skip();
+                }
+            }
+            if (reader.hasRemaining()) {
+                throw new Cbor.MalformedException("Trailing data");
+            }
+            return new UnverifiedClaims(subject, id, issuedAt, expiration, roles, claims);
+        }
+    }
+}
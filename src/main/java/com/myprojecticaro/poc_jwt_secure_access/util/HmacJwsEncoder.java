@@ -0,0 +1,296 @@
+package com.myprojecticaro.poc_jwt_secure_access.util;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * <p>
+ * Writes HS256 access tokens for the fixed claim set of {@link JwtUtil} without going through the
+ * JJWT builder: no claims map, no {@code Date} objects, no JSON serializer and no new {@code Mac}.
+ * </p>
+ *
+ * <p>
+ * The header is encoded once per key. For each token the payload JSON is written into a per-thread
+ * buffer, Base64URL-encoded into a second one behind the header, and signed in place with a
+ * per-thread {@link Mac} cloned from a pre-keyed prototype. The only allocation is the returned
+ * {@code String}. Virtual threads get fresh buffers and a fresh clone, as a thread-local would never
+ * be reused by them.
+ * </p>
+ *
+ * <p>
+ * The output is byte-identical to the JJWT builder: same member order, and the same escaping as
+ * Jackson for {@code "} and {@code \}, with other characters written as raw UTF-8. Values Jackson
+ * would escape differently (control characters, characters outside the BMP), a blank subject (which
+ * JJWT omits) and negative times make {@link #encode} return {@code null}, and the caller falls back
+ * to JJWT for that token.
+ * </p>
+ *
+ * @see JwtUtil#generateToken(String, Collection)
+ */
+final class HmacJwsEncoder {
+
+    private static final VarHandle LONG_VIEW =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private static final byte[] BASE64URL =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] JTI = ascii("{\"jti\":\"");
+    private static final byte[] SUB = ascii("\",\"sub\":\"");
+    private static final byte[] ROLES = ascii("\",\"" + AuthorityClaims.CLAIM + "\":\"");
+    private static final byte[] IAT = ascii("\",\"iat\":");
+    private static final byte[] EXP = ascii(",\"exp\":");
+
+    private static final int SIGNATURE_LENGTH = 32;
+
+    private static final ThreadLocal<Scratch> SCRATCH = new ThreadLocal<>();
+
+    private final Mac prototype;
+
+    /** Base64URL of the header JSON, followed by the {@code '.'} separator. */
+    private final byte[] encodedHeader;
+
+    /**
+     * Constructs an encoder signing with the given HS256 key.
+     *
+     * @param key The signing key; its {@code kid} is written to the header.
+     * @throws IllegalStateException if HmacSHA256 is unavailable or the key is not an HMAC key.
+     */
+    HmacJwsEncoder(KeyRing.RingKey key) {
+        try {
+            this.prototype = Mac.getInstance("HmacSHA256");
+            this.prototype.init(key.signingKey());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialize HmacSHA256", e);
+        }
+        Scratch header = new Scratch(null, 64);
+        header.raw(ascii("{\"kid\":\""));
+        if (!header.text(key.kid())) {
+            throw new IllegalStateException("Unsupported characters in key id " + key.kid());
+        }
+        header.raw(ascii("\",\"alg\":\"HS256\"}"));
+        byte[] encoded = new byte[base64Length(header.jsonSize) + 1];
+        int end = base64Url(header.json, 0, header.jsonSize, encoded, 0);
+        encoded[end] = '.';
+        this.encodedHeader = encoded;
+    }
+
+    /**
+     * Encodes and signs a token.
+     *
+     * @param idHigh          The first 8 bytes of the token id ({@code jti}), big-endian.
+     * @param idLow           The last 8 bytes of the token id.
+     * @param subject         The username.
+     * @param authorities     The authorities, written space-separated; omitted when empty.
+     * @param issuedAtMillis  Issuance time in epoch milliseconds.
+     * @param expiresAtMillis Expiration time in epoch milliseconds.
+     * @return The compact JWS, or {@code null} if a value needs encoding this writer does not produce
+     *         identically to JJWT.
+     */
+    String encode(long idHigh, long idLow, String subject, Collection<? extends GrantedAuthority> authorities,
+                  long issuedAtMillis, long expiresAtMillis) {
+        // JJWT leaves out a blank subject altogether.
+        if (subject == null || subject.isBlank() || issuedAtMillis < 0 || expiresAtMillis < 0) {
+            return null;
+        }
+        Scratch scratch = scratch();
+        scratch.jsonSize = 0;
+        scratch.raw(JTI);
+        LONG_VIEW.set(scratch.id, 0, idHigh);
+        LONG_VIEW.set(scratch.id, 8, idLow);
+        scratch.ensureJson(base64Length(scratch.id.length));
+        scratch.jsonSize = base64Url(scratch.id, 0, scratch.id.length, scratch.json, scratch.jsonSize);
+        scratch.raw(SUB);
+        if (!scratch.text(subject)) {
+            return null;
+        }
+        if (authorities != null && !authorities.isEmpty()) {
+            scratch.raw(ROLES);
+            boolean first = true;
+            for (GrantedAuthority authority : authorities) {
+                if (!first) {
+                    scratch.ensureJson(1);
+                    scratch.json[scratch.jsonSize++] = ' ';
+                }
+                first = false;
+                if (authority.getAuthority() == null || !scratch.text(authority.getAuthority())) {
+                    return null;
+                }
+            }
+        }
+        scratch.raw(IAT);
+        scratch.number(issuedAtMillis / 1000);
+        scratch.raw(EXP);
+        scratch.number(expiresAtMillis / 1000);
+        scratch.ensureJson(1);
+        scratch.json[scratch.jsonSize++] = '}';
+
+        int signingInputLength = encodedHeader.length + base64Length(scratch.jsonSize);
+        byte[] out = scratch.out(signingInputLength + 1 + base64Length(SIGNATURE_LENGTH));
+        System.arraycopy(encodedHeader, 0, out, 0, encodedHeader.length);
+        int size = base64Url(scratch.json, 0, scratch.jsonSize, out, encodedHeader.length);
+        scratch.mac.update(out, 0, size);
+        try {
+            scratch.mac.doFinal(scratch.signature, 0);
+        } catch (ShortBufferException e) {
+            throw new IllegalStateException(e);
+        }
+        out[size++] = '.';
+        size = base64Url(scratch.signature, 0, SIGNATURE_LENGTH, out, size);
+        return new String(out, 0, size, StandardCharsets.ISO_8859_1);
+    }
+
+    private Scratch scratch() {
+        if (Thread.currentThread().isVirtual()) {
+            return new Scratch(newMac(), 256);
+        }
+        Scratch scratch = SCRATCH.get();
+        if (scratch == null) {
+            scratch = new Scratch(newMac(), 256);
+            scratch.owner = this;
+            SCRATCH.set(scratch);
+        } else if (scratch.owner != this) {
+            scratch.mac = newMac();
+            scratch.owner = this;
+        }
+        return scratch;
+    }
+
+    private Mac newMac() {
+        try {
+            return (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("HmacSHA256 cannot be cloned", e);
+        }
+    }
+
+    private static int base64Length(int bytes) {
+        return (bytes * 4 + 2) / 3;
+    }
+
+    /**
+     * Base64URL-encodes {@code src[offset, offset + length)} without padding into {@code dst} at {@code position}.
+     *
+     * @return The position after the last character written.
+     */
+    private static int base64Url(byte[] src, int offset, int length, byte[] dst, int position) {
+        int end = offset + length;
+        int i = offset;
+        for (; i + 3 <= end; i += 3) {
+            int bits = (src[i] & 0xFF) << 16 | (src[i + 1] & 0xFF) << 8 | (src[i + 2] & 0xFF);
+            dst[position++] = BASE64URL[bits >>> 18];
+            dst[position++] = BASE64URL[(bits >>> 12) & 0x3F];
+            dst[position++] = BASE64URL[(bits >>> 6) & 0x3F];
+            dst[position++] = BASE64URL[bits & 0x3F];
+        }
+        int remaining = end - i;
+        if (remaining == 1) {
+            int bits = (src[i] & 0xFF) << 16;
+            dst[position++] = BASE64URL[bits >>> 18];
+            dst[position++] = BASE64URL[(bits >>> 12) & 0x3F];
+        } else if (remaining == 2) {
+            int bits = (src[i] & 0xFF) << 16 | (src[i + 1] & 0xFF) << 8;
+            dst[position++] = BASE64URL[bits >>> 18];
+            dst[position++] = BASE64URL[(bits >>> 12) & 0x3F];
+            dst[position++] = BASE64URL[(bits >>> 6) & 0x3F];
+        }
+        return position;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Per-thread buffers and {@code Mac}, reused across tokens.
+     */
+    private static final class Scratch {
+
+        private final byte[] id = new byte[16];
+        private final byte[] signature = new byte[SIGNATURE_LENGTH];
+        private byte[] json;
+        private int jsonSize;
+        private byte[] out;
+        private Mac mac;
+        private HmacJwsEncoder owner;
+
+        Scratch(Mac mac, int capacity) {
+            this.mac = mac;
+            this.json = new byte[capacity];
+            this.out = new byte[capacity * 2];
+        }
+
+        void raw(byte[] bytes) {
+            ensureJson(bytes.length);
+            System.arraycopy(bytes, 0, json, jsonSize, bytes.length);
+            jsonSize += bytes.length;
+        }
+
+        /**
+         * Writes the content of a JSON string the way Jackson does.
+         *
+         * @return {@code false} if the value holds a character Jackson would write as a {@code \}{@code u} escape.
+         */
+        boolean text(String value) {
+            int length = value.length();
+            // No character takes more than three bytes, escaped ones included.
+            ensureJson(length * 3);
+            for (int i = 0; i < length; i++) {
+                char c = value.charAt(i);
+                if (c < 0x20 || Character.isSurrogate(c)) {
+                    return false;
+                }
+                if (c == '"' || c == '\\') {
+                    json[jsonSize++] = '\\';
+                    json[jsonSize++] = (byte) c;
+                } else if (c < 0x80) {
+                    json[jsonSize++] = (byte) c;
+                } else if (c < 0x800) {
+                    json[jsonSize++] = (byte) (0xC0 | c >> 6);
+                    json[jsonSize++] = (byte) (0x80 | c & 0x3F);
+                } else {
+                    json[jsonSize++] = (byte) (0xE0 | c >> 12);
+                    json[jsonSize++] = (byte) (0x80 | c >> 6 & 0x3F);
+                    json[jsonSize++] = (byte) (0x80 | c & 0x3F);
+                }
+            }
+            return true;
+        }
+
+        /** Writes a non-negative decimal number. */
+        void number(long value) {
+            ensureJson(19);
+            int digits = 1;
+            for (long rest = value / 10; rest > 0; rest /= 10) {
+                digits++;
+            }
+            for (int i = jsonSize + digits - 1; i >= jsonSize; i--) {
+                json[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            jsonSize += digits;
+        }
+
+        void ensureJson(int extra) {
+            if (jsonSize + extra > json.length) {
+                json = Arrays.copyOf(json, Math.max(json.length * 2, jsonSize + extra));
+            }
+        }
+
+        byte[] out(int capacity) {
+            if (out.length < capacity) {
+                out = new byte[Math.max(out.length * 2, capacity)];
+            }
+            return out;
+        }
+    }
+}
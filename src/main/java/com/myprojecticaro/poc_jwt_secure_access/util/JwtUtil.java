@@ -1,11 +1,27 @@
 package com.myprojecticaro.poc_jwt_secure_access.util;
 
+import com.myprojecticaro.poc_jwt_secure_access.config.JwtProperties;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.SecureDigestAlgorithm;
+import io.jsonwebtoken.security.SecurityException;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.security.Key;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Function;
 
 /**
@@ -16,15 +32,18 @@ import java.util.function.Function;
  *
  * <p>
  * This utility leverages the <b>io.jsonwebtoken</b> (JJWT) library to handle
- * the creation and verification of tokens signed with the HMAC SHA-256 algorithm.
- * Tokens contain the authenticated username, issuance date, and expiration date.
+ * the creation and verification of tokens signed with the algorithm of the {@link KeyRing}
+ * (HMAC SHA-256 by default, or RS256/ES256/EdDSA). Tokens carry the {@code kid} of the
+ * signing key, a unique token id ({@code jti}), the authenticated username, issuance date,
+ * and expiration date. Validation rejects tokens whose id is on the {@link RevocationList}.
  * </p>
  *
  * <p><b>Token Structure:</b></p>
  * <ul>
  *     <li><b>Subject:</b> The username of the authenticated user.</li>
+ *     <li><b>Roles:</b> The user's authorities as a space-separated string, when issued at login.</li>
  *     <li><b>Issued At:</b> The date and time when the token was generated.</li>
- *     <li><b>Expiration:</b> 30 minutes after issuance by default.</li>
+ *     <li><b>Expiration:</b> 5 minutes after issuance by default; clients renew with a refresh token.</li>
  * </ul>
  *
  * <p><b>Example Token:</b></p>
@@ -34,22 +53,81 @@ import java.util.function.Function;
  * pM79yRDLv2Xz1T0n1C3vR2C_yX1QmvVqUPJdT1JwDQk
  * </pre>
  *
+ * <p>
+ * Signing keys are held by the {@link KeyRing} and the {@link JwtParser} is built once at startup
+ * with the ring as its key locator; both are thread-safe and shared by all threads, so neither
+ * issuance nor validation allocates key or parser objects per request.
+ * </p>
+ *
+ * <p>
+ * HS256 tokens are written by the {@link HmacJwsEncoder}, which produces the same bytes as the JJWT
+ * builder from per-thread buffers and {@code Mac} instances; {@code jwt.signing.direct-encoding=false}
+ * and the other algorithms use JJWT.
+ * </p>
+ *
+ * <p>
+ * Validation outcomes and signature verification times are recorded through {@link AuthMetrics}.
+ * </p>
+ *
  * <p><b>Important:</b></p>
  * <ul>
- *     <li>This example uses a hardcoded secret key for simplicity. In a production environment,
- *         use a strong, securely stored secret (e.g., environment variable or vault).</li>
- *     <li>Token expiration should be carefully chosen according to security requirements.</li>
+ *     <li>For HS256 the secret is read from {@code jwt.secret}. In a production environment,
+ *         supply a strong, securely stored secret (e.g., environment variable or vault).</li>
+ *     <li>Token expiration ({@code jwt.expiration}) should be carefully chosen according to security requirements.</li>
  * </ul>
  *
  * @see io.jsonwebtoken.Jwts
  * @see io.jsonwebtoken.Claims
- * @see SignatureAlgorithm
+ * @see JwtProperties
  */
 @Component
 public class JwtUtil {
 
-    /** Secret key used to sign and verify JWT tokens (for demonstration purposes only). */
-    private static final String SECRET_KEY = "my-secret-key";
+    private static final VarHandle LONG_VIEW =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private final KeyRing keyRing;
+
+    /** Pre-built, thread-safe parser resolving verification keys from {@link #keyRing} by {@code kid}. */
+    private final JwtParser parser;
+
+    /** Encoder for HS256 tokens, or {@code null} when tokens are issued through JJWT. */
+    private final HmacJwsEncoder encoder;
+
+    private final long expirationMillis;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenPrecheck tokenPrecheck;
+    private final RevocationList revocationList;
+    private final AuthMetrics metrics;
+
+    /**
+     * Constructs a new {@code JwtUtil}, building the parser once on top of the key ring.
+     *
+     * @param properties         The JWT configuration holding the token lifetime.
+     * @param keyRing            The signing keys, looked up by {@code kid} during verification.
+     * @param verifiedTokenCache Cache of already verified tokens consulted before signature verification.
+     * @param tokenPrecheck      Structural checks that reject obviously bad tokens before verification.
+     * @param revocationList     Denylist of revoked token ids checked after verification.
+     * @param metrics            Recorder of validation outcomes and verification times.
+     */
+    public JwtUtil(JwtProperties properties,
+                   KeyRing keyRing,
+                   VerifiedTokenCache verifiedTokenCache,
+                   TokenPrecheck tokenPrecheck,
+                   RevocationList revocationList,
+                   AuthMetrics metrics) {
+        this.keyRing = keyRing;
+        this.parser = Jwts.parser().keyLocator(keyRing).build();
+        // The HS256 key is never rotated, so the encoder can be bound to it once.
+        this.encoder = "HS256".equals(keyRing.algorithmId()) && properties.getSigning().isDirectEncoding()
+                ? new HmacJwsEncoder(keyRing.active())
+                : null;
+        this.expirationMillis = properties.getExpiration().toMillis();
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tokenPrecheck = tokenPrecheck;
+        this.revocationList = revocationList;
+        this.metrics = metrics;
+    }
 
      /**
      * Generates a JWT token for the specified username.
@@ -58,15 +136,72 @@ public class JwtUtil {
      * @return A signed JWT token as a {@link String}.
      */
     public String generateToken(String username) {
+        return generateToken(username, List.of());
+    }
+
+    /**
+     * Generates a JWT token for the specified username, embedding the user's authorities
+     * in the compact {@value AuthorityClaims#CLAIM} claim.
+     * <p>
+     * Tokens carrying their authorities can be turned into an {@code Authentication} from the
+     * verified claims alone, without a user lookup (see {@code jwt.principal-mode=stateless}).
+     * </p>
+     *
+     * @param username    The username for which the token is being generated.
+     * @param authorities The authorities granted to the user at login time.
+     * @return A signed JWT token as a {@link String}.
+     */
+    public String generateToken(String username, Collection<? extends GrantedAuthority> authorities) {
+        final long now = System.currentTimeMillis();
+        // The token id is 128 random bits. It only needs to be unique, not unpredictable:
+        // the token's signature already prevents forgery.
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final long idHigh = random.nextLong();
+        final long idLow = random.nextLong();
+        if (encoder != null) {
+            String token = encoder.encode(idHigh, idLow, username, authorities, now, now + expirationMillis);
+            if (token != null) {
+                return token;
+            }
+        }
+        return build(keyRing.active(), keyRing.algorithm(), tokenId(idHigh, idLow), username,
+                AuthorityClaims.encode(authorities), now, now + expirationMillis);
+    }
+
+    /**
+     * Builds and signs a token with JJWT; the reference format {@link HmacJwsEncoder} reproduces.
+     */
+    static String build(KeyRing.RingKey key, SecureDigestAlgorithm<Key, Key> algorithm, String tokenId,
+                        String username, String roles, long issuedAtMillis, long expiresAtMillis) {
         return Jwts.builder()
-                .setSubject(username)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 30)) // 30 minutes
-                .signWith(SignatureAlgorithm.HS256, SECRET_KEY)
+                .header().keyId(key.kid()).and()
+                .id(tokenId)
+                .subject(username)
+                .claim(AuthorityClaims.CLAIM, roles)
+                .issuedAt(new Date(issuedAtMillis))
+                .expiration(new Date(expiresAtMillis))
+                .signWith(key.signingKey(), algorithm)
                 .compact();
     }
 
-       /**
+    /**
+     * Encodes a token id ({@code jti}) from its two halves, big-endian, in Base64URL.
+     */
+    static String tokenId(long high, long low) {
+        byte[] bytes = new byte[16];
+        LONG_VIEW.set(bytes, 0, high);
+        LONG_VIEW.set(bytes, 8, low);
+        return Encoders.BASE64URL.encode(bytes);
+    }
+
+    /**
+     * @return The lifetime of the access tokens issued by this utility ({@code jwt.expiration}).
+     */
+    public Duration expiration() {
+        return Duration.ofMillis(expirationMillis);
+    }
+
+    /**
      * Extracts the username (subject) from the given JWT token.
      *
      * @param token The JWT token.
@@ -86,6 +221,108 @@ public class JwtUtil {
         return extractClaim(token, Claims::getExpiration);
     }
 
+    /**
+     * Parses and verifies the given JWT token once and returns all of its claims.
+     * <p>
+     * Callers that need more than one claim (e.g. subject and expiration) should use this
+     * method instead of the individual {@code extract*} methods, which each re-run the full
+     * decode and signature verification.
+     * </p>
+     *
+     * <p>
+     * Tokens that were already verified are served from the {@link VerifiedTokenCache}
+     * without repeating the signature check.
+     * </p>
+     *
+     * @param token The JWT token.
+     * @return An immutable {@link VerifiedToken} holding the verified claims.
+     */
+    public VerifiedToken validateToken(String token) {
+        VerifiedToken verifiedToken = verifiedTokenCache.get(token);
+        if (verifiedToken != null) {
+            return verifiedToken;
+        }
+        final long start = System.nanoTime();
+        final Claims claims;
+        try {
+            claims = parseClaims(token);
+        } finally {
+            metrics.recordVerification(start);
+        }
+        verifiedToken = new VerifiedToken(
+                claims.getSubject(),
+                claims.getId(),
+                toInstant(claims.getIssuedAt()),
+                toInstant(claims.getExpiration()),
+                AuthorityClaims.decode(claims.get(AuthorityClaims.CLAIM)),
+                claims);
+        verifiedTokenCache.put(token, verifiedToken);
+        return verifiedToken;
+    }
+
+    /**
+     * Validates a JWT token without throwing, reporting the outcome as a {@link TokenValidation}.
+     *
+     * @param token The JWT token.
+     * @return The validation outcome, carrying the verified claims when the token is valid.
+     * @see #validate(String, int)
+     */
+    public TokenValidation validate(String token) {
+        return validate(token, 0);
+    }
+
+    /**
+     * Validates the JWT token that starts at {@code offset} inside {@code value} without throwing.
+     * <p>
+     * The token is first run through the {@link TokenPrecheck}, so malformed, foreign-algorithm and
+     * expired tokens are rejected before the token is even copied out of {@code value}. Tokens that
+     * pass are looked up in the {@link VerifiedTokenCache} and otherwise fully verified.
+     * </p>
+     *
+     * @param value  The string holding the token, for example a full {@code Authorization} header.
+     * @param offset Index of the first token character in {@code value}.
+     * @return The validation outcome, carrying the verified claims when the token is valid.
+     */
+    public TokenValidation validate(String value, int offset) {
+        final long start = System.nanoTime();
+        final TokenValidation validation = check(value, offset);
+        metrics.recordValidation(validation.status(), start);
+        return validation;
+    }
+
+    private TokenValidation check(String value, int offset) {
+        final long now = System.currentTimeMillis();
+        switch (tokenPrecheck.check(value, offset, now)) {
+            case EXPIRED:
+                return TokenValidation.rejected(TokenStatus.EXPIRED);
+            case MALFORMED:
+            case UNSUPPORTED_ALGORITHM:
+                return TokenValidation.rejected(TokenStatus.MALFORMED);
+            default:
+                break;
+        }
+
+        final String token = offset == 0 ? value : value.substring(offset);
+        final VerifiedToken verifiedToken;
+        try {
+            verifiedToken = validateToken(token);
+        } catch (ExpiredJwtException e) {
+            return TokenValidation.rejected(TokenStatus.EXPIRED);
+        } catch (SecurityException e) {
+            return TokenValidation.rejected(TokenStatus.BAD_SIGNATURE);
+        } catch (JwtException | IllegalArgumentException e) {
+            return TokenValidation.rejected(TokenStatus.MALFORMED);
+        }
+
+        if (verifiedToken.isExpiredAt(Instant.ofEpochMilli(now))) {
+            return TokenValidation.rejected(TokenStatus.EXPIRED);
+        }
+        if (revocationList.isRevoked(verifiedToken)) {
+            return TokenValidation.rejected(TokenStatus.REVOKED);
+        }
+        return TokenValidation.valid(verifiedToken);
+    }
+
      /**
      * Extracts a specific claim from the JWT token using the provided resolver function.
      *
@@ -95,12 +332,9 @@ public class JwtUtil {
      * @return The extracted claim value.
      */
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = Jwts.parser()
-                .setSigningKey(SECRET_KEY)
-                .parseClaimsJws(token)
-                .getBody();
-        return claimsResolver.apply(claims);
+        return claimsResolver.apply(parseClaims(token));
     }
+
     
     /**
      * Validates a JWT token by checking the username and expiration date.
@@ -110,17 +344,32 @@ public class JwtUtil {
      * @return {@code true} if the token is valid; {@code false} otherwise.
      */
     public boolean isTokenValid(String token, String username) {
-        return username.equals(extractUsername(token)) && !isTokenExpired(token);
+        return isTokenValid(validateToken(token), username);
     }
 
-     /**
-     * Checks if the given JWT token is expired.
+    /**
+     * Validates already verified claims by checking the username and expiration date.
+     *
+     * @param verifiedToken The result of {@link #validateToken(String)}.
+     * @param username The username expected to be contained in the token.
+     * @return {@code true} if the token is valid; {@code false} otherwise.
+     */
+    public boolean isTokenValid(VerifiedToken verifiedToken, String username) {
+        return username.equals(verifiedToken.subject()) && !verifiedToken.isExpiredAt(Instant.now());
+    }
+
+    /**
+     * Decodes the token and verifies its signature.
      *
-     * @param token The JWT token to check.
-     * @return {@code true} if the token is expired; {@code false} otherwise.
+     * @param token The JWT token.
+     * @return The verified claims.
      */
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private Claims parseClaims(String token) {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    private static Instant toInstant(Date date) {
+        return date != null ? date.toInstant() : null;
     }
 }
 
@@ -0,0 +1,266 @@
+package com.myprojecticaro.poc_jwt_secure_access.util;
+
+import com.myprojecticaro.poc_jwt_secure_access.config.JwtProperties;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.InvalidKeyException;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.PublicJwk;
+import io.jsonwebtoken.security.SecureDigestAlgorithm;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * Set of signing keys indexed by {@code kid}, with one active key used for issuance and
+ * any number of published or retiring keys still accepted for verification.
+ * </p>
+ *
+ * <p>
+ * The algorithm is chosen with {@code jwt.signing.algorithm}:
+ * </p>
+ * <ul>
+ *     <li><b>HS256</b> (default): a single HMAC key derived from {@code jwt.secret}; never rotated
+ *         and never published.</li>
+ *     <li><b>RS256</b>, <b>ES256</b>, <b>EdDSA</b> (Ed25519): key pairs generated in memory and rotated
+ *         every {@code jwt.signing.rotation-interval}. Public keys are published through {@link #jwks()}
+ *         so other services can verify tokens locally.</li>
+ * </ul>
+ *
+ * <p><b>Rotation:</b></p>
+ * <p>
+ * The ring always holds a <i>next</i> key that is already published but not yet used for signing, so
+ * verifiers refreshing the JWKS learn about a key before any token carries it. On rotation the next
+ * key becomes active, the previously active key is retired and a new next key is generated. Retired
+ * keys remain available for verification for one token lifetime ({@code jwt.expiration}), so in-flight
+ * tokens keep validating, and are then dropped.
+ * </p>
+ *
+ * <p>
+ * Verification looks up the key by the token's {@code kid} header in a {@link ConcurrentHashMap},
+ * an O(1) read regardless of ring size. Generated keys live only in this instance's memory; a
+ * deployment with several instances must share keys externally or verify through the JWKS.
+ * </p>
+ *
+ * @see JwtUtil
+ */
+@Component
+public class KeyRing extends LocatorAdapter<Key> {
+
+    private static final Logger log = LoggerFactory.getLogger(KeyRing.class);
+
+    /**
+     * A key of the ring.
+     *
+     * @param kid             The key identifier written to the {@code kid} header.
+     * @param signingKey      The key used to sign tokens (secret or private key).
+     * @param verificationKey The key used to verify tokens (secret or public key).
+     * @param retiredAt       When the key stopped signing, or {@code null} if it is active or next.
+     */
+    public record RingKey(String kid, Key signingKey, Key verificationKey, Instant retiredAt) {
+
+        RingKey retire(Instant when) {
+            return new RingKey(kid, signingKey, verificationKey, when);
+        }
+    }
+
+    /**
+     * A pre-serialized JWK Set and its entity tag.
+     *
+     * @param body The JSON document, serialized once per rotation.
+     * @param etag A strong entity tag derived from the body.
+     */
+    public record JwksDocument(byte[] body, String etag) {
+    }
+
+    private final String algorithmId;
+    private final SecureDigestAlgorithm<Key, Key> algorithm;
+    private final boolean asymmetric;
+    private final Duration retention;
+
+    private final Map<String, RingKey> keys = new ConcurrentHashMap<>();
+    private volatile RingKey active;
+    private volatile RingKey next;
+    private volatile JwksDocument jwks;
+
+    /**
+     * Constructs the key ring described by the given properties.
+     *
+     * @param properties The JWT configuration holding the algorithm, secret and token lifetime.
+     * @throws IllegalStateException if the algorithm is unsupported or HS256 is used without a secret.
+     */
+    @SuppressWarnings("unchecked")
+    public KeyRing(JwtProperties properties) {
+        this.algorithmId = properties.getSigning().getAlgorithm();
+        final SecureDigestAlgorithm<?, ?> selected = switch (algorithmId) {
+            case "HS256" -> Jwts.SIG.HS256;
+            case "RS256" -> Jwts.SIG.RS256;
+            case "ES256" -> Jwts.SIG.ES256;
+            case "EdDSA" -> Jwts.SIG.EdDSA;
+            default -> throw new IllegalStateException("Unsupported jwt.signing.algorithm: " + algorithmId);
+        };
+        // Every key in the ring matches the selected algorithm, so it can be used with plain Key references.
+        this.algorithm = (SecureDigestAlgorithm<Key, Key>) selected;
+        this.asymmetric = !"HS256".equals(algorithmId);
+        this.retention = properties.getExpiration();
+
+        if (asymmetric) {
+            this.active = generate();
+            this.next = generate();
+            keys.put(active.kid(), active);
+            keys.put(next.kid(), next);
+        } else {
+            if (properties.getSecret() == null || properties.getSecret().isBlank()) {
+                throw new IllegalStateException("jwt.secret must be configured for HS256");
+            }
+            SecretKey secretKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(properties.getSecret()));
+            this.active = new RingKey(secretKid(secretKey), secretKey, secretKey, null);
+            keys.put(active.kid(), active);
+        }
+        this.jwks = serializeJwks();
+    }
+
+    /**
+     * @return The JWS {@code alg} value of every key in this ring.
+     */
+    public String algorithmId() {
+        return algorithmId;
+    }
+
+    /**
+     * @return The signature algorithm of every key in this ring.
+     */
+    public SecureDigestAlgorithm<Key, Key> algorithm() {
+        return algorithm;
+    }
+
+    /**
+     * @return The key currently used to sign new tokens.
+     */
+    public RingKey active() {
+        return active;
+    }
+
+    /**
+     * Returns the verification key for a {@code kid}.
+     *
+     * @param kid The key identifier from the token header.
+     * @return The verification key, or {@code null} if no key with that id is in the ring.
+     */
+    public Key verificationKey(String kid) {
+        RingKey key = kid != null ? keys.get(kid) : null;
+        return key != null ? key.verificationKey() : null;
+    }
+
+    /**
+     * Resolves the verification key for a JWS during parsing.
+     *
+     * @param header The protected header of the token being verified.
+     * @return The verification key for the header's {@code kid}.
+     * @throws InvalidKeyException if the {@code kid} is missing or unknown.
+     */
+    @Override
+    protected Key locate(JwsHeader header) {
+        String kid = header.getKeyId();
+        // HS256 tokens issued before key ids were introduced carry no kid; they can only use the single secret.
+        Key key = kid == null && !asymmetric ? active.verificationKey() : verificationKey(kid);
+        if (key == null) {
+            throw new InvalidKeyException("Unknown signing key id");
+        }
+        return key;
+    }
+
+    /**
+     * @return The current public JWK Set; empty for HS256, which has no public key.
+     */
+    public JwksDocument jwks() {
+        return jwks;
+    }
+
+    /**
+     * Promotes the next key to active, retires the previous active key, generates a new next key
+     * and drops keys retired for longer than one token lifetime. Does nothing for HS256.
+     */
+    @Scheduled(initialDelayString = "${jwt.signing.rotation-interval:1d}",
+            fixedDelayString = "${jwt.signing.rotation-interval:1d}")
+    public synchronized void rotate() {
+        if (!asymmetric) {
+            return;
+        }
+        Instant now = Instant.now();
+        RingKey retiring = active.retire(now);
+        RingKey promoted = next;
+        RingKey generated = generate();
+
+        keys.put(retiring.kid(), retiring);
+        keys.put(generated.kid(), generated);
+        next = generated;
+        active = promoted;
+        keys.values().removeIf(key -> key.retiredAt() != null && key.retiredAt().plus(retention).isBefore(now));
+        jwks = serializeJwks();
+
+        log.info("Rotated {} signing key: active={}, next={}, keys in ring={}",
+                algorithmId, promoted.kid(), generated.kid(), keys.size());
+    }
+
+    private RingKey generate() {
+        KeyPair pair = switch (algorithmId) {
+            case "RS256" -> Jwts.SIG.RS256.keyPair().build();
+            case "ES256" -> Jwts.SIG.ES256.keyPair().build();
+            default -> Jwks.CRV.Ed25519.keyPair().build();
+        };
+        String kid = Jwks.builder().key(pair.getPublic()).idFromThumbprint().build().getId();
+        return new RingKey(kid, pair.getPrivate(), pair.getPublic(), null);
+    }
+
+    private JwksDocument serializeJwks() {
+        StringJoiner joiner = new StringJoiner(",", "{\"keys\":[", "]}");
+        if (asymmetric) {
+            for (RingKey key : keys.values()) {
+                PublicJwk<?> jwk = Jwks.builder()
+                        .key((PublicKey) key.verificationKey())
+                        .id(key.kid())
+                        .algorithm(algorithmId)
+                        .publicKeyUse("sig")
+                        .build();
+                joiner.add(Jwks.json(jwk));
+            }
+        }
+        byte[] body = joiner.toString().getBytes(StandardCharsets.UTF_8);
+        String etag = '"' + Encoders.BASE64URL.encode(Arrays.copyOf(sha256(body), 12)) + '"';
+        return new JwksDocument(body, etag);
+    }
+
+    /** Derives a stable, non-reversible id for the HMAC key so that tokens carry a {@code kid} in every mode. */
+    private static String secretKid(SecretKey key) {
+        return "hs-" + Encoders.BASE64URL.encode(Arrays.copyOf(sha256(key.getEncoded()), 6));
+    }
+
+    private static byte[] sha256(byte[] input) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(input);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
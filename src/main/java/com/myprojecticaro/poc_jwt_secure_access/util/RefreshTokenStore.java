@@ -0,0 +1,337 @@
+package com.myprojecticaro.poc_jwt_secure_access.util;
+
+import com.myprojecticaro.poc_jwt_secure_access.config.JwtProperties;
+import io.jsonwebtoken.io.DecodingException;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Encoders;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * <p>
+ * In-memory store of opaque refresh tokens with rotation and reuse detection.
+ * </p>
+ *
+ * <p>
+ * A refresh token is 256 random bits, Base64URL-encoded. Every login starts a <i>family</i>, and the
+ * first 128 bits of each token name the family it belongs to. The store keeps one entry per family:
+ * the SHA-256 digest of its current token and a generation counter, so a dump of the store cannot be
+ * replayed and memory does not grow with the number of rotations. Each successful
+ * {@link #rotate(String)} replaces the current token with the next generation. Presenting any other
+ * token of the family means an older generation was copied, so the whole family is revoked and both
+ * the attacker and the legitimate client must log in again.
+ * </p>
+ *
+ * <p><b>Concurrency:</b></p>
+ * <p>
+ * Families live in a {@link ConcurrentHashMap}; lookups take no lock and advancing a generation is a
+ * compare-and-set on the family, so concurrent rotations of different families never contend and two
+ * racing rotations of the same token cannot both succeed.
+ * </p>
+ *
+ * <p><b>Expiry:</b></p>
+ * <p>
+ * A family is kept while its current token is valid. Expired and revoked families are removed by
+ * {@link #sweep()}, which examines at most {@code jwt.refresh.sweep-batch-size} families per run and
+ * resumes where the previous run stopped, so no single sweep walks the whole map.
+ * </p>
+ *
+ * @see com.myprojecticaro.poc_jwt_secure_access.service.JwtService#refresh(String)
+ */
+@Component
+public class RefreshTokenStore {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenStore.class);
+
+    private static final int TOKEN_BYTES = 32;
+    private static final int FAMILY_ID_BYTES = 16;
+    /** Length of a Base64URL-encoded token without padding. */
+    private static final int TOKEN_LENGTH = 43;
+
+    private static final VarHandle LONG_VIEW =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    /**
+     * Outcome of presenting a refresh token.
+     */
+    public enum Status {
+        /** The token was valid; a new token was issued and the presented one can no longer be used. */
+        ROTATED(0),
+        /** The token is unknown, malformed or belongs to a revoked family. */
+        INVALID(1),
+        /** The token, or the rotation chain it belongs to, has expired. */
+        EXPIRED(2),
+        /** The token is an older generation of its family; the family has now been revoked. */
+        REUSED(3);
+
+        private static final Status[] BY_CODE = new Status[4];
+
+        static {
+            for (Status status : values()) {
+                BY_CODE[status.code] = status;
+            }
+        }
+
+        private final byte code;
+
+        Status(int code) {
+            this.code = (byte) code;
+        }
+
+        /**
+         * @return The code this outcome is stored as in the audit trail, which never changes once written to disk.
+         */
+        public byte code() {
+            return code;
+        }
+
+        /**
+         * Looks up an outcome by its stored code.
+         *
+         * @param code The stored code.
+         * @return The outcome, or {@code null} if the code is unknown.
+         */
+        public static Status ofCode(int code) {
+            return code >= 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+        }
+    }
+
+    /**
+     * A newly issued refresh token.
+     *
+     * @param token     The opaque token to hand to the client; never stored.
+     * @param expiresAt When the token stops being accepted.
+     */
+    public record Issued(String token, Instant expiresAt) {
+    }
+
+    /**
+     * Result of {@link #rotate(String)}.
+     *
+     * @param status   The outcome.
+     * @param username The user the token was issued to, when {@link Status#ROTATED}.
+     * @param format   The access token format chosen at login, when {@link Status#ROTATED}.
+     * @param next     The replacement token, when {@link Status#ROTATED}.
+     */
+    public record Rotation(Status status, String username, TokenFormat format, Issued next) {
+
+        private static final Rotation INVALID = new Rotation(Status.INVALID, null, null, null);
+        private static final Rotation EXPIRED = new Rotation(Status.EXPIRED, null, null, null);
+        private static final Rotation REUSED = new Rotation(Status.REUSED, null, null, null);
+
+        public boolean isRotated() {
+            return status == Status.ROTATED;
+        }
+    }
+
+    /** All tokens descending from one login; only the current generation is accepted. */
+    private static final class Family {
+
+        final String username;
+        final TokenFormat format;
+        final long expiresAtMillis;
+        final AtomicReference<Generation> current;
+        volatile boolean revoked;
+
+        Family(String username, TokenFormat format, long expiresAtMillis, Generation first) {
+            this.username = username;
+            this.format = format;
+            this.expiresAtMillis = expiresAtMillis;
+            this.current = new AtomicReference<>(first);
+        }
+
+        boolean isRemovable(long now) {
+            return current.get().expiresAtMillis() <= now || revoked;
+        }
+    }
+
+    /**
+     * The token a family currently accepts.
+     *
+     * @param token           The digest of the token.
+     * @param number          How many rotations preceded it.
+     * @param expiresAtMillis When the token stops being accepted.
+     */
+    private record Generation(TokenDigest token, long number, long expiresAtMillis) {
+    }
+
+    /** The first 128 bits of a token, shared by every token of a family. */
+    private record FamilyId(long high, long low) {
+    }
+
+    private final Map<FamilyId, Family> families = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+    private final long ttlMillis;
+    private final long maxLifetimeMillis;
+    private final int sweepBatchSize;
+    private Iterator<Map.Entry<FamilyId, Family>> sweepCursor;
+
+    /**
+     * Constructs the store configured by {@code jwt.refresh.*}.
+     *
+     * @param properties The JWT configuration holding the refresh token settings.
+     */
+    public RefreshTokenStore(JwtProperties properties) {
+        JwtProperties.Refresh refresh = properties.getRefresh();
+        this.ttlMillis = refresh.getTtl().toMillis();
+        this.maxLifetimeMillis = refresh.getMaxLifetime().toMillis();
+        this.sweepBatchSize = Math.max(1, refresh.getSweepBatchSize());
+    }
+
+    /**
+     * Issues the first refresh token of a new family, after a successful login.
+     *
+     * @param username The authenticated user.
+     * @return The new token and its expiry.
+     */
+    public Issued issue(String username) {
+        return issue(username, TokenFormat.JWS);
+    }
+
+    /**
+     * Issues the first refresh token of a new family whose access tokens use the given format.
+     *
+     * @param username The authenticated user.
+     * @param format   The access token format chosen at login, kept for every rotation of the family.
+     * @return The new token and its expiry.
+     */
+    public Issued issue(String username, TokenFormat format) {
+        long now = System.currentTimeMillis();
+        long familyExpiresAt = now + maxLifetimeMillis;
+        long expiresAt = Math.min(now + ttlMillis, familyExpiresAt);
+        while (true) {
+            byte[] bytes = newToken();
+            String token = Encoders.BASE64URL.encode(bytes);
+            Generation first = new Generation(TokenDigest.sha256(token), 0, expiresAt);
+            Family family = new Family(username, format, familyExpiresAt, first);
+            if (families.putIfAbsent(familyOf(bytes), family) == null) {
+                return new Issued(token, Instant.ofEpochMilli(expiresAt));
+            }
+        }
+    }
+
+    /**
+     * Consumes a refresh token and issues its replacement.
+     *
+     * @param presented The token sent by the client.
+     * @return The outcome; only {@link Status#ROTATED} carries a username and a new token.
+     */
+    public Rotation rotate(String presented) {
+        byte[] presentedBytes = decode(presented);
+        Family family = presentedBytes == null ? null : families.get(familyOf(presentedBytes));
+        if (family == null || family.revoked) {
+            return Rotation.INVALID;
+        }
+        long now = System.currentTimeMillis();
+        Generation current = family.current.get();
+        if (current.expiresAtMillis() <= now) {
+            return Rotation.EXPIRED;
+        }
+        if (!current.token().equals(TokenDigest.sha256(presented))) {
+            return reused(family);
+        }
+        long expiresAt = Math.min(now + ttlMillis, family.expiresAtMillis);
+        if (expiresAt <= now) {
+            return Rotation.EXPIRED;
+        }
+        byte[] bytes = newToken();
+        System.arraycopy(presentedBytes, 0, bytes, 0, FAMILY_ID_BYTES);
+        String token = Encoders.BASE64URL.encode(bytes);
+        Generation next = new Generation(TokenDigest.sha256(token), current.number() + 1, expiresAt);
+        if (!family.current.compareAndSet(current, next)) {
+            // A concurrent rotation of the same token won; this presentation is a replay.
+            return reused(family);
+        }
+        return new Rotation(Status.ROTATED, family.username, family.format,
+                new Issued(token, Instant.ofEpochMilli(expiresAt)));
+    }
+
+    private static Rotation reused(Family family) {
+        family.revoked = true;
+        log.warn("Refresh token reuse detected for user {} at generation {}; revoked its token family",
+                family.username, family.current.get().number());
+        return Rotation.REUSED;
+    }
+
+    /**
+     * Revokes the family of a refresh token, typically on logout.
+     *
+     * @param presented The refresh token sent by the client.
+     * @param username  The user the token must belong to; tokens of other users are left untouched.
+     * @return {@code true} if a family was revoked.
+     */
+    public boolean revoke(String presented, String username) {
+        byte[] presentedBytes = decode(presented);
+        Family family = presentedBytes == null ? null : families.get(familyOf(presentedBytes));
+        if (family == null || !family.username.equals(username)) {
+            return false;
+        }
+        family.revoked = true;
+        return true;
+    }
+
+    /**
+     * Removes up to {@code jwt.refresh.sweep-batch-size} expired or revoked families, continuing from where
+     * the previous sweep stopped.
+     */
+    @Scheduled(initialDelayString = "${jwt.refresh.sweep-interval:1m}",
+            fixedDelayString = "${jwt.refresh.sweep-interval:1m}")
+    public void sweep() {
+        sweep(System.currentTimeMillis());
+    }
+
+    synchronized int sweep(long now) {
+        if (sweepCursor == null || !sweepCursor.hasNext()) {
+            sweepCursor = families.entrySet().iterator();
+        }
+        int removed = 0;
+        for (int examined = 0; examined < sweepBatchSize && sweepCursor.hasNext(); examined++) {
+            if (sweepCursor.next().getValue().isRemovable(now)) {
+                sweepCursor.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * @return The number of stored token families, one per login that is still live.
+     */
+    public int size() {
+        return families.size();
+    }
+
+    private byte[] newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+
+    /** Returns the bytes of a presented token, or {@code null} if it is not a well-formed token. */
+    private static byte[] decode(String presented) {
+        if (presented == null || presented.length() != TOKEN_LENGTH) {
+            return null;
+        }
+        try {
+            return Decoders.BASE64URL.decode(presented);
+        } catch (DecodingException e) {
+            return null;
+        }
+    }
+
+    private static FamilyId familyOf(byte[] token) {
+        return new FamilyId((long) LONG_VIEW.get(token, 0), (long) LONG_VIEW.get(token, 8));
+    }
+}
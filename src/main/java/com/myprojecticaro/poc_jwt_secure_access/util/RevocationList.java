@@ -0,0 +1,179 @@
+package com.myprojecticaro.poc_jwt_secure_access.util;
+
+import com.myprojecticaro.poc_jwt_secure_access.config.JwtProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>
+ * Denylist of revoked access tokens, keyed by their {@code jti}, consulted by
+ * {@link JwtUtil#validate(String, int)} on every request.
+ * </p>
+ *
+ * <p><b>Lookup:</b></p>
+ * <ol>
+ *     <li>Nothing revoked: a single read of the entry count, the common case.</li>
+ *     <li>A Bloom filter of revoked ids answers "definitely not revoked" with a handful of bit reads
+ *         and no allocation.</li>
+ *     <li>Only on a Bloom filter hit (a revoked token or a ~1% false positive) is the exact
+ *         {@link ConcurrentHashMap} of revoked ids consulted.</li>
+ * </ol>
+ *
+ * <p><b>Aging:</b></p>
+ * <p>
+ * Each revoked id is kept until the token's own {@code exp}, after which the token is rejected as
+ * expired anyway. A Bloom filter cannot delete, so {@link #rebuild()} periodically drops expired ids
+ * from the exact map and builds a fresh filter from what remains; memory stays proportional to the
+ * number of revoked, still-valid tokens.
+ * </p>
+ *
+ * <p>
+ * Revocations and rebuilds are serialized by a lock; lookups never take it. The filter is sized
+ * from {@code jwt.revocation.expected-entries} for a 1% false-positive rate.
+ * </p>
+ *
+ * @see JwtUtil
+ */
+@Component
+public class RevocationList {
+
+    /** Bits per expected entry and probes per lookup for a ~1% false-positive rate. */
+    private static final int BITS_PER_ENTRY = 10;
+    private static final int PROBES = 7;
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final int bitCount;
+    private volatile BloomFilter filter;
+
+    /**
+     * Constructs an empty denylist sized from {@code jwt.revocation.expected-entries}.
+     *
+     * @param properties The JWT configuration holding the revocation settings.
+     */
+    public RevocationList(JwtProperties properties) {
+        long bits = (long) Math.max(1, properties.getRevocation().getExpectedEntries()) * BITS_PER_ENTRY;
+        // Round up to a power of two so probe positions are taken with a mask.
+        this.bitCount = (int) Math.min(1L << 30, Long.highestOneBit(Math.max(64, bits - 1)) << 1);
+        this.filter = new BloomFilter(bitCount);
+    }
+
+    /**
+     * Checks whether a verified token has been revoked.
+     *
+     * @param token The verified token.
+     * @return {@code true} if the token's {@code jti} is on the denylist.
+     */
+    public boolean isRevoked(VerifiedToken token) {
+        final String id = token.id();
+        if (id == null || revoked.isEmpty()) {
+            return false;
+        }
+        return filter.mightContain(hash(id)) && revoked.containsKey(id);
+    }
+
+    /**
+     * Revokes a token until its expiry. Tokens without a {@code jti} or already expired are ignored.
+     *
+     * @param token The verified token to revoke.
+     * @return {@code true} if the token was added to the denylist.
+     */
+    public boolean revoke(VerifiedToken token) {
+        if (token.id() == null || token.expiration() == null || token.isExpiredAt(Instant.now())) {
+            return false;
+        }
+        writeLock.lock();
+        try {
+            revoked.put(token.id(), token.expiration().toEpochMilli());
+            filter.add(hash(token.id()));
+        } finally {
+            writeLock.unlock();
+        }
+        return true;
+    }
+
+    /**
+     * Drops ids whose tokens have expired and replaces the Bloom filter with one built from the rest.
+     */
+    @Scheduled(initialDelayString = "${jwt.revocation.rebuild-interval:1m}",
+            fixedDelayString = "${jwt.revocation.rebuild-interval:1m}")
+    public void rebuild() {
+        rebuild(System.currentTimeMillis());
+    }
+
+    void rebuild(long now) {
+        writeLock.lock();
+        try {
+            revoked.values().removeIf(expiresAt -> expiresAt <= now);
+            BloomFilter rebuilt = new BloomFilter(bitCount);
+            for (String id : revoked.keySet()) {
+                rebuilt.add(hash(id));
+            }
+            filter = rebuilt;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * @return The number of revoked, not yet aged-out token ids.
+     */
+    public int size() {
+        return revoked.size();
+    }
+
+    /** 64-bit hash of an id: FNV-1a over the characters followed by a Murmur3 finalizer. */
+    private static long hash(String id) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < id.length(); i++) {
+            h ^= id.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /** Fixed-size Bloom filter using double hashing over the two halves of a 64-bit hash. */
+    private static final class BloomFilter {
+
+        private final AtomicLongArray words;
+        private final int mask;
+
+        BloomFilter(int bitCount) {
+            this.words = new AtomicLongArray(bitCount >>> 6);
+            this.mask = bitCount - 1;
+        }
+
+        void add(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32) | 1;
+            for (int i = 0; i < PROBES; i++) {
+                int bit = (h1 + i * h2) & mask;
+                // Writers hold the list's lock, so a plain read-modify-write is safe.
+                words.set(bit >>> 6, words.get(bit >>> 6) | (1L << bit));
+            }
+        }
+
+        boolean mightContain(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32) | 1;
+            for (int i = 0; i < PROBES; i++) {
+                int bit = (h1 + i * h2) & mask;
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,409 @@
+package com.myprojecticaro.poc_jwt_secure_access.util;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * <p>
+ * Route-to-authority table compiled into a path trie, answering "which authorities may call this
+ * method and path" in time proportional to the path length, however many routes are configured.
+ * </p>
+ *
+ * <p>
+ * Every authority named by a route gets one bit; a route's requirement is the bitset of the
+ * authorities it accepts (any one of them grants access), and {@code 0} means any authenticated
+ * caller. {@link #authorityMask} turns the authorities of a caller into the same kind of bitset, so
+ * the decision itself is a single {@code AND}.
+ * </p>
+ *
+ * <p><b>Patterns:</b></p>
+ * <ul>
+ *     <li>literal segments, e.g. {@code /api/reports}</li>
+ *     <li>{@code *} or {@code {name}} — exactly one segment</li>
+ *     <li>{@code **} or {@code {*name}} — as the last segment only, the path so far and anything below it</li>
+ * </ul>
+ *
+ * <p>
+ * The most specific route wins: a route matching the whole path beats a {@code **} route, a longer
+ * {@code **} prefix beats a shorter one, and a literal segment beats {@code *} at the same position.
+ * For the same pattern, a route listing the request method beats one without methods, and otherwise
+ * the first declared route wins. Paths matching no route only require authentication.
+ * </p>
+ *
+ * <p>
+ * To decide without backtracking, compilation copies each {@code *} subtree into its literal
+ * siblings (where they have no route of their own), so a lookup follows a single branch.
+ * </p>
+ *
+ * <p><b>Example:</b></p>
+ * <pre>{@code
+ * RouteTable table = RouteTable.compile(List.of(
+ *         new RouteTable.Route("/actuator/**", List.of(), List.of("ROLE_ADMIN")),
+ *         new RouteTable.Route("/api/reports/{id}", List.of("DELETE"), List.of("ROLE_ADMIN"))));
+ * boolean allowed = table.isGranted("DELETE", "/api/reports/42", authentication.getAuthorities());
+ * }</pre>
+ */
+public final class RouteTable {
+
+    /**
+     * A configured route.
+     *
+     * @param pattern     The path pattern, starting with {@code /}.
+     * @param methods     The HTTP methods the route applies to; empty for all methods.
+     * @param authorities The authorities accepted, any one of which grants access; empty for any authenticated caller.
+     */
+    public record Route(String pattern, List<String> methods, List<String> authorities) {
+
+        public Route {
+            methods = methods != null ? List.copyOf(methods) : List.of();
+            authorities = authorities != null ? List.copyOf(authorities) : List.of();
+        }
+    }
+
+    /** Requirement of a path matching no route: any authenticated caller. */
+    public static final long AUTHENTICATED = 0L;
+
+    /** Marks a method slot without a route; never a valid requirement, since the sign bit is never assigned. */
+    private static final long NONE = Long.MIN_VALUE;
+
+    private static final int MAX_AUTHORITIES = 63;
+
+    private static final List<String> METHODS = List.of("GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS", "TRACE");
+
+    /** Slot of the methods not in {@link #METHODS}; only filled by routes without methods. */
+    private static final int OTHER_METHOD = METHODS.size();
+
+    private static final int SLOTS = METHODS.size() + 1;
+
+    private final Node root;
+    private final Map<String, Long> bits;
+    private final int routes;
+
+    private RouteTable(Node root, Map<String, Long> bits, int routes) {
+        this.root = root;
+        this.bits = bits;
+        this.routes = routes;
+    }
+
+    /**
+     * Compiles routes into a table.
+     *
+     * @param routes The routes, in declaration order.
+     * @return The compiled table.
+     * @throws IllegalStateException if a pattern or method is not supported, or more than 63 distinct authorities are used.
+     */
+    public static RouteTable compile(List<Route> routes) {
+        Map<String, Long> bits = new LinkedHashMap<>();
+        Builder root = new Builder();
+        // Method-specific routes first, so they win over a method-less route for the same pattern.
+        for (boolean withMethods : new boolean[] {true, false}) {
+            for (Route route : routes) {
+                if (route.methods().isEmpty() != withMethods) {
+                    insert(root, route, mask(route.authorities(), bits));
+                }
+            }
+        }
+        root.determinize();
+        return new RouteTable(root.build(), Map.copyOf(bits), routes.size());
+    }
+
+    /**
+     * Looks up the authorities required for a request.
+     *
+     * @param method The HTTP method.
+     * @param path   The decoded request path within the application, starting with {@code /}.
+     * @return The bitset of accepted authorities, or {@link #AUTHENTICATED} if any authenticated caller is allowed.
+     */
+    public long requiredAuthorities(String method, String path) {
+        final int slot = slot(method);
+        Node node = root;
+        long fallback = root.prefix(slot);
+        final int length = path.length();
+        int start = 1;
+        while (start < length) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = length;
+            }
+            Node next = node.child(path, start, end);
+            if (next == null) {
+                return fallback != NONE ? fallback : AUTHENTICATED;
+            }
+            node = next;
+            long prefix = node.prefix(slot);
+            if (prefix != NONE) {
+                fallback = prefix;
+            }
+            start = end + 1;
+        }
+        long exact = node.exact(slot);
+        if (exact != NONE) {
+            return exact;
+        }
+        return fallback != NONE ? fallback : AUTHENTICATED;
+    }
+
+    /**
+     * Builds the bitset of a caller's authorities; authorities no route names are ignored.
+     *
+     * @param authorities The caller's authorities.
+     * @return The bitset, to be intersected with {@link #requiredAuthorities}.
+     */
+    public long authorityMask(Collection<? extends GrantedAuthority> authorities) {
+        long mask = 0;
+        for (GrantedAuthority authority : authorities) {
+            Long bit = bits.get(authority.getAuthority());
+            if (bit != null) {
+                mask |= bit;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Decides whether a caller with the given authorities may send the request.
+     *
+     * @param method      The HTTP method.
+     * @param path        The decoded request path within the application.
+     * @param authorities The caller's authorities.
+     * @return {@code true} if no authority is required or the caller holds one of the accepted authorities.
+     */
+    public boolean isGranted(String method, String path, Collection<? extends GrantedAuthority> authorities) {
+        long required = requiredAuthorities(method, path);
+        return required == AUTHENTICATED || (authorityMask(authorities) & required) != 0;
+    }
+
+    /**
+     * @return The number of routes compiled into this table.
+     */
+    public int size() {
+        return routes;
+    }
+
+    private static long mask(List<String> authorities, Map<String, Long> bits) {
+        long mask = 0;
+        for (String authority : authorities) {
+            Long bit = bits.get(authority);
+            if (bit == null) {
+                if (bits.size() == MAX_AUTHORITIES) {
+                    throw new IllegalStateException("Routes may name at most " + MAX_AUTHORITIES + " distinct authorities");
+                }
+                bit = 1L << bits.size();
+                bits.put(authority, bit);
+            }
+            mask |= bit;
+        }
+        return mask;
+    }
+
+    private static void insert(Builder root, Route route, long required) {
+        String pattern = route.pattern();
+        if (pattern == null || !pattern.startsWith("/")) {
+            throw new IllegalStateException("Route pattern must start with '/': " + pattern);
+        }
+        String[] segments = pattern.length() == 1 ? new String[0] : pattern.substring(1).split("/", -1);
+        Builder node = root;
+        boolean prefix = false;
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (segment.equals("**") || (segment.startsWith("{*") && segment.endsWith("}"))) {
+                if (i != segments.length - 1) {
+                    throw new IllegalStateException("'**' is only supported as the last segment: " + pattern);
+                }
+                prefix = true;
+            } else if (segment.equals("*") || (segment.startsWith("{") && segment.endsWith("}"))) {
+                node = node.wildcard();
+            } else if (segment.isEmpty() || segment.contains("*") || segment.contains("{")) {
+                throw new IllegalStateException("Unsupported route pattern segment '" + segment + "': " + pattern);
+            } else {
+                node = node.literal(segment);
+            }
+        }
+        long[] target = prefix ? node.prefix() : node.exact();
+        if (route.methods().isEmpty()) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                setIfAbsent(target, slot, required);
+            }
+        } else {
+            for (String method : route.methods()) {
+                int slot = METHODS.indexOf(method.toUpperCase(Locale.ROOT));
+                if (slot < 0) {
+                    throw new IllegalStateException("Unsupported HTTP method '" + method + "' in route " + pattern);
+                }
+                setIfAbsent(target, slot, required);
+            }
+        }
+    }
+
+    private static void setIfAbsent(long[] slots, int slot, long required) {
+        if (slots[slot] == NONE) {
+            slots[slot] = required;
+        }
+    }
+
+    private static int slot(String method) {
+        return switch (method) {
+            case "GET" -> 0;
+            case "HEAD" -> 1;
+            case "POST" -> 2;
+            case "PUT" -> 3;
+            case "PATCH" -> 4;
+            case "DELETE" -> 5;
+            case "OPTIONS" -> 6;
+            case "TRACE" -> 7;
+            default -> OTHER_METHOD;
+        };
+    }
+
+    private static long[] emptySlots() {
+        long[] slots = new long[SLOTS];
+        Arrays.fill(slots, NONE);
+        return slots;
+    }
+
+    /**
+     * Mutable trie node used while compiling.
+     */
+    private static final class Builder {
+
+        private final Map<String, Builder> literals = new LinkedHashMap<>();
+        private Builder wildcard;
+        private long[] exact;
+        private long[] prefix;
+
+        Builder literal(String segment) {
+            return literals.computeIfAbsent(segment, key -> new Builder());
+        }
+
+        Builder wildcard() {
+            if (wildcard == null) {
+                wildcard = new Builder();
+            }
+            return wildcard;
+        }
+
+        long[] exact() {
+            if (exact == null) {
+                exact = emptySlots();
+            }
+            return exact;
+        }
+
+        long[] prefix() {
+            if (prefix == null) {
+                prefix = emptySlots();
+            }
+            return prefix;
+        }
+
+        /**
+         * Copies the {@code *} subtree into every literal sibling, recursively, keeping the routes the
+         * literal branch already has.
+         */
+        void determinize() {
+            for (Builder literal : literals.values()) {
+                if (wildcard != null) {
+                    literal.mergeFrom(wildcard);
+                }
+                literal.determinize();
+            }
+            if (wildcard != null) {
+                wildcard.determinize();
+            }
+        }
+
+        private void mergeFrom(Builder source) {
+            if (source.exact != null) {
+                merge(exact(), source.exact);
+            }
+            if (source.prefix != null) {
+                merge(prefix(), source.prefix);
+            }
+            source.literals.forEach((segment, child) -> literal(segment).mergeFrom(child));
+            if (source.wildcard != null) {
+                wildcard().mergeFrom(source.wildcard);
+            }
+        }
+
+        private static void merge(long[] target, long[] source) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                setIfAbsent(target, slot, source[slot]);
+            }
+        }
+
+        Node build() {
+            String[] keys = null;
+            Node[] children = null;
+            if (!literals.isEmpty()) {
+                int size = Integer.highestOneBit(literals.size() * 2 - 1) * 2;
+                keys = new String[size];
+                children = new Node[size];
+                for (Map.Entry<String, Builder> entry : literals.entrySet()) {
+                    int index = entry.getKey().hashCode() & (size - 1);
+                    while (keys[index] != null) {
+                        index = (index + 1) & (size - 1);
+                    }
+                    keys[index] = entry.getKey();
+                    children[index] = entry.getValue().build();
+                }
+            }
+            return new Node(keys, children, wildcard != null ? wildcard.build() : null, exact, prefix);
+        }
+    }
+
+    /**
+     * Immutable compiled trie node. Literal children live in an open-addressing table probed with the
+     * hash of a path region, so looking up a segment allocates no substring.
+     */
+    private static final class Node {
+
+        private final String[] keys;
+        private final Node[] children;
+        private final Node wildcard;
+        private final long[] exact;
+        private final long[] prefix;
+
+        Node(String[] keys, Node[] children, Node wildcard, long[] exact, long[] prefix) {
+            this.keys = keys;
+            this.children = children;
+            this.wildcard = wildcard;
+            this.exact = exact;
+            this.prefix = prefix;
+        }
+
+        long exact(int slot) {
+            return exact != null ? exact[slot] : NONE;
+        }
+
+        long prefix(int slot) {
+            return prefix != null ? prefix[slot] : NONE;
+        }
+
+        /**
+         * @return The child for the segment {@code path[start, end)}: its literal child if any, otherwise the wildcard.
+         */
+        Node child(String path, int start, int end) {
+            if (keys != null) {
+                int hash = 0;
+                for (int i = start; i < end; i++) {
+                    hash = 31 * hash + path.charAt(i);
+                }
+                int mask = keys.length - 1;
+                int length = end - start;
+                for (int index = hash & mask; keys[index] != null; index = (index + 1) & mask) {
+                    String key = keys[index];
+                    if (key.length() == length && path.regionMatches(start, key, 0, length)) {
+                        return children[index];
+                    }
+                }
+            }
+            return wildcard;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.myprojecticaro.poc_jwt_secure_access.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * SHA-256 digest of a token, held as four longs to keep map keys small and free of the raw token.
+ *
+ * @see VerifiedTokenCache
+ * @see RefreshTokenStore
+ */
+record TokenDigest(long a, long b, long c, long d) {
+
+    private static final VarHandle LONG_VIEW =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private static final MessageDigest SHA_256_PROTOTYPE;
+
+    static {
+        try {
+            SHA_256_PROTOTYPE = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(TokenDigest::newSha256);
+
+    /**
+     * Hashes a token given as ASCII text, such as a compact JWS or a Base64URL refresh token.
+     *
+     * @param token The token.
+     * @return Its SHA-256 digest.
+     */
+    static TokenDigest sha256(String token) {
+        // Virtual threads serve a single request each, so a thread-local digest would never be reused.
+        MessageDigest digest = Thread.currentThread().isVirtual() ? newSha256() : SHA_256.get();
+        byte[] hash = digest.digest(token.getBytes(StandardCharsets.US_ASCII));
+        return new TokenDigest(
+                (long) LONG_VIEW.get(hash, 0),
+                (long) LONG_VIEW.get(hash, 8),
+                (long) LONG_VIEW.get(hash, 16),
+                (long) LONG_VIEW.get(hash, 24));
+    }
+
+    /** Clones the prototype, which skips the provider lookup of {@link MessageDigest#getInstance(String)}. */
+    private static MessageDigest newSha256() {
+        try {
+            return (MessageDigest) SHA_256_PROTOTYPE.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("SHA-256 digest cannot be cloned", e);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.myprojecticaro.poc_jwt_secure_access.util;
+
+import java.util.Locale;
+
+/**
+ * Encoding of an access token, chosen per client at login.
+ *
+ * @see JwtUtil
+ * @see CwtUtil
+ */
+public enum TokenFormat {
+
+    /** Compact JWS (JSON header and claims, Base64URL, dot-separated); the default. */
+    JWS(0),
+
+    /** CBOR Web Token in a COSE_Mac0 or COSE_Sign1 envelope, Base64URL-encoded (RFC 8392). */
+    CWT(1);
+
+    private static final TokenFormat[] BY_CODE = new TokenFormat[2];
+
+    static {
+        for (TokenFormat format : values()) {
+            BY_CODE[format.code] = format;
+        }
+    }
+
+    private final byte code;
+
+    TokenFormat(int code) {
+        this.code = (byte) code;
+    }
+
+    /**
+     * Returns the code this format is stored as in the audit trail, which never changes once written to disk.
+     *
+     * @return The stable code of this format.
+     */
+    public byte code() {
+        return code;
+    }
+
+    /**
+     * Looks up a format by its stored code.
+     *
+     * @param code The stored code.
+     * @return The format, or {@code null} if the code is unknown.
+     */
+    public static TokenFormat ofCode(int code) {
+        return code >= 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+
+    /**
+     * Detects the format of the token starting at {@code offset} from its first character alone.
+     * <p>
+     * A compact JWS starts with its Base64URL-encoded JSON header, whose {@code '{'} always encodes
+     * to {@code 'e'}. A CWT issued by this service starts with the COSE tag byte {@code 0xD1} or
+     * {@code 0xD2}, which both encode to {@code '0'}.
+     * </p>
+     *
+     * @param value  The string holding the token, for example a full {@code Authorization} header.
+     * @param offset Index of the first token character in {@code value}.
+     * @return {@link #CWT} if the token looks like a CWT, {@link #JWS} otherwise.
+     */
+    public static TokenFormat detect(String value, int offset) {
+        return offset < value.length() && value.charAt(offset) == '0' ? CWT : JWS;
+    }
+
+    /**
+     * Parses a format name as sent by clients, case-insensitively.
+     *
+     * @param name The format name, or {@code null} for the default.
+     * @return The format; {@link #JWS} if {@code name} is {@code null} or blank.
+     * @throws IllegalArgumentException if the name is not a known format.
+     */
+    public static TokenFormat of(String name) {
+        if (name == null || name.isBlank()) {
+            return JWS;
+        }
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,243 @@
+package com.myprojecticaro.poc_jwt_secure_access.util;
+
+import com.myprojecticaro.poc_jwt_secure_access.config.JwtProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Cheap structural checks run on a bearer token before any signature verification.
+ * </p>
+ *
+ * <p>
+ * The checks work directly on the {@code Authorization} header value, starting at a given offset,
+ * so a rejected token is never copied, fully decoded or handed to JJWT. Base64URL segments are
+ * decoded on the fly one byte at a time, which keeps the whole pre-check allocation-free.
+ * </p>
+ *
+ * <p><b>Checks performed, in order:</b></p>
+ * <ol>
+ *     <li>Token length within {@code jwt.max-token-length}.</li>
+ *     <li>Exactly three non-empty, dot-separated segments containing only Base64URL characters.</li>
+ *     <li>The header's {@code alg} equals the algorithm this service signs with.</li>
+ *     <li>The payload's {@code exp}, when present, is not in the past.</li>
+ * </ol>
+ *
+ * <p>
+ * Passing the pre-check does <b>not</b> mean the token is trusted: nothing read here is verified,
+ * so it may only be used to reject, never to accept.
+ * </p>
+ *
+ * @see JwtUtil#validateToken(String)
+ */
+@Component
+public class TokenPrecheck {
+
+    /** The {@code Authorization} scheme prefix, matched case-insensitively. */
+    public static final String BEARER_PREFIX = "Bearer ";
+
+    /** Upper bound for the encoded JOSE header; ours is a few dozen characters. */
+    private static final int MAX_HEADER_LENGTH = 512;
+
+    private static final byte[] ALG_KEY = {'"', 'a', 'l', 'g', '"'};
+    private static final byte[] EXP_KEY = {'"', 'e', 'x', 'p', '"'};
+
+    /** Maps an ASCII character to its Base64URL value, or -1 if it is not in the alphabet. */
+    private static final byte[] BASE64URL = new byte[128];
+
+    static {
+        Arrays.fill(BASE64URL, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64URL[alphabet.charAt(i)] = (byte) i;
+        }
+    }
+
+    /**
+     * Result of the pre-check.
+     */
+    public enum Outcome {
+        /** The token is structurally plausible and must still be verified. */
+        PASSED,
+        /** The token is not a well-formed compact JWS or exceeds the size limits. */
+        MALFORMED,
+        /** The header announces an algorithm other than the one this service uses. */
+        UNSUPPORTED_ALGORITHM,
+        /** The unverified {@code exp} claim is already in the past. */
+        EXPIRED
+    }
+
+    private final int maxTokenLength;
+
+    /** Algorithm every token issued by {@link JwtUtil} is signed with ({@code jwt.signing.algorithm}). */
+    private final String expectedAlgorithm;
+
+    /**
+     * Constructs a new {@code TokenPrecheck}.
+     *
+     * @param properties The JWT configuration holding the maximum token length and signing algorithm.
+     */
+    public TokenPrecheck(JwtProperties properties) {
+        this.maxTokenLength = properties.getMaxTokenLength();
+        this.expectedAlgorithm = properties.getSigning().getAlgorithm();
+    }
+
+    /**
+     * Checks whether an {@code Authorization} header value carries a bearer token,
+     * without copying or lower-casing the header.
+     *
+     * @param authHeader The raw header value, possibly {@code null}.
+     * @return {@code true} if the header starts with {@code "Bearer "} in any letter case.
+     */
+    public static boolean hasBearerPrefix(String authHeader) {
+        return authHeader != null
+                && authHeader.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length());
+    }
+
+    /**
+     * Pre-checks the token that starts at {@code offset} inside {@code value}.
+     *
+     * @param value          The string holding the token, usually the full {@code Authorization} header.
+     * @param offset         Index of the first token character.
+     * @param nowEpochMillis The current time, used for the {@code exp} check.
+     * @return The pre-check {@link Outcome}.
+     */
+    public Outcome check(String value, int offset, long nowEpochMillis) {
+        final int end = value.length();
+        final int length = end - offset;
+        if (length <= 0 || length > maxTokenLength) {
+            return Outcome.MALFORMED;
+        }
+
+        final int firstDot = value.indexOf('.', offset);
+        final int secondDot = firstDot < 0 ? -1 : value.indexOf('.', firstDot + 1);
+        if (firstDot <= offset || secondDot <= firstDot + 1 || secondDot == end - 1
+                || firstDot - offset > MAX_HEADER_LENGTH) {
+            return Outcome.MALFORMED;
+        }
+        if (!isBase64Url(value, offset, firstDot)
+                || !isBase64Url(value, firstDot + 1, secondDot)
+                || !isBase64Url(value, secondDot + 1, end)) {
+            return Outcome.MALFORMED;
+        }
+
+        final int algStart = valueIndexOf(value, offset, firstDot, ALG_KEY);
+        if (algStart < 0 || !stringValueEquals(value, offset, firstDot, algStart, expectedAlgorithm)) {
+            return Outcome.UNSUPPORTED_ALGORITHM;
+        }
+
+        final int expStart = valueIndexOf(value, firstDot + 1, secondDot, EXP_KEY);
+        if (expStart >= 0) {
+            final long exp = parseNumber(value, firstDot + 1, secondDot, expStart);
+            if (exp >= 0 && exp <= Long.MAX_VALUE / 1000 && nowEpochMillis > exp * 1000) {
+                return Outcome.EXPIRED;
+            }
+        }
+        return Outcome.PASSED;
+    }
+
+    /**
+     * Returns {@code true} if every character in {@code [from, to)} belongs to the Base64URL alphabet
+     * and the segment length is a valid unpadded Base64 length.
+     */
+    private static boolean isBase64Url(String s, int from, int to) {
+        if ((to - from) % 4 == 1) {
+            return false;
+        }
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c >= 128 || BASE64URL[c] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Number of bytes obtained by decoding the unpadded Base64URL segment {@code [from, to)}. */
+    private static int decodedLength(int from, int to) {
+        return (to - from) * 3 / 4;
+    }
+
+    /**
+     * Decodes the byte at index {@code i} of the Base64URL segment starting at {@code from}
+     * without materializing the rest of the segment.
+     */
+    private static int decodedByteAt(String s, int from, int i) {
+        final int group = from + (i / 3) * 4;
+        switch (i % 3) {
+            case 0:
+                return ((BASE64URL[s.charAt(group)] << 2) | (BASE64URL[s.charAt(group + 1)] >> 4)) & 0xFF;
+            case 1:
+                return ((BASE64URL[s.charAt(group + 1)] << 4) | (BASE64URL[s.charAt(group + 2)] >> 2)) & 0xFF;
+            default:
+                return ((BASE64URL[s.charAt(group + 2)] << 6) | BASE64URL[s.charAt(group + 3)]) & 0xFF;
+        }
+    }
+
+    /**
+     * Finds a JSON key (given with its quotes) in a Base64URL-encoded segment and returns the
+     * decoded index of the first non-blank byte of its value, or -1 if the key is absent.
+     */
+    private static int valueIndexOf(String s, int from, int to, byte[] quotedKey) {
+        final int n = decodedLength(from, to);
+        outer:
+        for (int i = 0; i + quotedKey.length <= n; i++) {
+            for (int k = 0; k < quotedKey.length; k++) {
+                if (decodedByteAt(s, from, i + k) != quotedKey[k]) {
+                    continue outer;
+                }
+            }
+            int j = skipBlanks(s, from, n, i + quotedKey.length);
+            if (j < n && decodedByteAt(s, from, j) == ':') {
+                return skipBlanks(s, from, n, j + 1);
+            }
+        }
+        return -1;
+    }
+
+    private static int skipBlanks(String s, int from, int n, int i) {
+        while (i < n) {
+            int b = decodedByteAt(s, from, i);
+            if (b != ' ' && b != '\t' && b != '\n' && b != '\r') {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    /** Compares the JSON string value starting at decoded index {@code start} with an ASCII literal. */
+    private static boolean stringValueEquals(String s, int from, int to, int start, String expected) {
+        final int n = decodedLength(from, to);
+        final int last = start + expected.length() + 1;
+        if (last >= n || decodedByteAt(s, from, start) != '"' || decodedByteAt(s, from, last) != '"') {
+            return false;
+        }
+        for (int k = 0; k < expected.length(); k++) {
+            if (decodedByteAt(s, from, start + 1 + k) != expected.charAt(k)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Parses a non-negative JSON integer at decoded index {@code start}, or returns -1 if there is none. */
+    private static long parseNumber(String s, int from, int to, int start) {
+        final int n = decodedLength(from, to);
+        long result = 0;
+        int i = start;
+        while (i < n) {
+            int b = decodedByteAt(s, from, i);
+            if (b < '0' || b > '9') {
+                break;
+            }
+            if (result > (Long.MAX_VALUE - 9) / 10) {
+                return -1;
+            }
+            result = result * 10 + (b - '0');
+            i++;
+        }
+        return i == start ? -1 : result;
+    }
+}
@@ -0,0 +1,72 @@
+package com.myprojecticaro.poc_jwt_secure_access.util;
+
+/**
+ * Outcome of validating a bearer token, reported without throwing exceptions.
+ *
+ * @see TokenValidation
+ * @see JwtUtil#validate(String)
+ */
+public enum TokenStatus {
+
+    /** The signature is valid, the token is not expired and (where checked) the user exists. */
+    VALID(0, "The access token is valid"),
+
+    /** The token is well-formed and correctly signed but its {@code exp} is in the past. */
+    EXPIRED(1, "The access token expired"),
+
+    /** The token is well-formed but its signature does not match. */
+    BAD_SIGNATURE(2, "The access token signature is invalid"),
+
+    /** The token is not a well-formed compact JWS this service could have issued. */
+    MALFORMED(3, "The access token is malformed"),
+
+    /** The token is valid but its subject no longer exists. */
+    UNKNOWN_USER(4, "The access token subject is unknown"),
+
+    /** The token is well-formed, correctly signed and unexpired, but its {@code jti} has been revoked. */
+    REVOKED(5, "The access token has been revoked");
+
+    private static final TokenStatus[] BY_CODE = new TokenStatus[6];
+
+    static {
+        for (TokenStatus status : values()) {
+            BY_CODE[status.code] = status;
+        }
+    }
+
+    private final byte code;
+    private final String description;
+
+    TokenStatus(int code, String description) {
+        this.code = (byte) code;
+        this.description = description;
+    }
+
+    /**
+     * Returns the code this status is stored as in the audit trail, which never changes once written to disk.
+     *
+     * @return The stable code of this status.
+     */
+    public byte code() {
+        return code;
+    }
+
+    /**
+     * Looks up a status by its stored code.
+     *
+     * @param code The stored code.
+     * @return The status, or {@code null} if the code is unknown.
+     */
+    public static TokenStatus ofCode(int code) {
+        return code >= 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+
+    /**
+     * Returns a short, client-safe description suitable for an {@code error_description}.
+     *
+     * @return The description of this status.
+     */
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,58 @@
+package com.myprojecticaro.poc_jwt_secure_access.util;
+
+/**
+ * <p>
+ * Typed result of {@link JwtUtil#validate(String)}: a {@link TokenStatus} and, when the
+ * token could be verified, its {@link VerifiedToken} claims.
+ * </p>
+ *
+ * <p>
+ * Invalid tokens are reported through this value instead of exceptions, so rejecting a
+ * request does not pay for stack-trace construction.
+ * </p>
+ *
+ * @param status The validation outcome.
+ * @param token  The verified claims; non-{@code null} only for {@link TokenStatus#VALID}.
+ */
+public record TokenValidation(TokenStatus status, VerifiedToken token) {
+
+    private static final TokenValidation EXPIRED = new TokenValidation(TokenStatus.EXPIRED, null);
+    private static final TokenValidation BAD_SIGNATURE = new TokenValidation(TokenStatus.BAD_SIGNATURE, null);
+    private static final TokenValidation MALFORMED = new TokenValidation(TokenStatus.MALFORMED, null);
+    private static final TokenValidation UNKNOWN_USER = new TokenValidation(TokenStatus.UNKNOWN_USER, null);
+    private static final TokenValidation REVOKED = new TokenValidation(TokenStatus.REVOKED, null);
+
+    /**
+     * Creates a successful result.
+     *
+     * @param token The verified claims.
+     * @return A {@link TokenStatus#VALID} result.
+     */
+    public static TokenValidation valid(VerifiedToken token) {
+        return new TokenValidation(TokenStatus.VALID, token);
+    }
+
+    /**
+     * Returns the shared, claim-less result for a failure status.
+     *
+     * @param status Any status other than {@link TokenStatus#VALID}.
+     * @return The shared failure result.
+     */
+    public static TokenValidation rejected(TokenStatus status) {
+        return switch (status) {
+            case EXPIRED -> EXPIRED;
+            case BAD_SIGNATURE -> BAD_SIGNATURE;
+            case MALFORMED -> MALFORMED;
+            case UNKNOWN_USER -> UNKNOWN_USER;
+            case REVOKED -> REVOKED;
+            case VALID -> throw new IllegalArgumentException("VALID results must carry the verified token");
+        };
+    }
+
+    /**
+     * @return {@code true} if the token was accepted.
+     */
+    public boolean isValid() {
+        return status == TokenStatus.VALID;
+    }
+}
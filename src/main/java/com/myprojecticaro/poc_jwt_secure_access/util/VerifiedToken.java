@@ -0,0 +1,58 @@
+package com.myprojecticaro.poc_jwt_secure_access.util;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * Immutable result of a single parse-and-verify pass over a JWT token.
+ * </p>
+ *
+ * <p>
+ * Instances are produced by {@link JwtUtil#validateToken(String)} once the signature
+ * has been checked, so every field can be read without decoding the token again.
+ * </p>
+ *
+ * @param subject     The username (subject) contained in the token.
+ * @param id          The unique token id ({@code jti}), or {@code null} for tokens issued without one.
+ * @param issuedAt    The instant the token was issued, or {@code null} if absent.
+ * @param expiration  The instant the token expires, or {@code null} if absent.
+ * @param authorities The interned authorities decoded from the {@value AuthorityClaims#CLAIM} claim.
+ * @param claims      An unmodifiable view of all claims carried by the token.
+ * @see JwtUtil
+ */
+public record VerifiedToken(String subject,
+                            String id,
+                            Instant issuedAt,
+                            Instant expiration,
+                            List<GrantedAuthority> authorities,
+                            Map<String, Object> claims) {
+
+    public VerifiedToken {
+        authorities = List.copyOf(authorities);
+        claims = Map.copyOf(claims);
+    }
+
+    /**
+     * Checks whether the token is expired at the given instant.
+     *
+     * @param now The reference instant.
+     * @return {@code true} if the token has an expiration that is not after {@code now}.
+     */
+    public boolean isExpiredAt(Instant now) {
+        return expiration != null && !expiration.isAfter(now);
+    }
+
+    /**
+     * Returns a single claim by name.
+     *
+     * @param name The claim name.
+     * @return The claim value, or {@code null} if the token does not carry it.
+     */
+    public Object claim(String name) {
+        return claims.get(name);
+    }
+}
@@ -0,0 +1,144 @@
+package com.myprojecticaro.poc_jwt_secure_access.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.myprojecticaro.poc_jwt_secure_access.config.JwtProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * <p>
+ * Bounded, expiry-aware cache of tokens whose signature has already been verified.
+ * </p>
+ *
+ * <p>
+ * Entries are keyed by the SHA-256 digest of the compact token, so only a byte-for-byte
+ * identical token can hit the cache and the raw token is never retained. Each entry expires
+ * at the token's own {@code exp} claim, and the total number of entries is capped by
+ * {@code jwt.cache.max-size} with Caffeine's size-based eviction. Reads are lock-free and
+ * safe under heavy concurrent access from the authentication filter.
+ * </p>
+ *
+ * <p>
+ * When {@code jwt.cache.enabled=false} every lookup misses and nothing is stored.
+ * </p>
+ *
+ * @see JwtUtil#validateToken(String)
+ * @see VerifiedToken
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final Cache<TokenDigest, VerifiedToken> cache;
+
+    /**
+     * Constructs a new {@code VerifiedTokenCache} sized from the given properties.
+     *
+     * @param properties The JWT configuration holding the cache settings.
+     */
+    public VerifiedTokenCache(JwtProperties properties) {
+        JwtProperties.Cache settings = properties.getCache();
+        this.cache = settings.isEnabled()
+                ? Caffeine.newBuilder()
+                        .maximumSize(settings.getMaxSize())
+                        .expireAfter(new UntilTokenExpiry(settings.getMaxTtl()))
+                        .recordStats()
+                        .build()
+                : null;
+    }
+
+    /**
+     * Returns the previously verified claims for the given token, if still cached.
+     *
+     * @param token The compact JWT token.
+     * @return The cached {@link VerifiedToken}, or {@code null} on a miss or when caching is disabled.
+     */
+    public VerifiedToken get(String token) {
+        return cache != null ? cache.getIfPresent(TokenDigest.sha256(token)) : null;
+    }
+
+    /**
+     * Stores the verified claims of a token until its expiration.
+     *
+     * @param token         The compact JWT token.
+     * @param verifiedToken The claims obtained after signature verification.
+     */
+    public void put(String token, VerifiedToken verifiedToken) {
+        if (cache != null && !verifiedToken.isExpiredAt(Instant.now())) {
+            cache.put(TokenDigest.sha256(token), verifiedToken);
+        }
+    }
+
+    /**
+     * Removes the entry of one token, if cached.
+     *
+     * @param token The compact JWT token.
+     */
+    public void invalidate(String token) {
+        if (cache != null) {
+            cache.invalidate(TokenDigest.sha256(token));
+        }
+    }
+
+    /**
+     * Removes every cached entry.
+     */
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * Returns hit, miss and eviction counters.
+     *
+     * @return A snapshot of the cache statistics, or {@link CacheStats#empty()} when caching is disabled.
+     */
+    public CacheStats stats() {
+        return cache != null ? cache.stats() : CacheStats.empty();
+    }
+
+    /**
+     * Returns the approximate number of cached tokens.
+     *
+     * @return The estimated entry count.
+     */
+    public long size() {
+        return cache != null ? cache.estimatedSize() : 0;
+    }
+
+    /**
+     * Expires each entry at the {@code exp} claim of its token, bounded by a maximum TTL.
+     */
+    private static final class UntilTokenExpiry implements Expiry<TokenDigest, VerifiedToken> {
+
+        private final long maxTtlNanos;
+
+        UntilTokenExpiry(Duration maxTtl) {
+            this.maxTtlNanos = maxTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(TokenDigest key, VerifiedToken value, long currentTime) {
+            if (value.expiration() == null) {
+                return maxTtlNanos;
+            }
+            long remaining = Duration.between(Instant.now(), value.expiration()).toNanos();
+            return Math.max(0, Math.min(remaining, maxTtlNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
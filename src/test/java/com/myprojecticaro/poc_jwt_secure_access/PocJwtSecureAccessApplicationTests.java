@@ -1,13 +1,30 @@
 package com.myprojecticaro.poc_jwt_secure_access;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assumptions.assumeThat;
+
+@SpringBootTest(properties = {
+		"jwt.secret=dGVzdC1vbmx5LXNpZ25pbmcta2V5LWZvci10aGUtY29udGV4dC10ZXN0cyEhIQ==",
+		"audit.dir=build/test-audit",
+		"warmup.iterations=200"})
 class PocJwtSecureAccessApplicationTests {
 
 	@Test
 	void contextLoads() {
 	}
 
+	@Test
+	void refusesToStartWithoutASigningSecret() {
+		assumeThat(System.getenv("JWT_SECRET")).isNull();
+
+		assertThatThrownBy(() -> new SpringApplicationBuilder(PocJwtSecureAccessApplication.class)
+				.run("--server.port=0", "--audit.dir=build/test-audit", "--warmup.enabled=false"))
+				.hasRootCauseInstanceOf(IllegalStateException.class)
+				.hasRootCauseMessage("jwt.secret must be configured for HS256");
+	}
+
 }
@@ -0,0 +1,28 @@
+package com.myprojecticaro.poc_jwt_secure_access.config;
+
+import com.myprojecticaro.poc_jwt_secure_access.dto.AuthResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthRuntimeHintsTest {
+
+    @Test
+    void registersEveryJjwtImplementationTypeThatExists() throws Exception {
+        RuntimeHints hints = new RuntimeHints();
+        new AuthRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        for (String type : AuthRuntimeHints.JJWT_IMPLEMENTATION_TYPES) {
+            // Fails when a JJWT upgrade renames a class, which would silently drop its hint.
+            Class.forName(type);
+            assertThat(RuntimeHintsPredicates.reflection().onType(Class.forName(type))
+                    .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)).accepts(hints);
+        }
+        assertThat(RuntimeHintsPredicates.resource().forResource("META-INF/services/io.jsonwebtoken.io.Serializer"))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(AuthResponse.class)).accepts(hints);
+    }
+}
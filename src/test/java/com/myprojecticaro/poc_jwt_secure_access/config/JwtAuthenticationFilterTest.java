@@ -0,0 +1,122 @@
+package com.myprojecticaro.poc_jwt_secure_access.config;
+
+import com.myprojecticaro.poc_jwt_secure_access.repository.InMemoryUserRepository;
+import com.myprojecticaro.poc_jwt_secure_access.service.AuditLog;
+import com.myprojecticaro.poc_jwt_secure_access.service.UserService;
+import com.myprojecticaro.poc_jwt_secure_access.util.AuthMetrics;
+import com.myprojecticaro.poc_jwt_secure_access.util.CwtUtil;
+import com.myprojecticaro.poc_jwt_secure_access.util.JwtUtil;
+import com.myprojecticaro.poc_jwt_secure_access.util.KeyRing;
+import com.myprojecticaro.poc_jwt_secure_access.util.RevocationList;
+import com.myprojecticaro.poc_jwt_secure_access.util.TokenPrecheck;
+import com.myprojecticaro.poc_jwt_secure_access.util.TokenStatus;
+import com.myprojecticaro.poc_jwt_secure_access.util.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "IDQ/aKyAjBvf+alrmfgqJ35MiAKZuNam+U3tk+ykRBcV3fJuwSq0E1DQ9jHGwtek";
+
+    private SimpleMeterRegistry registry;
+    private JwtUtil jwtUtil;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setExpiration(Duration.ofMinutes(5));
+        registry = new SimpleMeterRegistry();
+        AuthMetrics metrics = new AuthMetrics(registry, properties);
+        KeyRing keyRing = new KeyRing(properties);
+        jwtUtil = new JwtUtil(properties, keyRing, new VerifiedTokenCache(properties),
+                new TokenPrecheck(properties), new RevocationList(properties), metrics);
+        CwtUtil cwtUtil = new CwtUtil(properties, keyRing, new VerifiedTokenCache(properties),
+                new RevocationList(properties), metrics);
+        UserService userService = new UserService(new InMemoryUserRepository(), new UserStoreProperties(), metrics);
+        AuditProperties audit = new AuditProperties();
+        audit.setEnabled(false);
+        filter = new JwtAuthenticationFilter(jwtUtil, cwtUtil, userService, properties, metrics,
+                new AuditLog(audit, registry));
+        SecurityContextHolder.clearContext();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private long validations() {
+        return registry.get("auth.token.validation").timer().count();
+    }
+
+    private MockHttpServletRequest request(String method, String path, String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    @Test
+    void verifiesTheTokenOnlyWhenTheAuthenticationIsRead() throws Exception {
+        MockHttpServletRequest request = request("GET", "/api/secure-data", jwtUtil.generateToken("admin"));
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(validations()).isZero();
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(authentication.getName()).isEqualTo("admin");
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isSameAs(authentication);
+        assertThat(validations()).isEqualTo(1);
+    }
+
+    @Test
+    void skipsPublicPathsEvenWithABadToken() throws Exception {
+        for (String path : new String[] {"/auth/login", "/auth/refresh", "/actuator/health/readiness"}) {
+            MockHttpServletRequest request = request("POST", path, "not-a-token");
+
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+            assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+            assertThat(request.getAttribute(JwtAuthenticationEntryPoint.REJECTED_TOKEN_STATUS)).isNull();
+        }
+        assertThat(validations()).isZero();
+    }
+
+    @Test
+    void stillAuthenticatesRevoke() throws Exception {
+        filter.doFilter(request("POST", "/auth/revoke", jwtUtil.generateToken("admin")),
+                new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo("admin");
+    }
+
+    @Test
+    void reportsTheRejectionReasonThroughTheEntryPoint() throws Exception {
+        String token = jwtUtil.generateToken("admin");
+        String tampered = token.substring(0, token.length() - 4) + "AAAA";
+        MockHttpServletRequest request = request("GET", "/api/secure-data", tampered);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(request.getAttribute(JwtAuthenticationEntryPoint.REJECTED_TOKEN_STATUS))
+                .isEqualTo(TokenStatus.BAD_SIGNATURE);
+        new JwtAuthenticationEntryPoint().commence(request, response, new BadCredentialsException("denied"));
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(response.getHeader("WWW-Authenticate")).contains("invalid_token");
+    }
+}
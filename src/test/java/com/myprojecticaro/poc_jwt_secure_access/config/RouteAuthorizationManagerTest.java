@@ -0,0 +1,77 @@
+package com.myprojecticaro.poc_jwt_secure_access.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteAuthorizationManagerTest {
+
+    private static final Authentication ADMIN = UsernamePasswordAuthenticationToken.authenticated(
+            "admin", null, AuthorityUtils.createAuthorityList("ROLE_ADMIN"));
+    private static final Authentication USER = UsernamePasswordAuthenticationToken.authenticated(
+            "user", null, AuthorityUtils.createAuthorityList("ROLE_USER"));
+
+    private final RouteAuthorizationManager manager = new RouteAuthorizationManager(properties());
+
+    private static AuthorizationProperties properties() {
+        AuthorizationProperties.Route route = new AuthorizationProperties.Route();
+        route.setPattern("/actuator/**");
+        route.setAuthorities(List.of("ROLE_ADMIN"));
+        AuthorizationProperties properties = new AuthorizationProperties();
+        properties.getRoutes().add(route);
+        return properties;
+    }
+
+    private boolean granted(Authentication authentication, MockHttpServletRequest request) {
+        return manager.authorize(() -> authentication, new RequestAuthorizationContext(request)).isGranted();
+    }
+
+    @Test
+    void requiresTheRouteAuthority() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/metrics");
+
+        assertThat(granted(ADMIN, request)).isTrue();
+        assertThat(granted(USER, request)).isFalse();
+        assertThat(granted(USER, new MockHttpServletRequest("GET", "/api/secure-data"))).isTrue();
+    }
+
+    @Test
+    void deniesAnonymousCallersEverywhere() {
+        Authentication anonymous = new AnonymousAuthenticationToken(
+                "key", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+
+        assertThat(granted(anonymous, new MockHttpServletRequest("GET", "/api/secure-data"))).isFalse();
+        assertThat(granted(null, new MockHttpServletRequest("GET", "/api/secure-data"))).isFalse();
+    }
+
+    @Test
+    void matchesTheDecodedPathWithinTheApplication() {
+        MockHttpServletRequest encoded = new MockHttpServletRequest("GET", "/actuator/%6detrics");
+        MockHttpServletRequest withContextPath = new MockHttpServletRequest("GET", "/app/actuator/metrics");
+        withContextPath.setContextPath("/app");
+
+        assertThat(granted(USER, encoded)).isFalse();
+        assertThat(granted(USER, withContextPath)).isFalse();
+    }
+
+    @Test
+    void answersDeniedRequestsWithInsufficientScope() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new JwtAuthenticationEntryPoint().handle(new MockHttpServletRequest(), response, new AccessDeniedException("denied"));
+
+        assertThat(response.getStatus()).isEqualTo(403);
+        assertThat(response.getHeader("WWW-Authenticate")).startsWith("Bearer error=\"insufficient_scope\"");
+        assertThat(response.getContentAsString()).contains("\"error\":\"insufficient_scope\"");
+    }
+}
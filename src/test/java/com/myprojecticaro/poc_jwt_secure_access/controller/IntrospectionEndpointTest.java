@@ -0,0 +1,78 @@
+package com.myprojecticaro.poc_jwt_secure_access.controller;
+
+import com.myprojecticaro.poc_jwt_secure_access.repository.UserAccount;
+import com.myprojecticaro.poc_jwt_secure_access.repository.UserRepository;
+import com.myprojecticaro.poc_jwt_secure_access.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "jwt.secret=dGVzdC1vbmx5LXNpZ25pbmcta2V5LWZvci10aGUtY29udGV4dC10ZXN0cyEhIQ==",
+        "audit.dir=build/test-audit",
+        "warmup.enabled=false"})
+class IntrospectionEndpointTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.save(UserAccount.withRoles("resource-server", "{bcrypt}unused", "INTROSPECTION"));
+    }
+
+    private HttpResponse<String> introspect(String bearerToken) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/auth/introspect/batch"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"tokens\":[\"" + jwtUtil.generateToken("admin") + "\",\"not-a-token\"]}"));
+        if (bearerToken != null) {
+            request.header("Authorization", "Bearer " + bearerToken);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void rejectsAnonymousCallers() throws Exception {
+        HttpResponse<String> response = introspect(null);
+
+        assertThat(response.statusCode()).isEqualTo(401);
+        assertThat(response.body()).doesNotContain("\"active\"");
+    }
+
+    @Test
+    void rejectsCallersWithoutTheIntrospectionRole() throws Exception {
+        HttpResponse<String> response = introspect(jwtUtil.generateToken("admin"));
+
+        assertThat(response.statusCode()).isEqualTo(403);
+        assertThat(response.headers().firstValue("WWW-Authenticate")).hasValueSatisfying(
+                challenge -> assertThat(challenge).contains("insufficient_scope"));
+    }
+
+    @Test
+    void answersCallersWithTheIntrospectionRole() throws Exception {
+        HttpResponse<String> response = introspect(jwtUtil.generateToken("resource-server"));
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body().lines()).hasSize(2);
+        assertThat(response.body().lines().findFirst()).hasValueSatisfying(
+                line -> assertThat(line).contains("\"active\":true", "\"sub\":\"admin\""));
+    }
+}
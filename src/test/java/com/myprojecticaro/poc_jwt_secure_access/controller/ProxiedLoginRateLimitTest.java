@@ -0,0 +1,48 @@
+package com.myprojecticaro.poc_jwt_secure_access.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "jwt.secret=dGVzdC1vbmx5LXNpZ25pbmcta2V5LWZvci10aGUtY29udGV4dC10ZXN0cyEhIQ==",
+        "audit.dir=build/test-audit",
+        "warmup.enabled=false",
+        "server.forward-headers-strategy=native",
+        "login.rate-limit.ip.capacity=2"})
+class ProxiedLoginRateLimitTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    private int attempts;
+
+    private int login(String forwardedFor) throws Exception {
+        // A different username per attempt, so only the per-IP bucket can run out.
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .header("X-Forwarded-For", forwardedFor)
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"username\":\"nobody" + attempts++ + "\",\"password\":\"wrong\"}"))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Test
+    void limitsEachForwardedClientSeparately() throws Exception {
+        assertThat(login("203.0.113.7")).isNotEqualTo(429);
+        assertThat(login("203.0.113.7")).isNotEqualTo(429);
+        assertThat(login("203.0.113.7")).isEqualTo(429);
+
+        assertThat(login("203.0.113.8")).isNotEqualTo(429);
+    }
+}
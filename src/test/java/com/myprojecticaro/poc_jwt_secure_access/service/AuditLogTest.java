@@ -0,0 +1,164 @@
+package com.myprojecticaro.poc_jwt_secure_access.service;
+
+import com.myprojecticaro.poc_jwt_secure_access.config.AuditProperties;
+import com.myprojecticaro.poc_jwt_secure_access.util.RefreshTokenStore;
+import com.myprojecticaro.poc_jwt_secure_access.util.TokenFormat;
+import com.myprojecticaro.poc_jwt_secure_access.util.TokenStatus;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditLogTest {
+
+    @TempDir
+    Path dir;
+
+    private AuditLog auditLog(SimpleMeterRegistry registry) {
+        AuditProperties properties = new AuditProperties();
+        properties.setDir(dir.toString());
+        properties.setSegmentSize(DataSize.ofBytes(10L * AuditRecord.SIZE));
+        return new AuditLog(properties, registry);
+    }
+
+    private List<AuditLogReader.Event> readAll() throws Exception {
+        List<AuditLogReader.Event> events = new ArrayList<>();
+        AuditLogReader.read(dir, events::add);
+        return events;
+    }
+
+    private long segments() throws Exception {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(AuditSegmentWriter::isSegment).count();
+        }
+    }
+
+    @Test
+    void writesEventsInOrderAcrossRotatedSegments() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AuditLog auditLog = auditLog(registry);
+        for (int i = 0; i < 25; i++) {
+            auditLog.record(AuditEventType.LOGIN_FAILED, "user-" + i, "10.0.0." + i);
+        }
+        auditLog.record(AuditEventType.TOKEN_REJECTED, TokenStatus.EXPIRED.code(), null, "::1");
+        auditLog.close();
+
+        List<AuditLogReader.Event> events = readAll();
+        assertThat(events).hasSize(26);
+        assertThat(segments()).isEqualTo(3);
+        for (int i = 0; i < 25; i++) {
+            AuditLogReader.Event event = events.get(i);
+            assertThat(event.sequence()).isEqualTo(i);
+            assertThat(event.type()).isEqualTo(AuditEventType.LOGIN_FAILED);
+            assertThat(event.username()).isEqualTo("user-" + i);
+            assertThat(event.clientAddress()).isEqualTo("10.0.0." + i);
+        }
+        AuditLogReader.Event rejected = events.get(25);
+        assertThat(rejected.detailName()).isEqualTo("expired");
+        assertThat(rejected.username()).isNull();
+        assertThat(rejected.timestamp()).isBeforeOrEqualTo(Instant.now());
+        assertThat(registry.get("auth.audit.written").functionCounter().count()).isEqualTo(26);
+        assertThat(registry.get("auth.audit.dropped").functionCounter().count()).isZero();
+    }
+
+    @Test
+    void wakesTheIdleWriterWithoutWaitingForTheFlushInterval() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AuditProperties properties = new AuditProperties();
+        properties.setDir(dir.toString());
+        properties.setFlushInterval(Duration.ofMinutes(1));
+        AuditLog auditLog = new AuditLog(properties, registry);
+        FunctionCounter written = registry.get("auth.audit.written").functionCounter();
+
+        auditLog.record(AuditEventType.LOGIN_FAILED, "admin", null);
+        awaitCount(written, 1);
+        Thread.sleep(50);
+        auditLog.record(AuditEventType.REFRESH_REJECTED, RefreshTokenStore.Status.REUSED.code(), "admin", null);
+        awaitCount(written, 2);
+        auditLog.close();
+
+        assertThat(readAll().get(1).detailName()).isEqualTo("reused");
+    }
+
+    private static void awaitCount(FunctionCounter counter, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (counter.count() < expected) {
+            assertThat(System.nanoTime()).as("writer woke up").isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    void truncatesLongTextAtACharacterBoundary() throws Exception {
+        AuditLog auditLog = auditLog(new SimpleMeterRegistry());
+        auditLog.record(AuditEventType.LOGIN_SUCCEEDED, TokenFormat.CWT.code(), "\u00e9".repeat(40), null);
+        auditLog.close();
+
+        AuditLogReader.Event event = readAll().get(0);
+        assertThat(event.username()).isEqualTo("\u00e9".repeat(32));
+        assertThat(event.clientAddress()).isNull();
+        assertThat(event.detailName()).isEqualTo("cwt");
+    }
+
+    @Test
+    void startsANewSegmentOnEachRun() throws Exception {
+        AuditLog first = auditLog(new SimpleMeterRegistry());
+        first.record(AuditEventType.TOKEN_REVOKED, "admin", null);
+        first.close();
+        AuditLog second = auditLog(new SimpleMeterRegistry());
+        second.record(AuditEventType.LOGIN_THROTTLED, "admin", null);
+        second.close();
+
+        assertThat(segments()).isEqualTo(2);
+        assertThat(readAll()).extracting(AuditLogReader.Event::type)
+                .containsExactly(AuditEventType.TOKEN_REVOKED, AuditEventType.LOGIN_THROTTLED);
+    }
+
+    @Test
+    void exportsMatchingEventsAsNdjson() throws Exception {
+        AuditLog auditLog = auditLog(new SimpleMeterRegistry());
+        auditLog.record(AuditEventType.LOGIN_FAILED, "admin", "10.0.0.7");
+        auditLog.record(AuditEventType.TOKEN_REJECTED, TokenStatus.REVOKED.code(), null, "10.0.0.9");
+        auditLog.close();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AuditLogReader.export(dir, AuditEventType.TOKEN_REJECTED, null, Instant.EPOCH, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(1);
+        assertThat(lines[0]).startsWith("{\"seq\":1,\"time\":\"")
+                .endsWith("\"type\":\"token_rejected\",\"detail\":\"revoked\",\"client\":\"10.0.0.9\"}");
+    }
+
+    @Test
+    void ringDropsEventsWhenFullWithoutBlocking() {
+        AuditRingBuffer ring = new AuditRingBuffer(3);
+        assertThat(ring.capacity()).isEqualTo(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(ring.offer(i, AuditEventType.LOGIN_FAILED, 0, "u" + i, null)).isTrue();
+        }
+        assertThat(ring.offer(4, AuditEventType.LOGIN_FAILED, 0, "u4", null)).isFalse();
+        assertThat(ring.dropped()).isEqualTo(1);
+        assertThat(ring.backlog()).isEqualTo(4);
+
+        List<Long> sequences = new ArrayList<>();
+        int drained = ring.drain((records, offset) -> sequences.add(
+                (long) records[offset + AuditRecord.SEQUENCE + 7]), 16);
+        assertThat(drained).isEqualTo(4);
+        assertThat(sequences).containsExactly(0L, 1L, 2L, 3L);
+        assertThat(ring.offer(5, AuditEventType.LOGIN_FAILED, 0, "u5", null)).isTrue();
+    }
+}
@@ -0,0 +1,61 @@
+package com.myprojecticaro.poc_jwt_secure_access.service;
+
+import com.myprojecticaro.poc_jwt_secure_access.config.JwtProperties;
+import com.myprojecticaro.poc_jwt_secure_access.util.AuthMetrics;
+import com.myprojecticaro.poc_jwt_secure_access.util.CwtUtil;
+import com.myprojecticaro.poc_jwt_secure_access.util.JwtUtil;
+import com.myprojecticaro.poc_jwt_secure_access.util.KeyRing;
+import com.myprojecticaro.poc_jwt_secure_access.util.RevocationList;
+import com.myprojecticaro.poc_jwt_secure_access.util.TokenPrecheck;
+import com.myprojecticaro.poc_jwt_secure_access.util.TokenStatus;
+import com.myprojecticaro.poc_jwt_secure_access.util.TokenValidation;
+import com.myprojecticaro.poc_jwt_secure_access.util.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IntrospectionServiceTest {
+
+    @Test
+    void validatesBatchInChunksAndKeepsRequestOrder() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("IDQ/aKyAjBvf+alrmfgqJ35MiAKZuNam+U3tk+ykRBcV3fJuwSq0E1DQ9jHGwtek");
+        properties.getIntrospection().setChunkSize(3);
+        properties.getIntrospection().setMaxBatchSize(10);
+        KeyRing keyRing = new KeyRing(properties);
+        AuthMetrics metrics = new AuthMetrics(new SimpleMeterRegistry(), properties);
+        JwtUtil jwtUtil = new JwtUtil(properties, keyRing,
+                new VerifiedTokenCache(properties), new TokenPrecheck(properties),
+                new RevocationList(properties), metrics);
+        CwtUtil cwtUtil = new CwtUtil(properties, keyRing, new VerifiedTokenCache(properties),
+                new RevocationList(properties), metrics);
+        IntrospectionService service = new IntrospectionService(jwtUtil, cwtUtil, properties);
+
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            tokens.add(i % 2 == 0 ? jwtUtil.generateToken("user" + i) : "not-a-token");
+        }
+        tokens.add(null);
+
+        List<CompletableFuture<TokenValidation[]>> chunks = service.introspect(tokens);
+        List<TokenValidation> results = chunks.stream().flatMap(chunk -> Arrays.stream(chunk.join())).toList();
+
+        assertThat(chunks).hasSize(3);
+        assertThat(results).hasSize(8);
+        for (int i = 0; i < 7; i += 2) {
+            assertThat(results.get(i).token().subject()).isEqualTo("user" + i);
+            assertThat(results.get(i + 1).status()).isEqualTo(TokenStatus.MALFORMED);
+        }
+        assertThatThrownBy(() -> service.introspect(Collections.nCopies(11, "token")))
+                .isInstanceOf(IllegalArgumentException.class);
+        service.shutdown();
+    }
+}
@@ -0,0 +1,45 @@
+package com.myprojecticaro.poc_jwt_secure_access.service;
+
+import com.myprojecticaro.poc_jwt_secure_access.config.LoginProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginExecutorTest {
+
+    @Test
+    void rejectsImmediatelyOnceThreadsAndQueueAreFull() throws Exception {
+        LoginProperties properties = new LoginProperties();
+        properties.setThreads(1);
+        properties.setQueueCapacity(1);
+        LoginExecutor executor = new LoginExecutor(properties);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try {
+            CompletableFuture<String> running = executor.submit(() -> await(release, "first"));
+            CompletableFuture<String> queued = executor.submit(() -> await(release, "second"));
+
+            assertThatThrownBy(() -> executor.submit(() -> "third")).isInstanceOf(RejectedExecutionException.class);
+
+            release.countDown();
+            assertThat(running.get()).isEqualTo("first");
+            assertThat(queued.get()).isEqualTo("second");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static String await(CountDownLatch latch, String result) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,52 @@
+package com.myprojecticaro.poc_jwt_secure_access.service;
+
+import com.myprojecticaro.poc_jwt_secure_access.config.LoginProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginRateLimiterTest {
+
+    @Test
+    void allowsABurstPerUserThenRejectsWithRetryAfter() {
+        LoginRateLimiter limiter = new LoginRateLimiter(properties(3, 100));
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("admin", "10.0.0.1")).isZero();
+        }
+        long retryAfter = limiter.tryAcquire("admin", "10.0.0.2");
+
+        assertThat(retryAfter).isPositive().isLessThanOrEqualTo(Duration.ofMinutes(1).toMillis() / 3);
+        assertThat(limiter.tryAcquire("other", "10.0.0.1")).isZero();
+    }
+
+    @Test
+    void limitsAClientAcrossUsernames() {
+        LoginRateLimiter limiter = new LoginRateLimiter(properties(100, 2));
+
+        assertThat(limiter.tryAcquire("a", "10.0.0.1")).isZero();
+        assertThat(limiter.tryAcquire("b", "10.0.0.1")).isZero();
+        assertThat(limiter.tryAcquire("c", "10.0.0.1")).isPositive();
+        assertThat(limiter.tryAcquire("c", "10.0.0.2")).isZero();
+    }
+
+    @Test
+    void allowsEverythingWhenDisabled() {
+        LoginProperties properties = properties(1, 1);
+        properties.getRateLimit().setEnabled(false);
+        LoginRateLimiter limiter = new LoginRateLimiter(properties);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire("admin", "10.0.0.1")).isZero();
+        }
+    }
+
+    private static LoginProperties properties(int userCapacity, int ipCapacity) {
+        LoginProperties properties = new LoginProperties();
+        properties.getRateLimit().getUser().setCapacity(userCapacity);
+        properties.getRateLimit().getIp().setCapacity(ipCapacity);
+        return properties;
+    }
+}
@@ -0,0 +1,116 @@
+package com.myprojecticaro.poc_jwt_secure_access.service;
+
+import com.myprojecticaro.poc_jwt_secure_access.config.JwtProperties;
+import com.myprojecticaro.poc_jwt_secure_access.config.SecurityConfig;
+import com.myprojecticaro.poc_jwt_secure_access.config.UserStoreProperties;
+import com.myprojecticaro.poc_jwt_secure_access.repository.FileUserRepository;
+import com.myprojecticaro.poc_jwt_secure_access.repository.InMemoryUserRepository;
+import com.myprojecticaro.poc_jwt_secure_access.repository.UserAccount;
+import com.myprojecticaro.poc_jwt_secure_access.util.AuthMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserServiceTest {
+
+    private static final AuthMetrics METRICS = new AuthMetrics(new SimpleMeterRegistry(), new JwtProperties());
+
+    private static final BCryptPasswordEncoder WEAK_BCRYPT = new BCryptPasswordEncoder(4);
+
+    @TempDir
+    Path tempDir;
+
+    private UserStoreProperties properties(Path file) {
+        UserStoreProperties properties = new UserStoreProperties();
+        properties.setStore("file");
+        properties.setFile(file.toString());
+        return properties;
+    }
+
+    @Test
+    void servesCachedUserUntilInvalidated() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("users.txt"), """
+                # username:password:roles
+                admin:{bcrypt}%s:ADMIN
+                alice:{bcrypt}%s:USER,AUDITOR
+                """.formatted(WEAK_BCRYPT.encode("1234"), WEAK_BCRYPT.encode("secret")));
+        UserStoreProperties properties = properties(file);
+        FileUserRepository repository = new FileUserRepository(properties);
+        UserService userService = new UserService(repository, properties, METRICS);
+
+        UserDetails first = userService.loadUserByUsername("alice");
+        assertThat(first.getAuthorities()).extracting("authority").containsExactly("ROLE_USER", "ROLE_AUDITOR");
+        assertThat(userService.loadUserByUsername("alice")).isSameAs(first);
+
+        String changed = "{bcrypt}" + WEAK_BCRYPT.encode("changed");
+        repository.save(UserAccount.withRoles("alice", changed, "USER"));
+        assertThat(userService.loadUserByUsername("alice")).isSameAs(first);
+
+        userService.invalidate("alice");
+        assertThat(userService.loadUserByUsername("alice").getPassword()).isEqualTo(changed);
+        assertThat(new FileUserRepository(properties).findByUsername("alice"))
+                .hasValueSatisfying(account -> assertThat(account.password()).isEqualTo(changed));
+    }
+
+    @Test
+    void reportsUnknownUsers() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("users.txt"), "admin:{bcrypt}" + WEAK_BCRYPT.encode("1234") + ":ADMIN\n");
+        UserStoreProperties properties = properties(file);
+        UserService userService = new UserService(new FileUserRepository(properties), properties, METRICS);
+
+        assertThat(userService.findByUsername("nobody")).isEmpty();
+        assertThatThrownBy(() -> userService.loadUserByUsername("nobody"))
+                .isInstanceOf(UsernameNotFoundException.class);
+    }
+
+    @Test
+    void rehashesOutdatedPasswordOnSuccessfulLogin() {
+        UserStoreProperties properties = new UserStoreProperties();
+        properties.getPassword().setBcryptStrength(4);
+        InMemoryUserRepository repository = new InMemoryUserRepository();
+        UserService userService = new UserService(repository, properties, METRICS);
+        SecurityConfig securityConfig = new SecurityConfig(null, null, userService);
+        AuthenticationManager manager = securityConfig.authenticationManager(securityConfig.passwordEncoder(properties));
+
+        String seeded = repository.findByUsername("admin").orElseThrow().password();
+        assertThat(seeded).startsWith("{bcrypt}$2a$10$");
+        manager.authenticate(new UsernamePasswordAuthenticationToken("admin", "1234"));
+        assertThat(repository.findByUsername("admin").orElseThrow().password()).isEqualTo(seeded);
+
+        repository.save(UserAccount.withRoles("admin", "{bcrypt}" + WEAK_BCRYPT.encode("1234"), "ADMIN"));
+        userService.invalidate("admin");
+        properties.getPassword().setBcryptStrength(5);
+        AuthenticationManager stronger = securityConfig.authenticationManager(securityConfig.passwordEncoder(properties));
+        stronger.authenticate(new UsernamePasswordAuthenticationToken("admin", "1234"));
+        assertThat(repository.findByUsername("admin").orElseThrow().password()).startsWith("{bcrypt}$2a$05$");
+
+        assertThatThrownBy(() -> stronger.authenticate(new UsernamePasswordAuthenticationToken("admin", "wrong")))
+                .isInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    void rejectsPlaintextPasswords() {
+        UserStoreProperties properties = new UserStoreProperties();
+        InMemoryUserRepository repository = new InMemoryUserRepository();
+        repository.save(UserAccount.withRoles("legacy", "{noop}1234", "USER"));
+        UserService userService = new UserService(repository, properties, METRICS);
+        SecurityConfig securityConfig = new SecurityConfig(null, null, userService);
+        AuthenticationManager manager = securityConfig.authenticationManager(securityConfig.passwordEncoder(properties));
+
+        assertThatThrownBy(() -> manager.authenticate(new UsernamePasswordAuthenticationToken("legacy", "1234")))
+                .isInstanceOf(BadCredentialsException.class);
+    }
+}
@@ -0,0 +1,106 @@
+package com.myprojecticaro.poc_jwt_secure_access.service;
+
+import com.myprojecticaro.poc_jwt_secure_access.config.JwtProperties;
+import com.myprojecticaro.poc_jwt_secure_access.config.UserStoreProperties;
+import com.myprojecticaro.poc_jwt_secure_access.config.WarmUpProperties;
+import com.myprojecticaro.poc_jwt_secure_access.repository.InMemoryUserRepository;
+import com.myprojecticaro.poc_jwt_secure_access.repository.UserAccount;
+import com.myprojecticaro.poc_jwt_secure_access.util.AuthMetrics;
+import com.myprojecticaro.poc_jwt_secure_access.util.CwtUtil;
+import com.myprojecticaro.poc_jwt_secure_access.util.JwtUtil;
+import com.myprojecticaro.poc_jwt_secure_access.util.KeyRing;
+import com.myprojecticaro.poc_jwt_secure_access.util.RevocationList;
+import com.myprojecticaro.poc_jwt_secure_access.util.TokenPrecheck;
+import com.myprojecticaro.poc_jwt_secure_access.util.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WarmUpRunnerTest {
+
+    private static final String SECRET = "IDQ/aKyAjBvf+alrmfgqJ35MiAKZuNam+U3tk+ykRBcV3fJuwSq0E1DQ9jHGwtek";
+
+    private final WarmUpProperties properties = new WarmUpProperties();
+    private SimpleMeterRegistry registry;
+    private VerifiedTokenCache cache;
+    private JwtUtil jwtUtil;
+    private CwtUtil cwtUtil;
+    private AuthMetrics metrics;
+    private WarmUpRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSecret(SECRET);
+        registry = new SimpleMeterRegistry();
+        metrics = new AuthMetrics(registry, jwtProperties);
+        KeyRing keyRing = new KeyRing(jwtProperties);
+        cache = new VerifiedTokenCache(jwtProperties);
+        jwtUtil = new JwtUtil(jwtProperties, keyRing, cache,
+                new TokenPrecheck(jwtProperties), new RevocationList(jwtProperties), metrics);
+        cwtUtil = new CwtUtil(jwtProperties, keyRing, cache, new RevocationList(jwtProperties), metrics);
+        UserService userService = new UserService(new InMemoryUserRepository(), new UserStoreProperties(), metrics);
+        runner = new WarmUpRunner(properties, jwtUtil, cwtUtil, cache, userService, new MockEnvironment(), registry);
+    }
+
+    private long warmUps() {
+        return registry.get("auth.warmup").timer().count();
+    }
+
+    @Test
+    void runsTheConfiguredCyclesAndLeavesOnlyRealTokensCached() {
+        properties.setIterations(300);
+        String realToken = jwtUtil.generateToken("someone-else");
+        jwtUtil.validateToken(realToken);
+
+        runner.run(new DefaultApplicationArguments());
+
+        assertThat(warmUps()).isEqualTo(1);
+        assertThat(registry.get("auth.token.verification").timer().count()).isEqualTo(601);
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.get(realToken)).isNotNull();
+    }
+
+    @Test
+    void logsAndCompletesWhenTheUserStoreFails() {
+        InMemoryUserRepository failing = new InMemoryUserRepository() {
+            @Override
+            public Optional<UserAccount> findByUsername(String username) {
+                throw new IllegalArgumentException("user store unavailable");
+            }
+        };
+        UserService userService = new UserService(failing, new UserStoreProperties(), metrics);
+        runner = new WarmUpRunner(properties, jwtUtil, cwtUtil, cache, userService, new MockEnvironment(), registry);
+
+        runner.run(new DefaultApplicationArguments());
+
+        assertThat(warmUps()).isEqualTo(1);
+    }
+
+    @Test
+    void stopsAtTheMaximumDuration() {
+        properties.setIterations(Integer.MAX_VALUE);
+        properties.setMaxDuration(Duration.ofMillis(200));
+
+        runner.run(new DefaultApplicationArguments());
+
+        assertThat(registry.get("auth.warmup").timer().totalTime(TimeUnit.SECONDS)).isLessThan(2);
+    }
+
+    @Test
+    void doesNothingWhenDisabled() {
+        properties.setEnabled(false);
+
+        runner.run(new DefaultApplicationArguments());
+
+        assertThat(warmUps()).isZero();
+    }
+}
@@ -0,0 +1,118 @@
+package com.myprojecticaro.poc_jwt_secure_access.util;
+
+import com.myprojecticaro.poc_jwt_secure_access.config.JwtProperties;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Encoders;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CwtUtilTest {
+
+    private static final String SECRET = "IDQ/aKyAjBvf+alrmfgqJ35MiAKZuNam+U3tk+ykRBcV3fJuwSq0E1DQ9jHGwtek";
+    private static final List<GrantedAuthority> ROLES = AuthorityUtils.createAuthorityList("ROLE_ADMIN");
+
+    private static JwtProperties properties(String algorithm, Duration expiration) {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setExpiration(expiration);
+        properties.getSigning().setAlgorithm(algorithm);
+        return properties;
+    }
+
+    private static CwtUtil cwtUtil(JwtProperties properties, RevocationList revocationList) {
+        return new CwtUtil(properties, new KeyRing(properties), new VerifiedTokenCache(properties),
+                revocationList, new AuthMetrics(new SimpleMeterRegistry(), properties));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"HS256", "RS256", "ES256", "EdDSA"})
+    void issuesTokensWithTheSameClaimsAsJws(String algorithm) {
+        JwtProperties properties = properties(algorithm, Duration.ofMinutes(5));
+        CwtUtil cwtUtil = cwtUtil(properties, new RevocationList(properties));
+
+        String token = cwtUtil.generateToken("admin", ROLES);
+        TokenValidation validation = cwtUtil.validate(token);
+
+        assertThat(TokenFormat.detect(token, 0)).isEqualTo(TokenFormat.CWT);
+        assertThat(validation.isValid()).isTrue();
+        VerifiedToken verified = validation.token();
+        assertThat(verified.subject()).isEqualTo("admin");
+        assertThat(verified.authorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_ADMIN");
+        assertThat(Duration.between(verified.issuedAt(), verified.expiration())).isEqualTo(Duration.ofMinutes(5));
+        assertThat(Decoders.BASE64URL.decode(verified.id())).hasSize(16);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"HS256", "ES256"})
+    void rejectsTamperedSignature(String algorithm) {
+        JwtProperties properties = properties(algorithm, Duration.ofMinutes(5));
+        CwtUtil cwtUtil = cwtUtil(properties, new RevocationList(properties));
+        byte[] bytes = Decoders.BASE64URL.decode(cwtUtil.generateToken("admin", ROLES));
+        bytes[bytes.length - 1] ^= 1;
+
+        assertThat(cwtUtil.validate(Encoders.BASE64URL.encode(bytes)).status()).isEqualTo(TokenStatus.BAD_SIGNATURE);
+    }
+
+    @Test
+    void decodesAuthoritiesOnlyAfterTheSignatureIsVerified() {
+        JwtProperties properties = properties("HS256", Duration.ofMinutes(5));
+        JwtProperties forger = properties("HS256", Duration.ofMinutes(5));
+        forger.setSecret("b3RoZXItc2VjcmV0LW5vdC11c2VkLWJ5LXRoZS1zZXJ2aWNlLWF0LWFsbC0xMjM0NTY=");
+        String roles = "ROLE_FORGED_" + System.nanoTime();
+        String forged = cwtUtil(forger, new RevocationList(forger))
+                .generateToken("admin", AuthorityUtils.createAuthorityList(roles));
+
+        TokenValidation validation = cwtUtil(properties, new RevocationList(properties)).validate(forged);
+
+        assertThat(validation.status()).isEqualTo(TokenStatus.BAD_SIGNATURE);
+        assertThat(AuthorityClaims.isCached(roles)).isFalse();
+    }
+
+    @Test
+    void rejectsTokensFromAnotherAlgorithmAsMalformed() {
+        JwtProperties hs256 = properties("HS256", Duration.ofMinutes(5));
+        JwtProperties es256 = properties("ES256", Duration.ofMinutes(5));
+        String token = cwtUtil(es256, new RevocationList(es256)).generateToken("admin", ROLES);
+
+        assertThat(cwtUtil(hs256, new RevocationList(hs256)).validate(token).status()).isEqualTo(TokenStatus.MALFORMED);
+    }
+
+    @Test
+    void rejectsExpiredRevokedAndMalformedTokens() {
+        JwtProperties expiredProperties = properties("HS256", Duration.ofMinutes(-1));
+        String expired = cwtUtil(expiredProperties, new RevocationList(expiredProperties)).generateToken("admin", ROLES);
+        JwtProperties properties = properties("HS256", Duration.ofMinutes(5));
+        RevocationList revocationList = new RevocationList(properties);
+        CwtUtil cwtUtil = cwtUtil(properties, revocationList);
+        String token = cwtUtil.generateToken("admin", ROLES);
+        revocationList.revoke(cwtUtil.validate(token).token());
+
+        assertThat(cwtUtil.validate(expired).status()).isEqualTo(TokenStatus.EXPIRED);
+        assertThat(cwtUtil.validate(token).status()).isEqualTo(TokenStatus.REVOKED);
+        assertThat(cwtUtil.validate("0").status()).isEqualTo(TokenStatus.MALFORMED);
+        assertThat(cwtUtil.validate("0g-_").status()).isEqualTo(TokenStatus.MALFORMED);
+        assertThat(cwtUtil.validate("not base64!").status()).isEqualTo(TokenStatus.MALFORMED);
+    }
+
+    @Test
+    void detectsFormatFromFirstCharacter() {
+        JwtProperties properties = properties("HS256", Duration.ofMinutes(5));
+        String jws = new JwtUtil(properties, new KeyRing(properties), new VerifiedTokenCache(properties),
+                new TokenPrecheck(properties), new RevocationList(properties),
+                new AuthMetrics(new SimpleMeterRegistry(), properties)).generateToken("admin");
+
+        assertThat(TokenFormat.detect("Bearer " + jws, 7)).isEqualTo(TokenFormat.JWS);
+        assertThat(TokenFormat.detect("Bearer ", 7)).isEqualTo(TokenFormat.JWS);
+        assertThat(TokenFormat.of(null)).isEqualTo(TokenFormat.JWS);
+        assertThat(TokenFormat.of(" cwt ")).isEqualTo(TokenFormat.CWT);
+    }
+}
@@ -0,0 +1,117 @@
+package com.myprojecticaro.poc_jwt_secure_access.util;
+
+import com.myprojecticaro.poc_jwt_secure_access.config.JwtProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HmacJwsEncoderTest {
+
+    private static final String SECRET = "IDQ/aKyAjBvf+alrmfgqJ35MiAKZuNam+U3tk+ykRBcV3fJuwSq0E1DQ9jHGwtek";
+    private static final String OTHER_SECRET = "c2Vjb25kLXNlY3JldC1mb3ItdGhlLWVuY29kZXItdGVzdHMtMzItYnl0ZXMhIQ==";
+
+    private static final long NOW = 1_792_206_459_123L;
+    private static final long EXPIRES = NOW + 300_000;
+    private static final List<GrantedAuthority> ROLES = AuthorityUtils.createAuthorityList("ROLE_ADMIN", "ROLE_AUDITOR");
+
+    private static KeyRing keyRing(String secret) {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(secret);
+        return new KeyRing(properties);
+    }
+
+    private static String reference(KeyRing keyRing, long idHigh, long idLow, String username,
+                                    List<GrantedAuthority> authorities) {
+        return JwtUtil.build(keyRing.active(), keyRing.algorithm(), JwtUtil.tokenId(idHigh, idLow), username,
+                AuthorityClaims.encode(authorities), NOW, EXPIRES);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"admin", "a\"b\\c/d", "josé.maría", "\u2028line\u4e2d", " padded "})
+    void matchesJjwtByteForByte(String username) {
+        KeyRing keyRing = keyRing(SECRET);
+        HmacJwsEncoder encoder = new HmacJwsEncoder(keyRing.active());
+
+        assertThat(encoder.encode(1L, -2L, username, ROLES, NOW, EXPIRES))
+                .isEqualTo(reference(keyRing, 1L, -2L, username, ROLES));
+        assertThat(encoder.encode(Long.MIN_VALUE, 42L, username, List.of(), NOW, EXPIRES))
+                .isEqualTo(reference(keyRing, Long.MIN_VALUE, 42L, username, List.of()));
+    }
+
+    @Test
+    void growsBuffersForLongValues() {
+        KeyRing keyRing = keyRing(SECRET);
+        HmacJwsEncoder encoder = new HmacJwsEncoder(keyRing.active());
+        String username = "é".repeat(500);
+
+        assertThat(encoder.encode(7L, 8L, username, ROLES, NOW, EXPIRES))
+                .isEqualTo(reference(keyRing, 7L, 8L, username, ROLES));
+        assertThat(encoder.encode(7L, 8L, "admin", ROLES, NOW, EXPIRES))
+                .isEqualTo(reference(keyRing, 7L, 8L, "admin", ROLES));
+    }
+
+    @Test
+    void keepsEachEncoderOnItsOwnKeyWhenSharingAThread() {
+        KeyRing first = keyRing(SECRET);
+        KeyRing second = keyRing(OTHER_SECRET);
+        HmacJwsEncoder firstEncoder = new HmacJwsEncoder(first.active());
+        HmacJwsEncoder secondEncoder = new HmacJwsEncoder(second.active());
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(firstEncoder.encode(i, i, "admin", ROLES, NOW, EXPIRES))
+                    .isEqualTo(reference(first, i, i, "admin", ROLES));
+            assertThat(secondEncoder.encode(i, i, "admin", ROLES, NOW, EXPIRES))
+                    .isEqualTo(reference(second, i, i, "admin", ROLES));
+        }
+    }
+
+    @Test
+    void encodesOnVirtualThreads() throws InterruptedException {
+        KeyRing keyRing = keyRing(SECRET);
+        HmacJwsEncoder encoder = new HmacJwsEncoder(keyRing.active());
+        AtomicReference<String> token = new AtomicReference<>();
+
+        Thread.ofVirtual().start(() -> token.set(encoder.encode(3L, 4L, "admin", ROLES, NOW, EXPIRES))).join();
+
+        assertThat(token.get()).isEqualTo(reference(keyRing, 3L, 4L, "admin", ROLES));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"tab\tname", "emoji\uD83D\uDE00", "", " "})
+    void declinesValuesJjwtWritesDifferently(String username) {
+        HmacJwsEncoder encoder = new HmacJwsEncoder(keyRing(SECRET).active());
+
+        assertThat(encoder.encode(1L, 2L, username, ROLES, NOW, EXPIRES)).isNull();
+        assertThat(encoder.encode(1L, 2L, "admin", AuthorityUtils.createAuthorityList("ROLE_\n"), NOW, EXPIRES))
+                .isNull();
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void jwtUtilIssuesValidTokensWithAndWithoutTheEncoder(boolean directEncoding) {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setExpiration(Duration.ofMinutes(5));
+        properties.getSigning().setDirectEncoding(directEncoding);
+        JwtUtil jwtUtil = new JwtUtil(properties, new KeyRing(properties), new VerifiedTokenCache(properties),
+                new TokenPrecheck(properties), new RevocationList(properties),
+                new AuthMetrics(new SimpleMeterRegistry(), properties));
+
+        for (String username : List.of("admin", "emoji\uD83D\uDE00")) {
+            VerifiedToken verified = jwtUtil.validateToken(jwtUtil.generateToken(username, ROLES));
+
+            assertThat(verified.subject()).isEqualTo(username);
+            assertThat(verified.authorities()).isEqualTo(ROLES);
+            assertThat(verified.id()).hasSize(22);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.myprojecticaro.poc_jwt_secure_access.util;
+
+import com.myprojecticaro.poc_jwt_secure_access.config.JwtProperties;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "IDQ/aKyAjBvf+alrmfgqJ35MiAKZuNam+U3tk+ykRBcV3fJuwSq0E1DQ9jHGwtek";
+
+    private static JwtProperties properties(String algorithm) {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setExpiration(Duration.ofMinutes(30));
+        properties.getSigning().setAlgorithm(algorithm);
+        return properties;
+    }
+
+    private static JwtUtil jwtUtil(JwtProperties properties, KeyRing keyRing) {
+        return new JwtUtil(properties, keyRing, new VerifiedTokenCache(properties),
+                new TokenPrecheck(properties), new RevocationList(properties), metrics(properties));
+    }
+
+    private static AuthMetrics metrics(JwtProperties properties) {
+        return new AuthMetrics(new SimpleMeterRegistry(), properties);
+    }
+
+    private static JwtUtil jwtUtil() {
+        JwtProperties properties = properties("HS256");
+        return jwtUtil(properties, new KeyRing(properties));
+    }
+
+    @Test
+    void validatesGeneratedToken() {
+        JwtUtil jwtUtil = jwtUtil();
+        String token = jwtUtil.generateToken("admin");
+
+        VerifiedToken verified = jwtUtil.validateToken(token);
+
+        assertThat(verified.subject()).isEqualTo("admin");
+        assertThat(verified.expiration()).isAfter(verified.issuedAt());
+        assertThat(jwtUtil.isTokenValid(verified, "admin")).isTrue();
+        assertThat(jwtUtil.isTokenValid(verified, "someone-else")).isFalse();
+    }
+
+    @Test
+    void carriesAuthoritiesAndSharesDecodedInstances() {
+        JwtUtil jwtUtil = jwtUtil();
+        List<GrantedAuthority> roles = AuthorityUtils.createAuthorityList("ROLE_ADMIN", "ROLE_AUDITOR");
+
+        VerifiedToken first = jwtUtil.validateToken(jwtUtil.generateToken("admin", roles));
+        VerifiedToken second = jwtUtil.validateToken(jwtUtil.generateToken("other", roles));
+
+        assertThat(first.authorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_ADMIN", "ROLE_AUDITOR");
+        assertThat(second.authorities()).isSameAs(first.authorities());
+        assertThat(jwtUtil.validateToken(jwtUtil.generateToken("admin")).authorities()).isEmpty();
+    }
+
+    @Test
+    void rejectsRevokedTokenById() {
+        JwtProperties properties = properties("HS256");
+        RevocationList revocationList = new RevocationList(properties);
+        JwtUtil jwtUtil = new JwtUtil(properties, new KeyRing(properties), new VerifiedTokenCache(properties),
+                new TokenPrecheck(properties), revocationList, metrics(properties));
+        String revoked = jwtUtil.generateToken("admin");
+        String other = jwtUtil.generateToken("admin");
+
+        revocationList.revoke(jwtUtil.validateToken(revoked));
+
+        assertThat(jwtUtil.validateToken(revoked).id()).isNotEqualTo(jwtUtil.validateToken(other).id());
+        assertThat(jwtUtil.validate(revoked).status()).isEqualTo(TokenStatus.REVOKED);
+        assertThat(jwtUtil.validate(other).isValid()).isTrue();
+    }
+
+    @Test
+    void recordsValidationOutcomesAndVerifications() {
+        JwtProperties properties = properties("HS256");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        JwtUtil jwtUtil = new JwtUtil(properties, new KeyRing(properties), new VerifiedTokenCache(properties),
+                new TokenPrecheck(properties), new RevocationList(properties), new AuthMetrics(registry, properties));
+        String token = jwtUtil.generateToken("admin");
+
+        jwtUtil.validate(token);
+        jwtUtil.validate(token);
+        jwtUtil.validate("not-a-token");
+
+        assertThat(registry.get("auth.token.outcome").tag("status", "valid").counter().count()).isEqualTo(2);
+        assertThat(registry.get("auth.token.outcome").tag("status", "malformed").counter().count()).isEqualTo(1);
+        assertThat(registry.get("auth.token.validation").timer().count()).isEqualTo(3);
+        assertThat(registry.get("auth.token.verification").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsTamperedToken() {
+        JwtUtil jwtUtil = jwtUtil();
+        String token = jwtUtil.generateToken("admin");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> jwtUtil.validateToken(tampered)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void reportsValidationOutcomeWithoutThrowing() {
+        JwtUtil jwtUtil = jwtUtil();
+        String token = jwtUtil.generateToken("admin");
+        String tampered = token.substring(0, token.lastIndexOf('.') + 1) + "c2lnbmF0dXJlLXRoYXQtZG9lcy1ub3QtbWF0Y2gtYXQtYWxs";
+
+        TokenValidation valid = jwtUtil.validate("Bearer " + token, 7);
+        assertThat(valid.isValid()).isTrue();
+        assertThat(valid.token().subject()).isEqualTo("admin");
+        assertThat(jwtUtil.validate(tampered).status()).isEqualTo(TokenStatus.BAD_SIGNATURE);
+        assertThat(jwtUtil.validate("garbage").status()).isEqualTo(TokenStatus.MALFORMED);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"RS256", "ES256", "EdDSA"})
+    void keepsAcceptingTokensSignedBeforeRotation(String algorithm) {
+        JwtProperties properties = properties(algorithm);
+        KeyRing keyRing = new KeyRing(properties);
+        JwtUtil jwtUtil = jwtUtil(properties, keyRing);
+        String beforeRotation = jwtUtil.generateToken("admin");
+
+        keyRing.rotate();
+        String afterRotation = jwtUtil.generateToken("admin");
+
+        assertThat(jwtUtil.validate(beforeRotation).isValid()).isTrue();
+        assertThat(jwtUtil.validate(afterRotation).isValid()).isTrue();
+        assertThat(new String(keyRing.jwks().body(), StandardCharsets.UTF_8)).contains(keyRing.active().kid());
+    }
+
+    @Test
+    void rejectsTokenFromAnotherKeyRing() {
+        JwtProperties properties = properties("ES256");
+        String foreign = jwtUtil(properties, new KeyRing(properties)).generateToken("admin");
+
+        assertThat(jwtUtil(properties, new KeyRing(properties)).validate(foreign).status())
+                .isEqualTo(TokenStatus.BAD_SIGNATURE);
+    }
+}
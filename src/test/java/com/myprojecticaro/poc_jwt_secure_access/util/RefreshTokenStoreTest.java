@@ -0,0 +1,72 @@
+package com.myprojecticaro.poc_jwt_secure_access.util;
+
+import com.myprojecticaro.poc_jwt_secure_access.config.JwtProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RefreshTokenStoreTest {
+
+    private static RefreshTokenStore store() {
+        return new RefreshTokenStore(new JwtProperties());
+    }
+
+    @Test
+    void rotatesTokenAndRejectsItAfterUse() {
+        RefreshTokenStore store = store();
+        RefreshTokenStore.Issued first = store.issue("admin");
+
+        RefreshTokenStore.Rotation rotation = store.rotate(first.token());
+
+        assertThat(rotation.isRotated()).isTrue();
+        assertThat(rotation.username()).isEqualTo("admin");
+        assertThat(rotation.next().token()).isNotEqualTo(first.token()).hasSize(43);
+        assertThat(store.rotate("unknown-token-unknown-token-unknown-token-x").status())
+                .isEqualTo(RefreshTokenStore.Status.INVALID);
+    }
+
+    @Test
+    void reuseRevokesTheWholeFamily() {
+        RefreshTokenStore store = store();
+        RefreshTokenStore.Issued first = store.issue("admin");
+        RefreshTokenStore.Issued second = store.rotate(first.token()).next();
+        RefreshTokenStore.Issued unrelated = store.issue("admin");
+
+        assertThat(store.rotate(first.token()).status()).isEqualTo(RefreshTokenStore.Status.REUSED);
+        assertThat(store.rotate(second.token()).status()).isEqualTo(RefreshTokenStore.Status.INVALID);
+        assertThat(store.rotate(unrelated.token()).isRotated()).isTrue();
+    }
+
+    @Test
+    void keepsOneEntryPerFamilyAndTreatsAnyOlderGenerationAsReuse() {
+        RefreshTokenStore store = store();
+        RefreshTokenStore.Issued first = store.issue("admin");
+        RefreshTokenStore.Issued current = first;
+        for (int i = 0; i < 100; i++) {
+            current = store.rotate(current.token()).next();
+        }
+
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.rotate(first.token()).status()).isEqualTo(RefreshTokenStore.Status.REUSED);
+        assertThat(store.rotate(current.token()).status()).isEqualTo(RefreshTokenStore.Status.INVALID);
+    }
+
+    @Test
+    void sweepsExpiredAndRevokedEntriesIncrementally() {
+        JwtProperties properties = new JwtProperties();
+        properties.getRefresh().setTtl(Duration.ofMinutes(1));
+        properties.getRefresh().setSweepBatchSize(2);
+        RefreshTokenStore store = new RefreshTokenStore(properties);
+        for (int i = 0; i < 5; i++) {
+            store.issue("user" + i);
+        }
+
+        long later = System.currentTimeMillis() + Duration.ofMinutes(2).toMillis();
+        assertThat(store.sweep(later)).isEqualTo(2);
+        assertThat(store.sweep(later)).isEqualTo(2);
+        assertThat(store.sweep(later)).isEqualTo(1);
+        assertThat(store.size()).isZero();
+    }
+}
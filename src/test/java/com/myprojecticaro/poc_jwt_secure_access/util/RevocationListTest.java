@@ -0,0 +1,52 @@
+package com.myprojecticaro.poc_jwt_secure_access.util;
+
+import com.myprojecticaro.poc_jwt_secure_access.config.JwtProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RevocationListTest {
+
+    private static VerifiedToken token(String id, Instant expiration) {
+        return new VerifiedToken("admin", id, Instant.now(), expiration, List.of(), Map.of());
+    }
+
+    @Test
+    void reportsOnlyRevokedIds() {
+        JwtProperties properties = new JwtProperties();
+        properties.getRevocation().setExpectedEntries(1_000);
+        RevocationList revocationList = new RevocationList(properties);
+        Instant expiration = Instant.now().plusSeconds(60);
+
+        for (int i = 0; i < 500; i++) {
+            assertThat(revocationList.revoke(token("revoked-" + i, expiration))).isTrue();
+        }
+
+        for (int i = 0; i < 500; i++) {
+            assertThat(revocationList.isRevoked(token("revoked-" + i, expiration))).isTrue();
+            assertThat(revocationList.isRevoked(token("active-" + i, expiration))).isFalse();
+        }
+        assertThat(revocationList.isRevoked(token(null, expiration))).isFalse();
+        assertThat(revocationList.revoke(token("expired", Instant.now().minusSeconds(1)))).isFalse();
+    }
+
+    @Test
+    void agesOutIdsAtTokenExpiry() {
+        RevocationList revocationList = new RevocationList(new JwtProperties());
+        VerifiedToken shortLived = token("short", Instant.now().plusSeconds(60));
+        VerifiedToken longLived = token("long", Instant.now().plusSeconds(600));
+        revocationList.revoke(shortLived);
+        revocationList.revoke(longLived);
+
+        revocationList.rebuild(System.currentTimeMillis() + Duration.ofMinutes(5).toMillis());
+
+        assertThat(revocationList.size()).isEqualTo(1);
+        assertThat(revocationList.isRevoked(shortLived)).isFalse();
+        assertThat(revocationList.isRevoked(longLived)).isTrue();
+    }
+}
@@ -0,0 +1,129 @@
+package com.myprojecticaro.poc_jwt_secure_access.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RouteTableTest {
+
+    private static final List<GrantedAuthority> ADMIN = AuthorityUtils.createAuthorityList("ROLE_ADMIN");
+    private static final List<GrantedAuthority> USER = AuthorityUtils.createAuthorityList("ROLE_USER");
+    private static final List<GrantedAuthority> NONE = List.of();
+
+    private static RouteTable.Route route(String pattern, String... authorities) {
+        return new RouteTable.Route(pattern, List.of(), List.of(authorities));
+    }
+
+    private static RouteTable.Route route(String pattern, List<String> methods, String... authorities) {
+        return new RouteTable.Route(pattern, methods, List.of(authorities));
+    }
+
+    @Test
+    void grantsAnyAcceptedAuthority() {
+        RouteTable table = RouteTable.compile(List.of(route("/api/reports", "ROLE_ADMIN", "ROLE_USER")));
+
+        assertThat(table.isGranted("GET", "/api/reports", ADMIN)).isTrue();
+        assertThat(table.isGranted("GET", "/api/reports", USER)).isTrue();
+        assertThat(table.isGranted("GET", "/api/reports", AuthorityUtils.createAuthorityList("ROLE_GUEST"))).isFalse();
+    }
+
+    @Test
+    void unmatchedPathsOnlyRequireAuthentication() {
+        RouteTable table = RouteTable.compile(List.of(route("/api/admin/**", "ROLE_ADMIN")));
+
+        assertThat(table.requiredAuthorities("GET", "/api/other")).isEqualTo(RouteTable.AUTHENTICATED);
+        assertThat(table.isGranted("GET", "/api", NONE)).isTrue();
+        assertThat(table.isGranted("GET", "/", NONE)).isTrue();
+    }
+
+    @Test
+    void doubleWildcardCoversThePrefixAndEverythingBelow() {
+        RouteTable table = RouteTable.compile(List.of(route("/actuator/**", "ROLE_ADMIN")));
+
+        assertThat(table.isGranted("GET", "/actuator", USER)).isFalse();
+        assertThat(table.isGranted("GET", "/actuator/metrics/auth.login", USER)).isFalse();
+        assertThat(table.isGranted("GET", "/actuator/metrics/auth.login", ADMIN)).isTrue();
+        assertThat(table.isGranted("GET", "/actuatorx", USER)).isTrue();
+    }
+
+    @Test
+    void singleWildcardAndVariablesMatchExactlyOneSegment() {
+        RouteTable table = RouteTable.compile(List.of(
+                route("/api/reports/{id}", "ROLE_ADMIN"),
+                route("/api/*/summary", "ROLE_USER")));
+
+        assertThat(table.isGranted("GET", "/api/reports/42", USER)).isFalse();
+        assertThat(table.isGranted("GET", "/api/reports/42/pages", USER)).isTrue();
+        assertThat(table.isGranted("GET", "/api/orders/summary", ADMIN)).isFalse();
+        assertThat(table.isGranted("GET", "/api/orders/summary", USER)).isTrue();
+    }
+
+    @Test
+    void mostSpecificRouteWins() {
+        RouteTable table = RouteTable.compile(List.of(
+                route("/api/**", "ROLE_USER"),
+                route("/api/admin/**", "ROLE_ADMIN"),
+                route("/api/*/health"),
+                route("/api/{tenant}/settings", "ROLE_USER"),
+                route("/api/admin/settings", "ROLE_ADMIN")));
+
+        assertThat(table.isGranted("GET", "/api/orders", USER)).isTrue();
+        assertThat(table.isGranted("GET", "/api/admin/users", USER)).isFalse();
+        // A route matching the whole path beats a '**' prefix, even through a wildcard.
+        assertThat(table.isGranted("GET", "/api/admin/health", NONE)).isTrue();
+        // A literal segment beats a wildcard at the same position.
+        assertThat(table.isGranted("GET", "/api/admin/settings", USER)).isFalse();
+        assertThat(table.isGranted("GET", "/api/acme/settings", USER)).isTrue();
+    }
+
+    @Test
+    void methodSpecificRoutesBeatRoutesForAllMethods() {
+        RouteTable table = RouteTable.compile(List.of(
+                route("/api/reports", "ROLE_USER"),
+                route("/api/reports", List.of("delete"), "ROLE_ADMIN")));
+
+        assertThat(table.isGranted("GET", "/api/reports", USER)).isTrue();
+        assertThat(table.isGranted("DELETE", "/api/reports", USER)).isFalse();
+        assertThat(table.isGranted("DELETE", "/api/reports", ADMIN)).isTrue();
+        assertThat(table.isGranted("PROPFIND", "/api/reports", USER)).isTrue();
+    }
+
+    @Test
+    void lookupDoesNotDependOnTheNumberOfRoutes() {
+        List<RouteTable.Route> routes = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            routes.add(route("/api/service-" + i + "/{id}/**", "ROLE_SERVICE_" + (i % 60)));
+        }
+        RouteTable table = RouteTable.compile(routes);
+
+        assertThat(table.size()).isEqualTo(5000);
+        assertThat(table.isGranted("GET", "/api/service-4321/7/items", AuthorityUtils.createAuthorityList("ROLE_SERVICE_1")))
+                .isTrue();
+        assertThat(table.isGranted("GET", "/api/service-4321/7/items", AuthorityUtils.createAuthorityList("ROLE_SERVICE_2")))
+                .isFalse();
+    }
+
+    @Test
+    void rejectsUnsupportedRoutes() {
+        assertThatThrownBy(() -> RouteTable.compile(List.of(route("/api/**/items"))))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> RouteTable.compile(List.of(route("/api/*.json"))))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> RouteTable.compile(List.of(route("api"))))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> RouteTable.compile(List.of(route("/api", List.of("FETCH")))))
+                .isInstanceOf(IllegalStateException.class);
+
+        List<RouteTable.Route> tooMany = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            tooMany.add(route("/r" + i, "ROLE_" + i));
+        }
+        assertThatThrownBy(() -> RouteTable.compile(tooMany)).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,82 @@
+package com.myprojecticaro.poc_jwt_secure_access.util;
+
+import com.myprojecticaro.poc_jwt_secure_access.config.JwtProperties;
+import com.myprojecticaro.poc_jwt_secure_access.util.TokenPrecheck.Outcome;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenPrecheckTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private final TokenPrecheck precheck = new TokenPrecheck(new JwtProperties());
+
+    private static String segment(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String token(String header, String payload) {
+        return segment(header) + "." + segment(payload) + ".c2lnbmF0dXJl";
+    }
+
+    private Outcome check(String token) {
+        String authHeader = "Bearer " + token;
+        return precheck.check(authHeader, TokenPrecheck.BEARER_PREFIX.length(), NOW);
+    }
+
+    @Test
+    void matchesBearerPrefixIgnoringCase() {
+        assertThat(TokenPrecheck.hasBearerPrefix("bearer abc")).isTrue();
+        assertThat(TokenPrecheck.hasBearerPrefix("BEARER abc")).isTrue();
+        assertThat(TokenPrecheck.hasBearerPrefix("Basic abc")).isFalse();
+        assertThat(TokenPrecheck.hasBearerPrefix(null)).isFalse();
+    }
+
+    @Test
+    void passesPlausibleToken() {
+        assertThat(check(token("{\"alg\":\"HS256\"}", "{\"sub\":\"admin\",\"exp\":1700000600}")))
+                .isEqualTo(Outcome.PASSED);
+    }
+
+    @Test
+    void passesTokenIssuedByJwtUtil() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("IDQ/aKyAjBvf+alrmfgqJ35MiAKZuNam+U3tk+ykRBcV3fJuwSq0E1DQ9jHGwtek");
+        JwtUtil jwtUtil = new JwtUtil(properties, new KeyRing(properties),
+                new VerifiedTokenCache(properties), new TokenPrecheck(properties),
+                new RevocationList(properties), new AuthMetrics(new SimpleMeterRegistry(), properties));
+        String token = jwtUtil.generateToken("admin");
+
+        String authHeader = "Bearer " + token;
+        assertThat(precheck.check(authHeader, TokenPrecheck.BEARER_PREFIX.length(), System.currentTimeMillis()))
+                .isEqualTo(Outcome.PASSED);
+    }
+
+    @Test
+    void rejectsExpiredToken() {
+        assertThat(check(token("{\"alg\":\"HS256\"}", "{\"sub\":\"admin\",\"exp\":1699999999}")))
+                .isEqualTo(Outcome.EXPIRED);
+    }
+
+    @Test
+    void rejectsUnexpectedAlgorithm() {
+        assertThat(check(token("{\"alg\":\"none\"}", "{\"sub\":\"admin\"}"))).isEqualTo(Outcome.UNSUPPORTED_ALGORITHM);
+        assertThat(check(token("{\"typ\":\"JWT\"}", "{\"sub\":\"admin\"}"))).isEqualTo(Outcome.UNSUPPORTED_ALGORITHM);
+    }
+
+    @Test
+    void rejectsMalformedToken() {
+        assertThat(check("not-a-token")).isEqualTo(Outcome.MALFORMED);
+        assertThat(check("a.b")).isEqualTo(Outcome.MALFORMED);
+        assertThat(check("abcd.efgh.")).isEqualTo(Outcome.MALFORMED);
+        assertThat(check("abcd.efgh.ij.kl")).isEqualTo(Outcome.MALFORMED);
+        assertThat(check("ab+d.efgh.ijkl")).isEqualTo(Outcome.MALFORMED);
+        assertThat(check("")).isEqualTo(Outcome.MALFORMED);
+        assertThat(check("a".repeat(9000) + ".b.c")).isEqualTo(Outcome.MALFORMED);
+    }
+}
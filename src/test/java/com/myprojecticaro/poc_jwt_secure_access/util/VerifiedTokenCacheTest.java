@@ -0,0 +1,52 @@
+package com.myprojecticaro.poc_jwt_secure_access.util;
+
+import com.myprojecticaro.poc_jwt_secure_access.config.JwtProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTest {
+
+    private static VerifiedToken tokenExpiringAt(Instant expiration) {
+        return new VerifiedToken("admin", "token-id", Instant.now(), expiration, List.of(), Map.of("sub", "admin"));
+    }
+
+    @Test
+    void returnsCachedTokenAndCountsHitsAndMisses() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(new JwtProperties());
+        VerifiedToken verified = tokenExpiringAt(Instant.now().plusSeconds(60));
+
+        assertThat(cache.get("a.b.c")).isNull();
+        cache.put("a.b.c", verified);
+
+        assertThat(cache.get("a.b.c")).isSameAs(verified);
+        assertThat(cache.get("a.b.d")).isNull();
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+        assertThat(cache.stats().missCount()).isEqualTo(2);
+    }
+
+    @Test
+    void doesNotStoreExpiredTokens() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(new JwtProperties());
+
+        cache.put("a.b.c", tokenExpiringAt(Instant.now().minusSeconds(1)));
+
+        assertThat(cache.get("a.b.c")).isNull();
+    }
+
+    @Test
+    void alwaysMissesWhenDisabled() {
+        JwtProperties properties = new JwtProperties();
+        properties.getCache().setEnabled(false);
+        VerifiedTokenCache cache = new VerifiedTokenCache(properties);
+
+        cache.put("a.b.c", tokenExpiringAt(Instant.now().plusSeconds(60)));
+
+        assertThat(cache.get("a.b.c")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+}